@@ -0,0 +1,40 @@
+package br.com.eaugusto.benchmarks;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Entry point of {@code benchmarks.jar}. Runs JMH with the given arguments and,
+ * unless another result format is chosen, writes the results as JSON to
+ * {@value #DEFAULT_RESULT_FILE}, so runs on different commits can be compared.
+ *
+ * <p>
+ * For example, {@code java -jar benchmarks.jar MappingBenchmark} runs only the
+ * mapping benchmarks, and {@code -rff other.json} writes to another file.
+ * </p>
+ *
+ * @author Eduardo Augusto (github.com/AsrielDreemurrGM/)
+ * @since October 17, 2026
+ */
+public final class BenchmarkMain {
+
+	static final String DEFAULT_RESULT_FILE = "jmh-result.json";
+
+	private BenchmarkMain() {
+		// To prevent instantiation
+	}
+
+	public static void main(String[] args) throws Exception {
+		List<String> options = new ArrayList<>(Arrays.asList(args));
+		if (!options.contains("-rf")) {
+			options.add(0, "json");
+			options.add(0, "-rf");
+		}
+		if (!options.contains("-rff")) {
+			options.add(0, DEFAULT_RESULT_FILE);
+			options.add(0, "-rff");
+		}
+		org.openjdk.jmh.Main.main(options.toArray(new String[0]));
+	}
+}
@@ -0,0 +1,107 @@
+package br.com.eaugusto.benchmarks;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import br.com.eaugusto.dao.ClientDAO;
+import br.com.eaugusto.domain.Client;
+import br.com.eaugusto.generic.jdbc.ConnectionFactory;
+
+/**
+ * Measures DAO round trips against a running PostgreSQL database with the
+ * tables from {@code schema.sql}, configured through the same <b>DB_URL</b>,
+ * <b>DB_USERNAME</b> and <b>DB_PASSWORD</b> variables as the application.
+ *
+ * <p>
+ * Uses {@link Client}, which is not cached, so every search reaches the
+ * database. Each trial seeds {@link #rows} clients and deletes them, along
+ * with the clients it registered, when it ends.
+ * </p>
+ *
+ * @author Eduardo Augusto (github.com/AsrielDreemurrGM/)
+ * @since October 17, 2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DaoRoundTripBenchmark {
+
+	@Param({ "100" })
+	public int rows;
+
+	private final ClientDAO dao = new ClientDAO();
+	private final List<Client> written = new ArrayList<>();
+	private String prefix;
+	private long sequence;
+
+	@Setup(Level.Trial)
+	public void setup() {
+		if (System.getenv("DB_URL") == null) {
+			throw new IllegalStateException("Set DB_URL, DB_USERNAME and DB_PASSWORD to run the round trip benchmarks");
+		}
+		prefix = "JMH" + Long.toString(System.currentTimeMillis(), 36) + "-";
+		List<Client> seeded = new ArrayList<>(rows);
+		for (int i = 0; i < rows; i++) {
+			seeded.add(newClient());
+		}
+		dao.registerAll(seeded);
+		written.addAll(seeded);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		dao.deleteAll(written);
+		written.clear();
+		ConnectionFactory.shutdown();
+	}
+
+	private Client newClient() {
+		Client client = new Client();
+		client.setCode(prefix + sequence++);
+		client.setName("Benchmark Client");
+		client.setCpf("00000000191");
+		client.setPhone("(11) 99999-0000");
+		client.setAddress("Rua Benchmark");
+		client.setAddressNumber("1");
+		client.setCity("SQL");
+		client.setState("PostgreSQL");
+		client.setBirthDate(LocalDate.parse("2000-01-01"));
+		return client;
+	}
+
+	@Benchmark
+	public Integer register() {
+		Client client = newClient();
+		written.add(client);
+		return dao.register(client);
+	}
+
+	@Benchmark
+	public Client search() {
+		return dao.search(prefix + (sequence++ % rows));
+	}
+
+	@Benchmark
+	public List<Client> searchAll() {
+		return dao.searchAll();
+	}
+}
@@ -0,0 +1,157 @@
+package br.com.eaugusto.benchmarks;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Configuration of {@link SalesLoadTest}.
+ *
+ * <p>
+ * Every value has a default and can be overridden through environment
+ * variables, like the database and pool settings:
+ * <ul>
+ * <li><b>LOAD_THREADS</b>: Worker threads (default 16)</li>
+ * <li><b>LOAD_VIRTUAL_THREADS</b>: Whether the workers are virtual threads,
+ * on Java 21 or later (default false)</li>
+ * <li><b>LOAD_RATE</b>: Target operations per second over all threads, 0
+ * runs as fast as possible (default 500)</li>
+ * <li><b>LOAD_DURATION_S</b>: Measured duration (default 60)</li>
+ * <li><b>LOAD_WARMUP_S</b>: Unmeasured run before it (default 10)</li>
+ * <li><b>LOAD_MIX</b>: Relative weights of the operations (default
+ * {@code lookup=70,register=10,sale=20})</li>
+ * <li><b>LOAD_PRODUCTS</b> / <b>LOAD_CLIENTS</b>: Rows seeded before the run
+ * and deleted after it (defaults 1000 and 100)</li>
+ * </ul>
+ * </p>
+ *
+ * @author Eduardo Augusto (github.com/AsrielDreemurrGM/)
+ * @since October 17, 2026
+ */
+public class LoadTestConfig {
+
+	private static final int MAX_PRODUCTS = 999_999;
+
+	private int threads = 16;
+	private boolean virtualThreads;
+	private int rate = 500;
+	private int durationSeconds = 60;
+	private int warmupSeconds = 10;
+	private Map<String, Integer> mix = parseMix("lookup=70,register=10,sale=20");
+	private int products = 1_000;
+	private int clients = 100;
+
+	/**
+	 * Builds a configuration from the <b>LOAD_*</b> environment variables,
+	 * keeping the defaults for any variable that is not set.
+	 *
+	 * @return The load test configuration
+	 * @throws IllegalArgumentException If a variable holds an invalid value
+	 */
+	public static LoadTestConfig fromEnvironment() {
+		LoadTestConfig config = new LoadTestConfig();
+		config.threads = readInt("LOAD_THREADS", config.threads, 1);
+		config.virtualThreads = Boolean.parseBoolean(read("LOAD_VIRTUAL_THREADS", "false"));
+		config.rate = readInt("LOAD_RATE", config.rate, 0);
+		config.durationSeconds = readInt("LOAD_DURATION_S", config.durationSeconds, 1);
+		config.warmupSeconds = readInt("LOAD_WARMUP_S", config.warmupSeconds, 0);
+		config.mix = parseMix(read("LOAD_MIX", "lookup=70,register=10,sale=20"));
+		config.products = readInt("LOAD_PRODUCTS", config.products, 1);
+		if (config.products > MAX_PRODUCTS) {
+			// The index is part of the product code, which is limited to 10 characters
+			throw new IllegalArgumentException("LOAD_PRODUCTS must be at most " + MAX_PRODUCTS);
+		}
+		config.clients = readInt("LOAD_CLIENTS", config.clients, 1);
+		return config;
+	}
+
+	private static String read(String variable, String defaultValue) {
+		String value = System.getenv(variable);
+		return value == null || value.isBlank() ? defaultValue : value.trim();
+	}
+
+	private static int readInt(String variable, int defaultValue, int minimum) {
+		String value = read(variable, null);
+		if (value == null) {
+			return defaultValue;
+		}
+		try {
+			int parsed = Integer.parseInt(value);
+			if (parsed < minimum) {
+				throw new IllegalArgumentException(variable + " must be at least " + minimum + ": " + value);
+			}
+			return parsed;
+		} catch (NumberFormatException e) {
+			throw new IllegalArgumentException("Invalid value for " + variable + ": " + value, e);
+		}
+	}
+
+	/**
+	 * Parses {@code operation=weight} pairs separated by commas.
+	 */
+	static Map<String, Integer> parseMix(String value) {
+		Map<String, Integer> weights = new LinkedHashMap<>();
+		for (String pair : value.split(",")) {
+			String[] parts = pair.split("=");
+			if (parts.length != 2) {
+				throw new IllegalArgumentException("Invalid LOAD_MIX entry: " + pair);
+			}
+			String operation = parts[0].trim().toLowerCase(Locale.ROOT);
+			if (!SalesLoadTest.OPERATIONS.contains(operation)) {
+				throw new IllegalArgumentException(
+						"Unknown LOAD_MIX operation " + operation + "; expected one of " + SalesLoadTest.OPERATIONS);
+			}
+			int weight = Integer.parseInt(parts[1].trim());
+			if (weight < 0) {
+				throw new IllegalArgumentException("LOAD_MIX weights cannot be negative: " + pair);
+			}
+			weights.put(operation, weight);
+		}
+		if (weights.values().stream().mapToInt(Integer::intValue).sum() == 0) {
+			throw new IllegalArgumentException("LOAD_MIX needs at least one positive weight");
+		}
+		return weights;
+	}
+
+	public int getThreads() {
+		return threads;
+	}
+
+	public boolean isVirtualThreads() {
+		return virtualThreads;
+	}
+
+	public int getRate() {
+		return rate;
+	}
+
+	public int getDurationSeconds() {
+		return durationSeconds;
+	}
+
+	public int getWarmupSeconds() {
+		return warmupSeconds;
+	}
+
+	/**
+	 * @return Relative weights by operation name
+	 */
+	public Map<String, Integer> getMix() {
+		return mix;
+	}
+
+	public int getProducts() {
+		return products;
+	}
+
+	public int getClients() {
+		return clients;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("threads=%d%s, rate=%s, duration=%ds, warmup=%ds, mix=%s, products=%d, clients=%d",
+				threads, virtualThreads ? " (virtual)" : "", rate == 0 ? "unbounded" : rate + "/s", durationSeconds,
+				warmupSeconds, mix, products, clients);
+	}
+}
@@ -0,0 +1,84 @@
+package br.com.eaugusto.benchmarks;
+
+import java.lang.reflect.Proxy;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@link ResultSet} positioned on a single in-memory row, for measuring row
+ * mapping without a database.
+ *
+ * <p>
+ * Supports the getters the mappers use, by index and by label, plus
+ * {@code next()}, which always reports a row, and {@code wasNull()}. Every
+ * call goes through a dynamic proxy, so compare mapping strategies against
+ * each other rather than reading absolute numbers.
+ * </p>
+ *
+ * @author Eduardo Augusto (github.com/AsrielDreemurrGM/)
+ * @since October 17, 2026
+ */
+public final class MockResultSet {
+
+	private MockResultSet() {
+		// To prevent instantiation
+	}
+
+	/**
+	 * @param row Column values by label, in select order
+	 * @return A result set positioned on the row
+	 */
+	public static ResultSet of(Map<String, Object> row) {
+		List<Object> values = new ArrayList<>(row.values());
+		Map<String, Integer> indexes = new HashMap<>();
+		for (String label : row.keySet()) {
+			indexes.put(label, indexes.size());
+		}
+		boolean[] lastWasNull = new boolean[1];
+
+		return (ResultSet) Proxy.newProxyInstance(ResultSet.class.getClassLoader(), new Class<?>[] { ResultSet.class },
+				(proxy, method, args) -> {
+					String name = method.getName();
+					switch (name) {
+					case "next":
+						return true;
+					case "wasNull":
+						return lastWasNull[0];
+					case "close":
+						return null;
+					case "isClosed":
+						return false;
+					default:
+						break;
+					}
+					if (!name.startsWith("get") || args == null || args.length != 1) {
+						throw new SQLException("Unsupported by MockResultSet: " + method);
+					}
+
+					int index = args[0] instanceof Integer position ? position - 1 : indexes.getOrDefault(args[0], -1);
+					if (index < 0 || index >= values.size()) {
+						throw new SQLException("Unknown column: " + args[0]);
+					}
+					Object value = values.get(index);
+					lastWasNull[0] = value == null;
+					return convert(value, method.getReturnType());
+				});
+	}
+
+	private static Object convert(Object value, Class<?> type) {
+		if (type == long.class) {
+			return value == null ? 0L : ((Number) value).longValue();
+		} else if (type == int.class) {
+			return value == null ? 0 : ((Number) value).intValue();
+		} else if (type == double.class) {
+			return value == null ? 0.0 : ((Number) value).doubleValue();
+		} else if (type == String.class) {
+			return value == null ? null : value.toString();
+		}
+		return value;
+	}
+}
@@ -0,0 +1,395 @@
+package br.com.eaugusto.benchmarks;
+
+import java.io.PrintStream;
+import java.lang.reflect.Method;
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import br.com.eaugusto.dao.ClientDAO;
+import br.com.eaugusto.dao.InventoryDAO;
+import br.com.eaugusto.dao.ProductDAO;
+import br.com.eaugusto.domain.Client;
+import br.com.eaugusto.domain.Product;
+import br.com.eaugusto.exceptions.DAOException;
+import br.com.eaugusto.generic.jdbc.ConnectionFactory;
+import br.com.eaugusto.generic.jdbc.ConnectionPoolConfig;
+import br.com.eaugusto.generic.metrics.Histogram;
+
+/**
+ * Load-test driver that runs a mixed sales workload through the DAOs against
+ * a running PostgreSQL database with the tables from {@code schema.sql},
+ * configured through the <b>DB_*</b> variables like the application:
+ *
+ * <pre>
+ * java -cp benchmarks/target/benchmarks.jar br.com.eaugusto.benchmarks.SalesLoadTest
+ * </pre>
+ *
+ * <p>
+ * The workload mixes three operations, weighted by {@link LoadTestConfig}:
+ * <ul>
+ * <li><b>lookup</b>: {@link ProductDAO#search(String)} of a random seeded
+ * product, served by the product cache until a sale evicts it</li>
+ * <li><b>register</b>: {@link ClientDAO#register(Client)} of a new client</li>
+ * <li><b>sale</b>: {@link InventoryDAO#recordSale(Long, Long, int)} of one
+ * unit of a random seeded product to a random seeded client</li>
+ * </ul>
+ * </p>
+ *
+ * <p>
+ * With a target rate, operations are started on a fixed schedule shared by
+ * all threads, and each latency is measured from the time its operation was
+ * scheduled to start rather than from when a thread got to it. A stall then
+ * shows up in the latency of every operation it delayed, instead of hiding
+ * behind a drop in the number of operations, the coordinated omission a
+ * closed loop suffers from. When the database cannot keep up, the achieved
+ * throughput stays below the target and the latencies grow with the backlog.
+ * </p>
+ *
+ * <p>
+ * The report lists, per operation, the throughput, the p50, p99 and p99.9
+ * latencies and the errors, followed by the statement cache figures of the
+ * pool. Rows seeded or written by the run are deleted when it ends.
+ * </p>
+ *
+ * @author Eduardo Augusto (github.com/AsrielDreemurrGM/)
+ * @since October 17, 2026
+ */
+public final class SalesLoadTest {
+
+	/**
+	 * Names of the operations, as used in <b>LOAD_MIX</b>.
+	 */
+	static final Set<String> OPERATIONS = Set.of("lookup", "register", "sale");
+
+	private static final Logger LOGGER = Logger.getLogger(SalesLoadTest.class.getName());
+
+	private static final int SEEDED_STOCK = 1_000_000_000;
+	private static final long REPORT_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(5);
+
+	private final LoadTestConfig config;
+	private final ClientDAO clientDAO = new ClientDAO();
+	private final ProductDAO productDAO = new ProductDAO();
+	private final InventoryDAO inventoryDAO = new InventoryDAO();
+
+	private final String runTag = Long.toString(System.currentTimeMillis() % 46_656L, 36);
+	private final AtomicLong clientSequence = new AtomicLong();
+	private final List<Product> products = new ArrayList<>();
+	private final List<Client> clients = new ArrayList<>();
+	private final Queue<Client> registered = new ConcurrentLinkedQueue<>();
+
+	private final Map<String, OperationStats> stats = new LinkedHashMap<>();
+	private final String[] schedule;
+
+	public SalesLoadTest(LoadTestConfig config) {
+		this.config = config;
+		List<String> weighted = new ArrayList<>();
+		config.getMix().forEach((operation, weight) -> {
+			stats.put(operation, new OperationStats(operation));
+			for (int i = 0; i < weight; i++) {
+				weighted.add(operation);
+			}
+		});
+		this.schedule = weighted.toArray(String[]::new);
+	}
+
+	public static void main(String[] args) throws InterruptedException {
+		if (System.getenv("DB_URL") == null) {
+			System.err.println("Set DB_URL, DB_USERNAME and DB_PASSWORD to run the load test");
+			System.exit(1);
+		}
+		LoadTestConfig config = LoadTestConfig.fromEnvironment();
+		SalesLoadTest loadTest = new SalesLoadTest(config);
+		try {
+			loadTest.seed();
+			loadTest.run();
+			loadTest.report(System.out);
+		} finally {
+			loadTest.cleanUp();
+			ConnectionFactory.shutdown();
+		}
+	}
+
+	/**
+	 * Registers the products and clients the operations pick from.
+	 */
+	void seed() {
+		for (int i = 0; i < config.getProducts(); i++) {
+			Product product = new Product();
+			product.setCode("L" + runTag + i);
+			product.setName("Load Test Product " + i);
+			product.setDescription("Seeded by SalesLoadTest");
+			product.setPrice(9.99);
+			product.setStockQuantity(SEEDED_STOCK);
+			product.setCategory("Load Test");
+			products.add(product);
+		}
+		productDAO.registerAll(products);
+
+		for (int i = 0; i < config.getClients(); i++) {
+			clients.add(newClient());
+		}
+		clientDAO.registerAll(clients);
+	}
+
+	/**
+	 * Runs the warmup and the measured period on the configured threads.
+	 */
+	void run() throws InterruptedException {
+		System.out.println("Load test: " + config);
+		System.out.println("Pool: max " + ConnectionPoolConfig.fromEnvironment().getMaxSize() + " connections");
+
+		long warmupNanos = TimeUnit.SECONDS.toNanos(config.getWarmupSeconds());
+		long durationNanos = TimeUnit.SECONDS.toNanos(config.getDurationSeconds());
+		long start = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(100);
+		long measureStart = start + warmupNanos;
+		long end = measureStart + durationNanos;
+		long interval = config.getRate() == 0 ? 0 : TimeUnit.SECONDS.toNanos(1) / config.getRate();
+		AtomicLong tickets = new AtomicLong();
+
+		ExecutorService workers = newWorkerExecutor(config.getThreads(), config.isVirtualThreads());
+		for (int i = 0; i < config.getThreads(); i++) {
+			workers.execute(() -> work(tickets, interval, start, measureStart, end));
+		}
+		workers.shutdown();
+
+		long nextReport = measureStart + REPORT_INTERVAL_NANOS;
+		while (!workers.awaitTermination(100, TimeUnit.MILLISECONDS)) {
+			long now = System.nanoTime();
+			if (now >= nextReport && now < end) {
+				System.out.printf("  %3ds: %d operations%n", TimeUnit.NANOSECONDS.toSeconds(now - measureStart),
+						stats.values().stream().mapToLong(OperationStats::getCompleted).sum());
+				nextReport += REPORT_INTERVAL_NANOS;
+			}
+		}
+	}
+
+	/**
+	 * Loop of one worker thread: takes the next scheduled operation, waits for
+	 * its start time and runs it, until the schedule passes the end of the run.
+	 */
+	private void work(AtomicLong tickets, long interval, long start, long measureStart, long end) {
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		while (true) {
+			long scheduled;
+			if (interval > 0) {
+				scheduled = start + tickets.getAndIncrement() * interval;
+				if (scheduled >= end) {
+					return;
+				}
+				long wait;
+				while ((wait = scheduled - System.nanoTime()) > 0) {
+					LockSupport.parkNanos(wait);
+				}
+			} else {
+				scheduled = System.nanoTime();
+				if (scheduled >= end) {
+					return;
+				}
+			}
+
+			String operation = schedule[random.nextInt(schedule.length)];
+			boolean measured = scheduled >= measureStart;
+			OperationStats operationStats = stats.get(operation);
+			try {
+				boolean accepted = execute(operation, random);
+				if (measured) {
+					operationStats.record(System.nanoTime() - scheduled, accepted);
+				}
+			} catch (RuntimeException e) {
+				if (measured) {
+					operationStats.fail(e);
+				}
+			}
+		}
+	}
+
+	/**
+	 * @return Whether the operation did what it was asked to; {@code false}
+	 *         for a sale rejected for lack of stock
+	 */
+	private boolean execute(String operation, ThreadLocalRandom random) {
+		switch (operation) {
+		case "lookup":
+			Product product = products.get(random.nextInt(products.size()));
+			if (productDAO.search(product.getEntityCode()) == null) {
+				throw new DAOException("Seeded product " + product.getEntityCode() + " not found");
+			}
+			return true;
+		case "register":
+			Client client = newClient();
+			clientDAO.register(client);
+			registered.add(client);
+			return true;
+		case "sale":
+			Client buyer = clients.get(random.nextInt(clients.size()));
+			Product sold = products.get(random.nextInt(products.size()));
+			return inventoryDAO.recordSale(buyer.getId(), sold.getId(), 1);
+		default:
+			throw new IllegalStateException("Unknown operation: " + operation);
+		}
+	}
+
+	private Client newClient() {
+		Client client = new Client();
+		client.setCode("LOAD" + runTag + "-" + clientSequence.incrementAndGet());
+		client.setName("Load Test Client");
+		client.setCpf("00000000191");
+		client.setPhone("(11) 99999-0000");
+		client.setAddress("Rua Load Test");
+		client.setAddressNumber("1");
+		client.setCity("SQL");
+		client.setState("PostgreSQL");
+		client.setBirthDate(LocalDate.parse("2000-01-01"));
+		return client;
+	}
+
+	/**
+	 * Prints the results of the measured period.
+	 */
+	void report(PrintStream out) {
+		double seconds = config.getDurationSeconds();
+		out.println();
+		out.printf("%-10s %10s %10s %10s %10s %10s %10s %8s %8s%n", "operation", "count", "ops/s", "p50 us",
+				"p99 us", "p99.9 us", "max us", "rejected", "errors");
+
+		long total = 0;
+		for (OperationStats operationStats : stats.values()) {
+			Histogram latency = operationStats.latency;
+			total += latency.getCount();
+			out.printf("%-10s %10d %10.1f %10d %10d %10d %10d %8d %8d%n", operationStats.name, latency.getCount(),
+					latency.getCount() / seconds, latency.getPercentile(50), latency.getPercentile(99),
+					latency.getPercentile(99.9), latency.getMax(), operationStats.rejected.sum(),
+					operationStats.errors.sum());
+		}
+		out.printf("%-10s %10d %10.1f%n", "total", total, total / seconds);
+		if (config.getRate() > 0 && total / seconds < config.getRate() * 0.95) {
+			out.printf("Achieved throughput is below the target of %d/s; latencies include the backlog.%n",
+					config.getRate());
+		}
+		out.printf("Statement cache: %d hits, %d misses, %d evictions, hit rate %.2f%n",
+				ConnectionFactory.getPool().getStatementCacheHits(),
+				ConnectionFactory.getPool().getStatementCacheMisses(),
+				ConnectionFactory.getPool().getStatementCacheEvictions(),
+				ConnectionFactory.getPool().getStatementCacheHitRate());
+
+		for (OperationStats operationStats : stats.values()) {
+			RuntimeException error = operationStats.firstError;
+			if (error != null) {
+				out.println("First " + operationStats.name + " error: " + error);
+			}
+		}
+	}
+
+	/**
+	 * Deletes the sales, clients and products written by the run.
+	 */
+	void cleanUp() {
+		try {
+			Long[] productIds = products.stream().map(Product::getId).filter(id -> id != null).toArray(Long[]::new);
+			List<Client> written = new ArrayList<>(clients);
+			written.addAll(registered);
+			Long[] clientIds = written.stream().map(Client::getId).filter(id -> id != null).toArray(Long[]::new);
+
+			// Sales bumped the product versions, so the rows are deleted by id
+			// rather than through the DAOs, whose deletes check the version
+			deleteByIds("tb_inventory", "product_id", productIds);
+			deleteByIds("tb_client", "id", clientIds);
+			deleteByIds("tb_product", "id", productIds);
+		} catch (RuntimeException e) {
+			LOGGER.log(Level.WARNING, "Error deleting the load test data; rows with the run tag " + runTag
+					+ " may remain", e);
+		}
+	}
+
+	private static void deleteByIds(String table, String idColumn, Long[] ids) {
+		if (ids.length == 0) {
+			return;
+		}
+		try (Connection connection = ConnectionFactory.getConnection();
+				PreparedStatement statement = connection
+						.prepareStatement("DELETE FROM " + table + " WHERE " + idColumn + " = ANY(?)")) {
+			Array array = connection.createArrayOf("bigint", ids);
+			statement.setArray(1, array);
+			statement.executeUpdate();
+		} catch (SQLException e) {
+			throw new DAOException("Error deleting load test rows from " + table, e);
+		}
+	}
+
+	/**
+	 * Creates the executor the workers run on, with one thread per worker.
+	 * Virtual threads are created through reflection, since the project
+	 * targets Java 17.
+	 */
+	private static ExecutorService newWorkerExecutor(int threads, boolean virtual) {
+		if (virtual) {
+			try {
+				Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+				return (ExecutorService) factory.invoke(null);
+			} catch (ReflectiveOperationException e) {
+				LOGGER.warning("Virtual threads need Java 21 or later; running the load test on platform threads");
+			}
+		}
+		AtomicInteger count = new AtomicInteger();
+		return Executors.newFixedThreadPool(threads, task -> {
+			Thread thread = new Thread(task, "load-worker-" + count.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+	/**
+	 * Latencies and outcomes of one operation during the measured period.
+	 */
+	private static final class OperationStats {
+
+		private final String name;
+		private final Histogram latency;
+		private final LongAdder rejected = new LongAdder();
+		private final LongAdder errors = new LongAdder();
+		private volatile RuntimeException firstError;
+
+		OperationStats(String name) {
+			this.name = name;
+			this.latency = new Histogram(name + ".latency.us");
+		}
+
+		void record(long nanos, boolean accepted) {
+			latency.record(TimeUnit.NANOSECONDS.toMicros(nanos));
+			if (!accepted) {
+				rejected.increment();
+			}
+		}
+
+		void fail(RuntimeException error) {
+			errors.increment();
+			if (firstError == null) {
+				firstError = error;
+			}
+		}
+
+		long getCompleted() {
+			return latency.getCount() + errors.sum();
+		}
+	}
+}
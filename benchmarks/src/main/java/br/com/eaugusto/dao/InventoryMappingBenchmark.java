@@ -0,0 +1,57 @@
+package br.com.eaugusto.dao;
+
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import br.com.eaugusto.benchmarks.MockResultSet;
+import br.com.eaugusto.domain.Inventory;
+
+/**
+ * Measures {@link InventoryDAO#buildFromResult(ResultSet)}, which reads the
+ * columns by label.
+ *
+ * @author Eduardo Augusto (github.com/AsrielDreemurrGM/)
+ * @since October 17, 2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InventoryMappingBenchmark {
+
+	private InventoryDAO dao;
+	private ResultSet row;
+
+	@Setup
+	public void setup() {
+		dao = new InventoryDAO();
+		Map<String, Object> values = new LinkedHashMap<>();
+		values.put("id", 1L);
+		values.put("client_id", 2L);
+		values.put("product_id", 3L);
+		values.put("quantity_sold", 4);
+		values.put("sale_date", new Timestamp(System.currentTimeMillis()));
+		row = MockResultSet.of(values);
+	}
+
+	@Benchmark
+	public Inventory buildFromResult() {
+		return dao.buildFromResult(row);
+	}
+}
@@ -0,0 +1,87 @@
+package br.com.eaugusto.dao.generics;
+
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import br.com.eaugusto.benchmarks.MockResultSet;
+import br.com.eaugusto.dao.ProductDAO;
+import br.com.eaugusto.domain.Product;
+
+/**
+ * Measures mapping a {@link Product} row with the reflective accessors of
+ * {@link EntityMetadata} against {@link GenericDAO#mapResult(ResultSet)},
+ * which uses the mapper generated at compile time.
+ *
+ * @author Eduardo Augusto (github.com/AsrielDreemurrGM/)
+ * @since October 17, 2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MappingBenchmark {
+
+	private EntityMetadata<Product> reflective;
+	private ProductDAO dao;
+	private ResultSet row;
+
+	@Setup
+	public void setup() {
+		reflective = EntityMetadata.reflective(Product.class);
+		dao = new ProductDAO();
+		row = MockResultSet.of(sampleRow(reflective.getColumns()));
+	}
+
+	/**
+	 * Builds a row with one value of the right type per column, in select
+	 * order.
+	 */
+	static Map<String, Object> sampleRow(List<ColumnMapping> columns) {
+		Map<String, Object> values = new LinkedHashMap<>();
+		columns.stream().sorted(Comparator.comparingInt(ColumnMapping::getSelectIndex))
+				.forEach(column -> values.put(column.getColumnName(), sampleValue(column.getType())));
+		return values;
+	}
+
+	private static Object sampleValue(Class<?> type) {
+		if (type == Long.class) {
+			return 42L;
+		} else if (type == Integer.class) {
+			return 7;
+		} else if (type == Double.class) {
+			return 199.99;
+		} else if (type == LocalDate.class) {
+			return Date.valueOf("2000-01-01");
+		}
+		return "BENCH001";
+	}
+
+	@Benchmark
+	public Product reflectiveMap() {
+		return reflective.map(row);
+	}
+
+	@Benchmark
+	public Product mapResult() {
+		return dao.mapResult(row);
+	}
+}
@@ -0,0 +1,63 @@
+package br.com.eaugusto.dao.generics;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import br.com.eaugusto.dao.ProductDAO;
+import br.com.eaugusto.domain.Product;
+
+/**
+ * Measures the SQL lookups the DAOs make on every call, which read the
+ * statements cached in {@link EntityMetadata}, and the one-time cost of
+ * building the metadata and its SQL by reflection.
+ *
+ * @author Eduardo Augusto (github.com/AsrielDreemurrGM/)
+ * @since October 17, 2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SqlGenerationBenchmark {
+
+	private ProductDAO dao;
+
+	@Setup
+	public void setup() {
+		dao = new ProductDAO();
+		dao.getSelectSql();
+	}
+
+	@Benchmark
+	public String selectSql() {
+		return dao.getSelectSql();
+	}
+
+	@Benchmark
+	public String registerSql() {
+		return dao.getRegisterSql();
+	}
+
+	@Benchmark
+	public String multiRowRegisterSql() {
+		return dao.getMetadata().getMultiRowRegisterSql(100);
+	}
+
+	@Benchmark
+	@OutputTimeUnit(TimeUnit.MICROSECONDS)
+	public EntityMetadata<Product> buildReflectiveMetadata() {
+		return EntityMetadata.reflective(Product.class);
+	}
+}
@@ -0,0 +1,31 @@
+-- Optional: publishes cache invalidations for every write to the cached tables,
+-- including writes made outside the DAOs. Run it after schema.sql and set
+-- DB_CACHE_INVALIDATION=trigger, so the DAOs do not publish them as well.
+--
+-- Only updates and deletes are published: caches never hold missing codes, so
+-- inserts, including COPY bulk loads, have nothing to invalidate.
+
+CREATE OR REPLACE FUNCTION fn_notify_entity_invalidation() RETURNS TRIGGER AS $$
+BEGIN
+	PERFORM pg_notify('entity_invalidation', TG_TABLE_NAME || ':' || OLD.code);
+	IF TG_OP = 'UPDATE' AND NEW.code IS DISTINCT FROM OLD.code THEN
+		PERFORM pg_notify('entity_invalidation', TG_TABLE_NAME || ':' || NEW.code);
+	END IF;
+	RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS tg_client_invalidation ON tb_client;
+CREATE TRIGGER tg_client_invalidation
+    AFTER UPDATE OR DELETE ON tb_client
+    FOR EACH ROW EXECUTE FUNCTION fn_notify_entity_invalidation();
+
+DROP TRIGGER IF EXISTS tg_product_invalidation ON tb_product;
+CREATE TRIGGER tg_product_invalidation
+    AFTER UPDATE OR DELETE ON tb_product
+    FOR EACH ROW EXECUTE FUNCTION fn_notify_entity_invalidation();
+
+-- To go back to DB_CACHE_INVALIDATION=dao, remove them with:
+-- DROP TRIGGER IF EXISTS tg_client_invalidation ON tb_client;
+-- DROP TRIGGER IF EXISTS tg_product_invalidation ON tb_product;
+-- DROP FUNCTION IF EXISTS fn_notify_entity_invalidation();
@@ -14,13 +14,14 @@ CREATE TABLE IF NOT EXISTS tb_client (
 	address_number VARCHAR(10),
 	city VARCHAR(50),
 	state VARCHAR(50),
-	birth_date VARCHAR(20)
+	birth_date VARCHAR(20),
+	version BIGINT NOT NULL DEFAULT 0
 );
 
 -- Creates the sequence for client IDs
 CREATE SEQUENCE IF NOT EXISTS sq_client
     START WITH 1
-    INCREMENT BY 1
+    INCREMENT BY 50
     OWNED BY tb_client.id;
 
 -- Creates the product table
@@ -31,15 +32,24 @@ CREATE TABLE IF NOT EXISTS tb_product (
 	description VARCHAR(100),
 	price NUMERIC(10, 2),
 	stock_quantity INTEGER,
-	category VARCHAR(30)
+	category VARCHAR(30),
+	version BIGINT NOT NULL DEFAULT 0
 );
 
 -- Creates the sequence for product IDs
 CREATE SEQUENCE IF NOT EXISTS sq_product
     START WITH 1
-    INCREMENT BY 1
+    INCREMENT BY 50
     OWNED BY tb_product.id;
 
+-- Adds the optimistic locking version to tables created before it existed
+ALTER TABLE tb_client ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE tb_product ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+
+-- Codes identify entities in the DAOs and are the conflict target of upserts
+CREATE UNIQUE INDEX IF NOT EXISTS ux_client_code ON tb_client (code);
+CREATE UNIQUE INDEX IF NOT EXISTS ux_product_code ON tb_product (code);
+
 -- Creates the inventory table
 CREATE TABLE IF NOT EXISTS tb_inventory (
 	id BIGINT PRIMARY KEY,
@@ -54,5 +64,15 @@ CREATE TABLE IF NOT EXISTS tb_inventory (
 -- Creates the sequence for inventory IDs
 CREATE SEQUENCE IF NOT EXISTS sq_inventory
     START WITH 1
-    INCREMENT BY 1
+    INCREMENT BY 50
     OWNED BY tb_inventory.id;
+
+-- Upgrades sequences created with INCREMENT BY 1: each nextval now reserves a
+-- block of 50 ids, which the DAOs hand out locally for every insert
+ALTER SEQUENCE sq_client INCREMENT BY 50;
+ALTER SEQUENCE sq_product INCREMENT BY 50;
+ALTER SEQUENCE sq_inventory INCREMENT BY 50;
+
+-- Optional: cache_invalidation_triggers.sql installs triggers that publish cache
+-- invalidations for writes made outside the DAOs. Only run it together with
+-- DB_CACHE_INVALIDATION=trigger, otherwise every write is published twice.
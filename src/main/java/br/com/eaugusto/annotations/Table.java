@@ -11,9 +11,30 @@ import java.lang.annotation.Target;
 /**
  * Specifies the database table name for an entity class.
  * 
+ * <p>
+ * Entities looked up by code far more often than they change can also enable a
+ * read-through cache in their DAO with {@link #cached()}, bounded by
+ * {@link #cacheSize()} entries that expire after {@link #cacheTtlSeconds()}.
+ * </p>
+ * 
  * @author Eduardo Augusto (github.com/AsrielDreemurrGM/)
  * @since July 10, 2025
  */
 public @interface Table {
 	String value();
+
+	/**
+	 * Whether {@code search(code)} results are cached by the entity's DAO.
+	 */
+	boolean cached() default false;
+
+	/**
+	 * Maximum number of cached entities; the least recently used is evicted.
+	 */
+	int cacheSize() default 1_000;
+
+	/**
+	 * Time, in seconds, after which a cached entity is reloaded.
+	 */
+	long cacheTtlSeconds() default 300;
 }
@@ -0,0 +1,22 @@
+package br.com.eaugusto.annotations;
+
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+@Retention(RUNTIME)
+@Target(ElementType.FIELD)
+/**
+ * Marks the {@link Column} used for optimistic locking. The field must be a
+ * {@code Long} or {@code Integer}; it starts at 0 on insert and is incremented
+ * by every update, which only succeeds if the version is unchanged. Updates
+ * and deletes of an entity whose version is null are rejected, so the entity
+ * must be read before it is written.
+ * 
+ * @author Eduardo Augusto (github.com/AsrielDreemurrGM/)
+ * @since October 17, 2026
+ */
+public @interface Version {
+}
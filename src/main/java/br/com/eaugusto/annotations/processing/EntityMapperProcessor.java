@@ -0,0 +1,333 @@
+package br.com.eaugusto.annotations.processing;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+
+import br.com.eaugusto.annotations.Column;
+import br.com.eaugusto.annotations.Table;
+import br.com.eaugusto.annotations.Version;
+
+/**
+ * Annotation processor that generates a {@code GeneratedEntityMapper} for each
+ * class annotated with {@link Table}.
+ *
+ * <p>
+ * For an entity such as {@code Product} it writes {@code ProductEntityMapper}
+ * in the same package, containing the SELECT, INSERT and UPDATE statements
+ * derived from the {@link Column} fields, a row mapper that reads columns by
+ * index and calls the entity setters directly, and parameter binders that
+ * replace hand-numbered {@code setRegisterParameters}/{@code setUpdateParameters}
+ * implementations. The SQL follows the same rules as {@code EntityMetadata},
+ * including the optimistic locking clauses for {@link Version} columns.
+ * </p>
+ *
+ * <p>
+ * The processor is not registered as a service, since it lives in the same
+ * source tree as the entities. Compile this package and the annotations first,
+ * then compile the rest with
+ * {@code -processor br.com.eaugusto.annotations.processing.EntityMapperProcessor}
+ * and the compiled classes on the processor path. Without the generated
+ * classes, {@code GenericDAO} falls back to reflection.
+ * </p>
+ *
+ * @author Eduardo Augusto (github.com/AsrielDreemurrGM/)
+ * @since October 17, 2026
+ */
+@SupportedAnnotationTypes("br.com.eaugusto.annotations.Table")
+public class EntityMapperProcessor extends AbstractProcessor {
+
+	private static final String MAPPER_INTERFACE = "br.com.eaugusto.dao.generics.GeneratedEntityMapper";
+	private static final String PARAMETERS = "br.com.eaugusto.dao.generics.StatementParameters";
+	private static final String MAPPER_SUFFIX = "EntityMapper";
+
+	/**
+	 * Getters used for columns that are only exposed through
+	 * {@code IPersistable}.
+	 */
+	private static final Map<String, String> PERSISTABLE_GETTERS = Map.of("code", "getEntityCode", "name",
+			"getEntityName");
+
+	/**
+	 * Result set getter and {@code StatementParameters} binder per supported
+	 * field type.
+	 */
+	private static final Map<String, String[]> TYPE_ACCESSORS = Map.of(
+			"java.lang.Long", new String[] { "getObject", "setLong" },
+			"java.lang.String", new String[] { "getString", "setString" },
+			"java.lang.Double", new String[] { "getObject", "setDouble" },
+			"java.lang.Integer", new String[] { "getObject", "setInteger" },
+			"java.time.LocalDate", new String[] { "getDate", "setLocalDate" });
+
+	@Override
+	public SourceVersion getSupportedSourceVersion() {
+		return SourceVersion.latestSupported();
+	}
+
+	@Override
+	public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+		for (Element element : roundEnv.getElementsAnnotatedWith(Table.class)) {
+			if (element.getKind() != ElementKind.CLASS) {
+				error(element, "@Table can only be applied to classes");
+				continue;
+			}
+			TypeElement entity = (TypeElement) element;
+			List<ColumnModel> columns = readColumns(entity);
+			if (columns != null) {
+				writeMapper(entity, columns);
+			}
+		}
+		return false;
+	}
+
+	private List<ColumnModel> readColumns(TypeElement entity) {
+		List<ExecutableElement> methods = ElementFilter
+				.methodsIn(processingEnv.getElementUtils().getAllMembers(entity));
+		List<ColumnModel> columns = new ArrayList<>();
+		boolean valid = true;
+
+		for (VariableElement field : ElementFilter.fieldsIn(entity.getEnclosedElements())) {
+			Column column = field.getAnnotation(Column.class);
+			if (column == null) {
+				continue;
+			}
+			String fieldName = field.getSimpleName().toString();
+			String type = field.asType().toString();
+			String getter = findMethod(methods, "get" + capitalize(fieldName), 0);
+			if (getter == null && PERSISTABLE_GETTERS.containsKey(column.value())) {
+				getter = findMethod(methods, PERSISTABLE_GETTERS.get(column.value()), 0);
+			}
+			String setter = findMethod(methods, "set" + capitalize(fieldName), 1);
+			boolean version = field.getAnnotation(Version.class) != null;
+
+			if (!TYPE_ACCESSORS.containsKey(type)) {
+				error(field, "Unsupported field type: " + type);
+				valid = false;
+			} else if (version && !"java.lang.Long".equals(type) && !"java.lang.Integer".equals(type)) {
+				error(field, "@Version field " + fieldName + " must be a Long or Integer");
+				valid = false;
+			} else if (getter == null || setter == null) {
+				error(field, "Field " + fieldName + " needs a public getter and setter to be mapped");
+				valid = false;
+			} else {
+				columns.add(new ColumnModel(column.value(), fieldName, type, getter, setter, version));
+			}
+		}
+		return valid ? columns : null;
+	}
+
+	private static String findMethod(List<ExecutableElement> methods, String name, int parameters) {
+		for (ExecutableElement method : methods) {
+			if (method.getSimpleName().contentEquals(name) && method.getParameters().size() == parameters
+					&& method.getModifiers().contains(Modifier.PUBLIC)) {
+				return name;
+			}
+		}
+		return null;
+	}
+
+	private void writeMapper(TypeElement entity, List<ColumnModel> columns) {
+		String packageName = processingEnv.getElementUtils().getPackageOf(entity).getQualifiedName().toString();
+		String entityName = entity.getSimpleName().toString();
+		String mapperName = entityName + MAPPER_SUFFIX;
+		String tableName = entity.getAnnotation(Table.class).value();
+
+		StringBuilder source = new StringBuilder();
+		if (!packageName.isEmpty()) {
+			source.append("package ").append(packageName).append(";\n\n");
+		}
+		source.append("import java.sql.PreparedStatement;\n");
+		source.append("import java.sql.ResultSet;\n");
+		source.append("import java.sql.SQLException;\n\n");
+		source.append("import ").append(PARAMETERS).append(";\n\n");
+		source.append("/**\n * Mapper generated from the annotations of {@link ").append(entityName)
+				.append("}. Do not edit.\n */\n");
+		source.append("@javax.annotation.processing.Generated(\"").append(getClass().getName()).append("\")\n");
+		source.append("public final class ").append(mapperName).append(" implements ").append(MAPPER_INTERFACE)
+				.append('<').append(entityName).append("> {\n\n");
+
+		appendConstant(source, "SELECT_SQL", selectSql(tableName, columns));
+		appendConstant(source, "REGISTER_SQL", registerSql(tableName, columns));
+		appendConstant(source, "UPDATE_SQL", updateSql(tableName, columns));
+		source.append('\n');
+
+		appendMap(source, entityName, columns);
+		appendGetter(source, "getSelectSql", "SELECT_SQL");
+		appendGetter(source, "getRegisterSql", "REGISTER_SQL");
+		appendGetter(source, "getUpdateSql", "UPDATE_SQL");
+		appendRegisterBinder(source, entityName, columns);
+		appendUpdateBinder(source, entityName, columns);
+		source.append("}\n");
+
+		try (Writer writer = processingEnv.getFiler()
+				.createSourceFile(packageName.isEmpty() ? mapperName : packageName + "." + mapperName, entity)
+				.openWriter()) {
+			writer.write(source.toString());
+		} catch (IOException e) {
+			error(entity, "Failed to write " + mapperName + ": " + e.getMessage());
+		}
+	}
+
+	private static void appendConstant(StringBuilder source, String name, String value) {
+		source.append("\tprivate static final String ").append(name).append(" = \"").append(value)
+				.append("\";\n");
+	}
+
+	private static void appendGetter(StringBuilder source, String method, String constant) {
+		source.append("\t@Override\n\tpublic String ").append(method).append("() {\n\t\treturn ").append(constant)
+				.append(";\n\t}\n\n");
+	}
+
+	private static void appendMap(StringBuilder source, String entityName, List<ColumnModel> columns) {
+		source.append("\t@Override\n\tpublic ").append(entityName)
+				.append(" map(ResultSet result) throws SQLException {\n");
+		source.append("\t\t").append(entityName).append(" entity = new ").append(entityName).append("();\n");
+		int index = 1;
+		for (ColumnModel column : columns) {
+			String accessor = TYPE_ACCESSORS.get(column.type)[0];
+			// Wrappers are read with their class so SQL NULL stays null instead of 0
+			String read = "getObject".equals(accessor)
+					? "result.getObject(" + index++ + ", " + column.type + ".class)"
+					: "result." + accessor + "(" + index++ + ")";
+			if ("java.time.LocalDate".equals(column.type)) {
+				source.append("\t\tjava.sql.Date ").append(column.field).append(" = ").append(read).append(";\n");
+				read = column.field + " != null ? " + column.field + ".toLocalDate() : null";
+			}
+			source.append("\t\tentity.").append(column.setter).append('(').append(read).append(");\n");
+		}
+		source.append("\t\treturn entity;\n\t}\n\n");
+	}
+
+	private static void appendRegisterBinder(StringBuilder source, String entityName, List<ColumnModel> columns) {
+		source.append("\t@Override\n\tpublic void bindRegisterParameters(PreparedStatement statement, int offset, ")
+				.append(entityName).append(" entity) throws SQLException {\n");
+		int index = 1;
+		for (ColumnModel column : columns) {
+			if (!column.isId() && !column.version) {
+				appendBind(source, column, "offset + " + index++);
+			}
+		}
+		source.append("\t}\n\n");
+	}
+
+	private static void appendUpdateBinder(StringBuilder source, String entityName, List<ColumnModel> columns) {
+		source.append("\t@Override\n\tpublic void bindUpdateParameters(PreparedStatement statement, ")
+				.append(entityName).append(" entity) throws SQLException {\n");
+		int index = 1;
+		ColumnModel code = null;
+		ColumnModel version = null;
+		for (ColumnModel column : columns) {
+			if (column.isCode()) {
+				code = column;
+			} else if (column.version) {
+				version = column;
+			} else if (!column.isId()) {
+				appendBind(source, column, String.valueOf(index++));
+			}
+		}
+		if (code != null) {
+			appendBind(source, code, String.valueOf(index++));
+		}
+		if (version != null) {
+			appendBind(source, version, String.valueOf(index));
+		}
+		source.append("\t}\n");
+	}
+
+	private static void appendBind(StringBuilder source, ColumnModel column, String index) {
+		source.append("\t\tStatementParameters.").append(TYPE_ACCESSORS.get(column.type)[1])
+				.append("(statement, ").append(index).append(", entity.").append(column.getter).append("());\n");
+	}
+
+	private static String selectSql(String tableName, List<ColumnModel> columns) {
+		List<String> names = new ArrayList<>();
+		for (ColumnModel column : columns) {
+			names.add(column.name);
+		}
+		return "SELECT " + String.join(", ", names) + " FROM " + tableName;
+	}
+
+	private static String registerSql(String tableName, List<ColumnModel> columns) {
+		StringBuilder sql = new StringBuilder("INSERT INTO ").append(tableName).append(" (id");
+		StringBuilder values = new StringBuilder(") VALUES (?");
+		for (ColumnModel column : columns) {
+			if (!column.isId()) {
+				sql.append(", ").append(column.name);
+				values.append(column.version ? ", 0" : ", ?");
+			}
+		}
+		return sql.append(values).append(')').toString();
+	}
+
+	private static String updateSql(String tableName, List<ColumnModel> columns) {
+		List<String> assignments = new ArrayList<>();
+		ColumnModel version = null;
+		for (ColumnModel column : columns) {
+			if (column.version) {
+				version = column;
+			} else if (!column.isId() && !column.isCode()) {
+				assignments.add(column.name + " = ?");
+			}
+		}
+		if (version == null) {
+			return "UPDATE " + tableName + " SET " + String.join(", ", assignments) + " WHERE code = ?";
+		}
+		assignments.add(version.name + " = " + version.name + " + 1");
+		return "UPDATE " + tableName + " SET " + String.join(", ", assignments) + " WHERE code = ? AND "
+				+ version.name + " = ?";
+	}
+
+	private static String capitalize(String name) {
+		return Character.toUpperCase(name.charAt(0)) + name.substring(1);
+	}
+
+	private void error(Element element, String message) {
+		processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+	}
+
+	/**
+	 * Column read from a {@link Column}-annotated field.
+	 */
+	private static final class ColumnModel {
+
+		private final String name;
+		private final String field;
+		private final String type;
+		private final String getter;
+		private final String setter;
+		private final boolean version;
+
+		ColumnModel(String name, String field, String type, String getter, String setter, boolean version) {
+			this.name = name;
+			this.field = field;
+			this.type = type;
+			this.getter = getter;
+			this.setter = setter;
+			this.version = version;
+		}
+
+		boolean isId() {
+			return "id".equalsIgnoreCase(name);
+		}
+
+		boolean isCode() {
+			return "code".equalsIgnoreCase(name);
+		}
+	}
+}
@@ -1,8 +1,16 @@
 package br.com.eaugusto.dao;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
+import br.com.eaugusto.dao.generics.Page;
+import br.com.eaugusto.dao.generics.PageKey;
 import br.com.eaugusto.domain.Inventory;
+import br.com.eaugusto.generic.jdbc.StatementPipeline;
 
 /**
  * Inventory DAO interface for managing inventory transactions.
@@ -18,13 +26,49 @@ import br.com.eaugusto.domain.Inventory;
 public interface IInventoryDAO {
 
 	/**
-	 * Registers a new inventory transaction in the database.
+	 * Registers a new inventory transaction in the database and sets its
+	 * generated id on the record.
 	 * 
 	 * @param inventory The inventory record to register
 	 * @return The number of rows affected
 	 */
 	public Integer register(Inventory inventory);
 
+	/**
+	 * Records a sale atomically: decrements the product stock in the database,
+	 * only if enough stock is available, and registers the inventory transaction,
+	 * in a single statement and round trip.
+	 * 
+	 * @param clientId  The buying client ID
+	 * @param productId The sold product ID
+	 * @param quantity  The quantity sold, greater than zero
+	 * @return {@code true} if the sale was recorded, {@code false} if the product
+	 *         does not exist or has not enough stock, in which case nothing is
+	 *         changed
+	 */
+	public boolean recordSale(Long clientId, Long productId, int quantity);
+
+	/**
+	 * Registers several inventory transactions using JDBC batching, within a
+	 * single transaction. Intended for bulk sale ingestion. Ids are allocated
+	 * in blocks from the sequence and set on the records.
+	 * 
+	 * @param inventories The inventory records to register
+	 * @return The number of rows affected by each record, in iteration order
+	 */
+	public int[] registerAll(Collection<Inventory> inventories);
+
+	/**
+	 * Queues the registration of an inventory record on a pipeline, to be sent
+	 * with the other queued statements when the pipeline is executed. The id is
+	 * allocated from {@code sq_inventory} and set on the record right away.
+	 * 
+	 * @param inventory The inventory record to register
+	 * @param pipeline  The pipeline to queue on
+	 * @return The pending number of rows affected
+	 */
+	public StatementPipeline.Result<Integer> register(Inventory inventory, StatementPipeline pipeline);
+
 	/**
 	 * Retrieves all inventory transactions from the database.
 	 * 
@@ -32,6 +76,42 @@ public interface IInventoryDAO {
 	 */
 	public List<Inventory> searchAll();
 
+	/**
+	 * Streams all inventory transactions through a server-side cursor, so memory
+	 * use stays flat regardless of the table size. The stream must be closed to
+	 * release its connection.
+	 * 
+	 * @return A stream of all inventory records
+	 */
+	public Stream<Inventory> streamAll();
+
+	/**
+	 * Passes every inventory transaction to the given action, reading them
+	 * through a server-side cursor like {@link #streamAll()}.
+	 * 
+	 * @param action The action to run for each inventory record
+	 */
+	public void forEach(Consumer<? super Inventory> action);
+
+	/**
+	 * Returns a publisher of every inventory transaction, read through a
+	 * server-side cursor only as fast as each subscriber requests them.
+	 * 
+	 * @return A publisher of all inventory records
+	 */
+	public Flow.Publisher<Inventory> publishAll();
+
+	/**
+	 * Retrieves a page of inventory transactions ordered by ID, using keyset
+	 * pagination so deep pages cost the same as the first one.
+	 * 
+	 * @param after The key returned by the previous page, or null for the first
+	 *              page
+	 * @param limit The maximum number of records in the page
+	 * @return The page and the key of the next one
+	 */
+	public Page<Inventory> searchPage(PageKey after, int limit);
+
 	/**
 	 * Retrieves all inventory transactions by a given client ID.
 	 * 
@@ -55,4 +135,48 @@ public interface IInventoryDAO {
 	 * @return The number of rows affected
 	 */
 	public Integer deleteById(Long id);
+
+	/**
+	 * Asynchronous {@link #register(Inventory)}. Like every {@code *Async}
+	 * method, it runs on the DAO's asynchronous executor, outside any
+	 * transaction of the calling thread, and the returned future fails with the
+	 * exception the synchronous method would throw.
+	 * 
+	 * @param inventory The inventory record to register
+	 * @return A future with the number of rows affected
+	 */
+	public CompletableFuture<Integer> registerAsync(Inventory inventory);
+
+	/**
+	 * Asynchronous {@link #recordSale(Long, Long, int)}.
+	 * 
+	 * @param clientId  The buying client ID
+	 * @param productId The sold product ID
+	 * @param quantity  The quantity sold, greater than zero
+	 * @return A future telling whether the sale was recorded
+	 */
+	public CompletableFuture<Boolean> recordSaleAsync(Long clientId, Long productId, int quantity);
+
+	/**
+	 * Asynchronous {@link #searchAll()}.
+	 * 
+	 * @return A future with all inventory records
+	 */
+	public CompletableFuture<List<Inventory>> searchAllAsync();
+
+	/**
+	 * Asynchronous {@link #searchByClient(Long)}.
+	 * 
+	 * @param clientId The client ID
+	 * @return A future with the inventory records linked to the client
+	 */
+	public CompletableFuture<List<Inventory>> searchByClientAsync(Long clientId);
+
+	/**
+	 * Asynchronous {@link #searchByProduct(Long)}.
+	 * 
+	 * @param productId The product ID
+	 * @return A future with the inventory records linked to the product
+	 */
+	public CompletableFuture<List<Inventory>> searchByProductAsync(Long productId);
 }
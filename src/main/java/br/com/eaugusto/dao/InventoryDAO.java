@@ -3,13 +3,38 @@ package br.com.eaugusto.dao;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
+import java.sql.Timestamp;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
 
+import br.com.eaugusto.dao.generics.BulkLoadResult;
+import br.com.eaugusto.dao.generics.CacheInvalidationListener;
+import br.com.eaugusto.dao.generics.CopyBulkLoader;
+import br.com.eaugusto.dao.generics.GenericDAO;
+import br.com.eaugusto.dao.generics.Page;
+import br.com.eaugusto.dao.generics.PageKey;
 import br.com.eaugusto.domain.Inventory;
 import br.com.eaugusto.exceptions.DAOException;
 import br.com.eaugusto.exceptions.InventoryMappingException;
+import br.com.eaugusto.generic.jdbc.BinaryCopyWriter;
 import br.com.eaugusto.generic.jdbc.ConnectionFactory;
+import br.com.eaugusto.generic.jdbc.CursorQuery;
+import br.com.eaugusto.generic.jdbc.DatabaseExecutor;
+import br.com.eaugusto.generic.jdbc.QueryPublisher;
+import br.com.eaugusto.generic.jdbc.SequenceIdAllocator;
+import br.com.eaugusto.generic.jdbc.SlowQueryLog;
+import br.com.eaugusto.generic.jdbc.StatementPipeline;
+import br.com.eaugusto.generic.metrics.Instrumentation;
 
 /**
  * Inventory DAO implementation that provides methods to register and query
@@ -21,6 +46,11 @@ import br.com.eaugusto.generic.jdbc.ConnectionFactory;
  * {@link InventoryMappingException}, for handling mapping errors.
  * </p>
  * 
+ * <p>
+ * Like {@link GenericDAO}, it reports its operations to the installed
+ * {@link Instrumentation}, if any, under the entity name {@code Inventory}.
+ * </p>
+ * 
  * @see IInventoryDAO
  * @see Inventory
  * @see DAOException
@@ -31,114 +61,451 @@ import br.com.eaugusto.generic.jdbc.ConnectionFactory;
  */
 public class InventoryDAO implements IInventoryDAO {
 
-	@Override
-	public Integer register(Inventory inventory) {
-		String sql = """
+	private static final String REGISTER_SQL = """
+			INSERT INTO tb_inventory (id, client_id, product_id, quantity_sold, sale_date)
+			VALUES (?, ?, ?, ?, CURRENT_TIMESTAMP)
+			""";
+
+	/**
+	 * Sells stock and records the sale in one statement, returning the product
+	 * code; the placeholder takes the extra columns of the selected row.
+	 */
+	private static final String RECORD_SALE_TEMPLATE = """
+			WITH stock AS (
+				UPDATE tb_product
+				SET stock_quantity = stock_quantity - ?, version = version + 1
+				WHERE id = ? AND stock_quantity >= ?
+				RETURNING id, code
+			), sale AS (
 				INSERT INTO tb_inventory (id, client_id, product_id, quantity_sold, sale_date)
-				VALUES (nextval('sq_inventory'), ?, ?, ?, CURRENT_TIMESTAMP)
-				""";
+				SELECT ?, ?, stock.id, ?, CURRENT_TIMESTAMP
+				FROM stock
+				RETURNING id
+			)
+			SELECT stock.code%s
+			FROM stock CROSS JOIN sale
+			""";
 
-		try (Connection connection = ConnectionFactory.getConnection();
-				PreparedStatement statement = connection.prepareStatement(sql)) {
+	private static final String RECORD_SALE_SQL = RECORD_SALE_TEMPLATE.formatted("");
 
-			statement.setLong(1, inventory.getClientId());
-			statement.setLong(2, inventory.getProductId());
-			statement.setInt(3, inventory.getQuantitySold());
+	private static final String RECORD_SALE_AND_PUBLISH_SQL = RECORD_SALE_TEMPLATE
+			.formatted(", pg_notify('" + CacheInvalidationListener.CHANNEL + "', 'tb_product:' || stock.code)");
 
-			return statement.executeUpdate();
-		} catch (Exception e) {
-			throw new DAOException("Error registering inventory transaction", e);
-		}
+	private static final String COPY_SQL = """
+			COPY tb_inventory (id, client_id, product_id, quantity_sold, sale_date)
+			FROM STDIN (FORMAT BINARY)
+			""";
+
+	private static final String SELECT_SQL = """
+			SELECT id, client_id, product_id, quantity_sold, sale_date
+			FROM tb_inventory
+			""";
+
+	private static final Logger LOGGER = Logger.getLogger(InventoryDAO.class.getName());
+
+	private static final SequenceIdAllocator IDS = SequenceIdAllocator.forSequence("sq_inventory");
+
+	static {
+		// Every query of this DAO starts with the select list
+		SlowQueryLog.markReadOnly(SELECT_SQL.strip());
 	}
 
+	private int batchSize = GenericDAO.DEFAULT_BATCH_SIZE;
+	private volatile Executor asyncExecutor;
+
 	@Override
-	public List<Inventory> searchAll() {
-		String sql = """
-				SELECT id, client_id, product_id, quantity_sold, sale_date
-				FROM tb_inventory
-				""";
+	public Integer register(Inventory inventory) {
+		return observe("register", Integer::intValue, () -> {
+			try (Connection connection = ConnectionFactory.getConnection();
+					PreparedStatement statement = connection.prepareStatement(REGISTER_SQL)) {
 
-		try (Connection connection = ConnectionFactory.getConnection();
-				PreparedStatement statement = connection.prepareStatement(sql);
-				ResultSet result = statement.executeQuery()) {
+				long id = IDS.next(connection);
+				statement.setLong(1, id);
+				statement.setLong(2, inventory.getClientId());
+				statement.setLong(3, inventory.getProductId());
+				statement.setInt(4, inventory.getQuantitySold());
 
-			List<Inventory> inventoryList = new ArrayList<>();
+				int registered = statement.executeUpdate();
+				inventory.setId(id);
+				return registered;
+			} catch (Exception e) {
+				throw new DAOException("Error registering inventory transaction", e);
+			}
+		});
+	}
 
-			while (result.next()) {
-				Inventory inventoryItem = buildFromResult(result);
-				inventoryList.add(inventoryItem);
+	/**
+	 * {@inheritDoc}
+	 * 
+	 * <p>
+	 * The stock check and decrement run as one conditional {@code UPDATE}, so
+	 * concurrent sales of the same product never oversell it nor lose updates.
+	 * The changed product is evicted from the product caches of this node and,
+	 * when the DAOs publish invalidations, of the other nodes through the same
+	 * statement.
+	 * </p>
+	 */
+	@Override
+	public boolean recordSale(Long clientId, Long productId, int quantity) {
+		return observe("recordSale", sold -> sold ? 1 : 0, () -> {
+			if (quantity < 1) {
+				throw new IllegalArgumentException("Sale quantity must be greater than zero");
 			}
-			return inventoryList;
-		} catch (Exception e) {
-			throw new DAOException("Error retrieving all inventory entries", e);
-		}
+
+			try (Connection connection = ConnectionFactory.getConnection();
+					PreparedStatement statement = connection.prepareStatement(
+							CacheInvalidationListener.isPublishing() ? RECORD_SALE_AND_PUBLISH_SQL : RECORD_SALE_SQL)) {
+
+				statement.setInt(1, quantity);
+				statement.setLong(2, productId);
+				statement.setInt(3, quantity);
+				statement.setLong(4, IDS.next(connection));
+				statement.setLong(5, clientId);
+				statement.setInt(6, quantity);
+				try (ResultSet result = statement.executeQuery()) {
+					if (!result.next()) {
+						return false;
+					}
+					CacheInvalidationListener.invalidateLocal("tb_product", result.getString(1));
+					return true;
+				}
+			} catch (Exception e) {
+				throw new DAOException("Error recording sale", e);
+			}
+		});
 	}
 
 	@Override
-	public List<Inventory> searchByClient(Long clientId) {
-		String sql = """
-				SELECT id, client_id, product_id, quantity_sold, sale_date
-				FROM tb_inventory
-				WHERE client_id = ?
-				""";
+	public int[] registerAll(Collection<Inventory> inventories) {
+		return observe("registerAll", results -> results.length, () -> {
+			int[] results = new int[inventories.size()];
+			if (inventories.isEmpty()) {
+				return results;
+			}
 
-		try (Connection connection = ConnectionFactory.getConnection();
-				PreparedStatement statement = connection.prepareStatement(sql)) {
+			try (Connection connection = ConnectionFactory.getConnection()) {
+				boolean autoCommit = connection.getAutoCommit();
+				connection.setAutoCommit(false);
+				try (PreparedStatement statement = connection.prepareStatement(REGISTER_SQL)) {
+					int row = 0;
+					int pending = 0;
+					for (Inventory inventory : inventories) {
+						inventory.setId(IDS.next(connection));
+						statement.setLong(1, inventory.getId());
+						statement.setLong(2, inventory.getClientId());
+						statement.setLong(3, inventory.getProductId());
+						statement.setInt(4, inventory.getQuantitySold());
+						statement.addBatch();
+						if (++pending == batchSize || row + pending == results.length) {
+							int[] batchResults = statement.executeBatch();
+							System.arraycopy(batchResults, 0, results, row, batchResults.length);
+							row += batchResults.length;
+							pending = 0;
+						}
+					}
+					connection.commit();
+					return results;
+				} catch (Exception e) {
+					connection.rollback();
+					throw e;
+				} finally {
+					connection.setAutoCommit(autoCommit);
+				}
+			} catch (Exception e) {
+				throw new DAOException("Error registering inventory transaction batch", e);
+			}
+		});
+	}
 
-			statement.setLong(1, clientId);
-			try (ResultSet result = statement.executeQuery()) {
+	@Override
+	public StatementPipeline.Result<Integer> register(Inventory inventory, StatementPipeline pipeline) {
+		inventory.setId(IDS.next());
+		return pipeline.add(REGISTER_SQL, statement -> {
+			statement.setLong(1, inventory.getId());
+			statement.setLong(2, inventory.getClientId());
+			statement.setLong(3, inventory.getProductId());
+			statement.setInt(4, inventory.getQuantitySold());
+		});
+	}
+
+	/**
+	 * Loads inventory transactions with a single binary {@code COPY FROM STDIN}
+	 * command, which is much faster than batched inserts for backfills.
+	 * 
+	 * <p>
+	 * Records without an id get one from {@code sq_inventory}, allocated in
+	 * blocks before the {@code COPY} starts, and records without a sale date are
+	 * stamped with the current time. Both values are written back to the
+	 * records.
+	 * </p>
+	 * 
+	 * @param inventories The inventory records to load
+	 * @return The number of rows loaded and the throughput
+	 */
+	public BulkLoadResult copyAll(Collection<Inventory> inventories) {
+		return observe("copyAll", result -> (int) result.getRows(), () -> {
+			SequenceIdAllocator ids = new SequenceIdAllocator("sq_inventory", CopyBulkLoader.DEFAULT_ID_BLOCK_SIZE);
+			long start = System.nanoTime();
+
+			try (Connection connection = ConnectionFactory.getConnection()) {
+				Timestamp now = new Timestamp(System.currentTimeMillis());
+				for (Inventory inventory : inventories) {
+					if (inventory.getId() == null) {
+						inventory.setId(ids.next(connection));
+					}
+					if (inventory.getSaleDate() == null) {
+						inventory.setSaleDate(now);
+					}
+				}
+
+				long rows = BinaryCopyWriter.copyIn(connection, COPY_SQL, writer -> {
+					for (Inventory inventory : inventories) {
+						writer.startRow(5);
+						writer.write(inventory.getId(), "int8");
+						writer.write(inventory.getClientId(), "int8");
+						writer.write(inventory.getProductId(), "int8");
+						writer.write(inventory.getQuantitySold(), "int4");
+						writer.write(inventory.getSaleDate(), "timestamp");
+					}
+				});
+
+				BulkLoadResult result = new BulkLoadResult("tb_inventory", rows, System.nanoTime() - start);
+				LOGGER.info(result::toString);
+				return result;
+			} catch (Exception e) {
+				throw new DAOException("Error bulk loading inventory transactions", e);
+			}
+		});
+	}
+
+	/**
+	 * Sets the number of records sent per JDBC batch by
+	 * {@link #registerAll(Collection)}.
+	 * 
+	 * @param batchSize The chunk size, greater than zero
+	 */
+	public void setBatchSize(int batchSize) {
+		if (batchSize < 1) {
+			throw new IllegalArgumentException("Batch size must be greater than zero");
+		}
+		this.batchSize = batchSize;
+	}
+
+	@Override
+	public List<Inventory> searchAll() {
+		return observe("searchAll", List::size, () -> {
+			try (Connection connection = ConnectionFactory.getConnection();
+					PreparedStatement statement = connection.prepareStatement(SELECT_SQL);
+					ResultSet result = statement.executeQuery()) {
 
 				List<Inventory> inventoryList = new ArrayList<>();
+
 				while (result.next()) {
 					Inventory inventoryItem = buildFromResult(result);
 					inventoryList.add(inventoryItem);
 				}
 				return inventoryList;
+			} catch (Exception e) {
+				throw new DAOException("Error retrieving all inventory entries", e);
 			}
+		});
+	}
 
-		} catch (Exception e) {
-			throw new DAOException("Error retrieving inventory by client ID", e);
-		}
+	@Override
+	public Stream<Inventory> streamAll() {
+		return CursorQuery.stream(SELECT_SQL, CursorQuery.ParameterBinder.NONE, this::buildFromResult,
+				CursorQuery.DEFAULT_FETCH_SIZE);
 	}
 
 	@Override
-	public List<Inventory> searchByProduct(Long productId) {
-		String sql = """
-				SELECT id, client_id, product_id, quantity_sold, sale_date
-				FROM tb_inventory WHERE product_id = ?
-				""";
+	public void forEach(Consumer<? super Inventory> action) {
+		observe("forEach", Integer::intValue, () -> {
+			int rows = 0;
+			try (Stream<Inventory> inventories = streamAll()) {
+				Iterator<Inventory> iterator = inventories.iterator();
+				while (iterator.hasNext()) {
+					action.accept(iterator.next());
+					rows++;
+				}
+			}
+			return rows;
+		});
+	}
 
-		try (Connection connection = ConnectionFactory.getConnection();
-				PreparedStatement statement = connection.prepareStatement(sql)) {
+	@Override
+	public Page<Inventory> searchPage(PageKey after, int limit) {
+		return observe("searchPage", page -> page.getItems().size(), () -> {
+			if (limit < 1) {
+				throw new IllegalArgumentException("Page limit must be greater than zero");
+			}
+			String sql = after == null ? SELECT_SQL + "ORDER BY id LIMIT ?"
+					: SELECT_SQL + "WHERE id > ? ORDER BY id LIMIT ?";
 
-			statement.setLong(1, productId);
-			try (ResultSet result = statement.executeQuery()) {
+			try (Connection connection = ConnectionFactory.getConnection();
+					PreparedStatement statement = connection.prepareStatement(sql)) {
 
-				List<Inventory> inventoryList = new ArrayList<>();
-				while (result.next()) {
-					Inventory inventoryItem = buildFromResult(result);
-					inventoryList.add(inventoryItem);
+				int index = 1;
+				if (after != null) {
+					statement.setLong(index++, after.getId());
 				}
-				return inventoryList;
+				statement.setInt(index, limit + 1);
+
+				List<Inventory> inventoryList = new ArrayList<>(limit + 1);
+				try (ResultSet result = statement.executeQuery()) {
+					while (result.next()) {
+						inventoryList.add(buildFromResult(result));
+					}
+				}
+
+				PageKey nextKey = null;
+				if (inventoryList.size() > limit) {
+					inventoryList.remove(limit);
+					nextKey = PageKey.afterId(inventoryList.get(limit - 1).getId());
+				}
+				return new Page<>(inventoryList, nextKey);
+			} catch (Exception e) {
+				throw new DAOException("Error retrieving inventory page", e);
 			}
+		});
+	}
 
-		} catch (Exception e) {
-			throw new DAOException("Error retrieving inventory by product ID", e);
-		}
+	@Override
+	public List<Inventory> searchByClient(Long clientId) {
+		return observe("searchByClient", List::size, () -> {
+			String sql = """
+					SELECT id, client_id, product_id, quantity_sold, sale_date
+					FROM tb_inventory
+					WHERE client_id = ?
+					""";
+
+			try (Connection connection = ConnectionFactory.getConnection();
+					PreparedStatement statement = connection.prepareStatement(sql)) {
+
+				statement.setLong(1, clientId);
+				try (ResultSet result = statement.executeQuery()) {
+
+					List<Inventory> inventoryList = new ArrayList<>();
+					while (result.next()) {
+						Inventory inventoryItem = buildFromResult(result);
+						inventoryList.add(inventoryItem);
+					}
+					return inventoryList;
+				}
+
+			} catch (Exception e) {
+				throw new DAOException("Error retrieving inventory by client ID", e);
+			}
+		});
+	}
+
+	@Override
+	public List<Inventory> searchByProduct(Long productId) {
+		return observe("searchByProduct", List::size, () -> {
+			String sql = """
+					SELECT id, client_id, product_id, quantity_sold, sale_date
+					FROM tb_inventory WHERE product_id = ?
+					""";
+
+			try (Connection connection = ConnectionFactory.getConnection();
+					PreparedStatement statement = connection.prepareStatement(sql)) {
+
+				statement.setLong(1, productId);
+				try (ResultSet result = statement.executeQuery()) {
+
+					List<Inventory> inventoryList = new ArrayList<>();
+					while (result.next()) {
+						Inventory inventoryItem = buildFromResult(result);
+						inventoryList.add(inventoryItem);
+					}
+					return inventoryList;
+				}
+
+			} catch (Exception e) {
+				throw new DAOException("Error retrieving inventory by product ID", e);
+			}
+		});
 	}
 
 	@Override
 	public Integer deleteById(Long id) {
-		String sql = "DELETE FROM tb_inventory WHERE id = ?";
+		return observe("deleteById", Integer::intValue, () -> {
+			String sql = "DELETE FROM tb_inventory WHERE id = ?";
 
-		try (Connection connection = ConnectionFactory.getConnection();
-				PreparedStatement statement = connection.prepareStatement(sql)) {
+			try (Connection connection = ConnectionFactory.getConnection();
+					PreparedStatement statement = connection.prepareStatement(sql)) {
 
-			statement.setLong(1, id);
-			return statement.executeUpdate();
-		} catch (Exception e) {
-			throw new DAOException("Error deleting inventory item by ID", e);
-		}
+				statement.setLong(1, id);
+				return statement.executeUpdate();
+			} catch (Exception e) {
+				throw new DAOException("Error deleting inventory item by ID", e);
+			}
+		});
+	}
+
+	@Override
+	public Flow.Publisher<Inventory> publishAll() {
+		return new QueryPublisher<>(SELECT_SQL, CursorQuery.ParameterBinder.NONE, this::buildFromResult,
+				CursorQuery.DEFAULT_FETCH_SIZE, getPublishExecutor());
+	}
+
+	@Override
+	public CompletableFuture<Integer> registerAsync(Inventory inventory) {
+		return async(() -> register(inventory));
+	}
+
+	@Override
+	public CompletableFuture<Boolean> recordSaleAsync(Long clientId, Long productId, int quantity) {
+		return async(() -> recordSale(clientId, productId, quantity));
+	}
+
+	@Override
+	public CompletableFuture<List<Inventory>> searchAllAsync() {
+		return async(this::searchAll);
+	}
+
+	@Override
+	public CompletableFuture<List<Inventory>> searchByClientAsync(Long clientId) {
+		return async(() -> searchByClient(clientId));
+	}
+
+	@Override
+	public CompletableFuture<List<Inventory>> searchByProductAsync(Long productId) {
+		return async(() -> searchByProduct(productId));
+	}
+
+	/**
+	 * Sets the executor the {@code *Async} methods and {@link #publishAll()}
+	 * run on.
+	 * 
+	 * @param asyncExecutor The executor, or {@code null} to use
+	 *                      {@link DatabaseExecutor#getDefault()}, and
+	 *                      {@link DatabaseExecutor#getBackground()} for
+	 *                      {@link #publishAll()}
+	 */
+	public void setAsyncExecutor(Executor asyncExecutor) {
+		this.asyncExecutor = asyncExecutor;
+	}
+
+	/**
+	 * Runs an operation of this DAO, observed by the installed
+	 * {@link Instrumentation}, if any.
+	 */
+	private static <R> R observe(String operation, ToIntFunction<? super R> rows, Supplier<R> work) {
+		return Instrumentation.observe(Inventory.class, operation, rows, work);
+	}
+
+	private <R> CompletableFuture<R> async(Supplier<R> work) {
+		return CompletableFuture.supplyAsync(work, getAsyncExecutor());
+	}
+
+	private Executor getAsyncExecutor() {
+		Executor executor = asyncExecutor;
+		return executor != null ? executor : DatabaseExecutor.getDefault();
+	}
+
+	private Executor getPublishExecutor() {
+		Executor executor = asyncExecutor;
+		return executor != null ? executor : DatabaseExecutor.getBackground();
 	}
 
 	/**
@@ -148,7 +515,7 @@ public class InventoryDAO implements IInventoryDAO {
 	 * @return An {@link Inventory} object built from the row
 	 * @throws InventoryMappingException If any column cannot be mapped properly
 	 */
-	private Inventory buildFromResult(ResultSet result) throws InventoryMappingException {
+	Inventory buildFromResult(ResultSet result) throws InventoryMappingException {
 		try {
 			Inventory inventory = new Inventory();
 
@@ -0,0 +1,48 @@
+package br.com.eaugusto.dao.generics;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Outcome of a bulk load: rows loaded, elapsed time and throughput, so the
+ * COPY path can be compared with batched inserts.
+ *
+ * @author Eduardo Augusto (github.com/AsrielDreemurrGM/)
+ * @since October 17, 2026
+ */
+public final class BulkLoadResult {
+
+	private final String tableName;
+	private final long rows;
+	private final long elapsedNanos;
+
+	public BulkLoadResult(String tableName, long rows, long elapsedNanos) {
+		this.tableName = tableName;
+		this.rows = rows;
+		this.elapsedNanos = elapsedNanos;
+	}
+
+	public String getTableName() {
+		return tableName;
+	}
+
+	public long getRows() {
+		return rows;
+	}
+
+	public long getElapsedMillis() {
+		return TimeUnit.NANOSECONDS.toMillis(elapsedNanos);
+	}
+
+	/**
+	 * @return Rows loaded per second
+	 */
+	public double getRowsPerSecond() {
+		return elapsedNanos == 0 ? 0 : rows * 1_000_000_000.0 / elapsedNanos;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("Loaded %d rows into %s in %d ms (%.0f rows/s)", rows, tableName, getElapsedMillis(),
+				getRowsPerSecond());
+	}
+}
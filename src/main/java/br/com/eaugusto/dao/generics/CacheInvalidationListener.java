@@ -0,0 +1,264 @@
+package br.com.eaugusto.dao.generics;
+
+import java.lang.ref.WeakReference;
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+
+import br.com.eaugusto.generic.jdbc.ConnectionFactory;
+import br.com.eaugusto.generic.jdbc.StatementPipeline;
+import br.com.eaugusto.generic.jdbc.TransactionManager;
+
+/**
+ * Keeps the {@link EntityCache} of every node consistent through PostgreSQL's
+ * {@code LISTEN}/{@code NOTIFY}.
+ *
+ * <p>
+ * Writes to cached entities publish a notification on the
+ * {@value #CHANNEL} channel with a {@code table:code} payload. Notifications
+ * are delivered when the writing transaction commits. A daemon thread in each
+ * process listens on a dedicated connection, outside the pool, and evicts the
+ * matching entries from the registered caches. When the listening connection
+ * is lost, every cache is cleared, since notifications may have been missed,
+ * and the listener reconnects.
+ * </p>
+ *
+ * <p>
+ * Behavior is configured by the <b>DB_CACHE_INVALIDATION</b> environment
+ * variable:
+ * <ul>
+ * <li><b>dao</b> (default): the DAOs publish notifications and the listener
+ * runs;</li>
+ * <li><b>trigger</b>: the optional triggers in
+ * {@code cache_invalidation_triggers.sql} publish notifications, also covering
+ * writes made outside the DAOs, and the listener runs;</li>
+ * <li><b>off</b>: caches are only invalidated by writes made in the same
+ * process and by expiry.</li>
+ * </ul>
+ * </p>
+ *
+ * @author Eduardo Augusto (github.com/AsrielDreemurrGM/)
+ * @since October 17, 2026
+ */
+public final class CacheInvalidationListener {
+
+	private static final Logger LOGGER = Logger.getLogger(CacheInvalidationListener.class.getName());
+
+	/**
+	 * Notification channel shared with the triggers in
+	 * {@code cache_invalidation_triggers.sql}.
+	 */
+	public static final String CHANNEL = "entity_invalidation";
+
+	private static final String PUBLISH_SQL = "SELECT pg_notify('" + CHANNEL
+			+ "', ? || ':' || code) FROM unnest(?) AS code";
+	private static final String PUBLISH_ONE_SQL = "SELECT pg_notify('" + CHANNEL + "', ? || ':' || ?)";
+	private static final int POLL_TIMEOUT_MS = 5_000;
+	private static final long MAX_BACKOFF_MS = 30_000;
+
+	private static final Mode MODE = Mode.fromEnvironment();
+	private static final Map<String, List<WeakReference<EntityCache<?>>>> CACHES = new ConcurrentHashMap<>();
+	private static Thread listenerThread;
+
+	private CacheInvalidationListener() {
+		// To prevent instantiation
+	}
+
+	/**
+	 * Registers a cache to be invalidated by notifications and local writes for
+	 * its table, starting the listener on first use. Caches are held weakly.
+	 *
+	 * @param cache The cache
+	 */
+	static void register(EntityCache<?> cache) {
+		CACHES.computeIfAbsent(cache.getTableName(), table -> new CopyOnWriteArrayList<>())
+				.add(new WeakReference<>(cache));
+		if (MODE != Mode.OFF) {
+			start();
+		}
+	}
+
+	/**
+	 * @return Whether the DAOs should publish invalidations themselves, which
+	 *         they do only in the <b>dao</b> mode
+	 */
+	public static boolean isPublishing() {
+		return MODE == Mode.DAO;
+	}
+
+	/**
+	 * Publishes one invalidation per code with a single statement on the
+	 * writer's connection, so they are delivered only if its transaction
+	 * commits.
+	 *
+	 * @param connection The connection used for the write
+	 * @param tableName  The written table
+	 * @param codes      The written codes
+	 * @throws SQLException If the notifications cannot be sent
+	 */
+	static void publish(Connection connection, String tableName, Collection<String> codes) throws SQLException {
+		if (codes.isEmpty()) {
+			return;
+		}
+		Array codeArray = connection.createArrayOf("varchar", codes.toArray());
+		try (PreparedStatement statement = connection.prepareStatement(PUBLISH_SQL)) {
+			statement.setString(1, tableName);
+			statement.setArray(2, codeArray);
+			statement.execute();
+		} finally {
+			codeArray.free();
+		}
+	}
+
+	/**
+	 * Queues the invalidation of one code on a pipeline, so it is delivered only
+	 * if the pipeline's transaction commits.
+	 *
+	 * @param pipeline  The pipeline the write was queued on
+	 * @param tableName The written table
+	 * @param code      The written code
+	 */
+	static void publish(StatementPipeline pipeline, String tableName, String code) {
+		pipeline.add(PUBLISH_ONE_SQL, statement -> {
+			statement.setString(1, tableName);
+			statement.setString(2, code);
+		});
+	}
+
+	/**
+	 * Evicts an entity from the caches of this process right away, for writes
+	 * made outside {@link GenericDAO}. Inside a transaction, the entity is
+	 * evicted again after the commit. Other nodes still depend on a
+	 * notification.
+	 *
+	 * @param tableName The written table
+	 * @param code      The written code
+	 */
+	public static void invalidateLocal(String tableName, String code) {
+		evict(tableName, code);
+		if (TransactionManager.isActive()) {
+			TransactionManager.afterCommit(() -> evict(tableName, code));
+		}
+	}
+
+	/**
+	 * Evicts the entry named by a {@code table:code} payload from every cache
+	 * of that table.
+	 */
+	static void evict(String payload) {
+		int separator = payload.indexOf(':');
+		if (separator < 0) {
+			LOGGER.warning(() -> "Ignoring malformed invalidation payload: " + payload);
+			return;
+		}
+		evict(payload.substring(0, separator), payload.substring(separator + 1));
+	}
+
+	private static void evict(String tableName, String code) {
+		List<WeakReference<EntityCache<?>>> caches = CACHES.get(tableName);
+		if (caches == null) {
+			return;
+		}
+		for (WeakReference<EntityCache<?>> reference : caches) {
+			EntityCache<?> cache = reference.get();
+			if (cache == null) {
+				caches.remove(reference);
+			} else {
+				cache.invalidate(code);
+			}
+		}
+	}
+
+	private static void clearAll() {
+		for (List<WeakReference<EntityCache<?>>> caches : CACHES.values()) {
+			for (WeakReference<EntityCache<?>> reference : caches) {
+				EntityCache<?> cache = reference.get();
+				if (cache == null) {
+					caches.remove(reference);
+				} else {
+					cache.clear();
+				}
+			}
+		}
+	}
+
+	private static synchronized void start() {
+		if (listenerThread != null) {
+			return;
+		}
+		listenerThread = new Thread(CacheInvalidationListener::listen, "cache-invalidation-listener");
+		listenerThread.setDaemon(true);
+		listenerThread.start();
+	}
+
+	/**
+	 * Listens until interrupted, reconnecting with exponential backoff.
+	 */
+	private static void listen() {
+		long backoff = 1_000;
+		boolean reconnecting = false;
+		while (!Thread.currentThread().isInterrupted()) {
+			try (Connection connection = ConnectionFactory.openDedicatedConnection();
+					Statement statement = connection.createStatement()) {
+
+				statement.execute("LISTEN " + CHANNEL);
+				if (reconnecting) {
+					// Entries loaded while disconnected missed their invalidations
+					clearAll();
+				}
+				backoff = 1_000;
+				LOGGER.fine("Listening for cache invalidations");
+
+				PGConnection pgConnection = connection.unwrap(PGConnection.class);
+				while (!Thread.currentThread().isInterrupted()) {
+					PGNotification[] notifications = pgConnection.getNotifications(POLL_TIMEOUT_MS);
+					if (notifications != null) {
+						for (PGNotification notification : notifications) {
+							evict(notification.getParameter());
+						}
+					}
+				}
+			} catch (SQLException | RuntimeException e) {
+				LOGGER.log(Level.WARNING, "Cache invalidation listener lost its connection; clearing caches", e);
+				clearAll();
+				reconnecting = true;
+				try {
+					Thread.sleep(backoff);
+				} catch (InterruptedException interrupted) {
+					Thread.currentThread().interrupt();
+				}
+				backoff = Math.min(backoff * 2, MAX_BACKOFF_MS);
+			}
+		}
+	}
+
+	private enum Mode {
+		DAO, TRIGGER, OFF;
+
+		static Mode fromEnvironment() {
+			String value = System.getenv("DB_CACHE_INVALIDATION");
+			if (value == null || value.isBlank()) {
+				return DAO;
+			}
+			try {
+				return valueOf(value.trim().toUpperCase(Locale.ROOT));
+			} catch (IllegalArgumentException e) {
+				LOGGER.warning(() -> "Unknown DB_CACHE_INVALIDATION value " + value + "; using dao");
+				return DAO;
+			}
+		}
+	}
+}
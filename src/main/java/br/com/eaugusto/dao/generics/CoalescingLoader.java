@@ -0,0 +1,211 @@
+package br.com.eaugusto.dao.generics;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
+
+import br.com.eaugusto.exceptions.DAOException;
+import br.com.eaugusto.generic.metrics.Histogram;
+
+/**
+ * Coalesces concurrent lookups by code into shared batch queries, in the style
+ * of a DataLoader.
+ *
+ * <p>
+ * Callers asking for a code that is already being loaded wait for the same
+ * result instead of issuing their own query. Distinct codes requested within a
+ * short window are merged into a single batch: the first caller of a batch
+ * waits for the window to pass, then runs the query for every code collected
+ * in the meantime on its own thread. A batch that reaches the maximum size is
+ * run right away by the caller that filled it.
+ * </p>
+ *
+ * <p>
+ * The latency seen by callers, in microseconds, and the size of each batch are
+ * recorded in histograms.
+ * </p>
+ *
+ * @param <T> Loaded type
+ *
+ * @author Eduardo Augusto (github.com/AsrielDreemurrGM/)
+ * @since October 17, 2026
+ */
+public class CoalescingLoader<T> {
+
+	/**
+	 * Default time the first caller of a batch waits for more codes.
+	 */
+	public static final long DEFAULT_WINDOW_MICROS = 1_000;
+
+	/**
+	 * Default maximum number of codes per batch query.
+	 */
+	public static final int DEFAULT_MAX_BATCH_SIZE = 256;
+
+	private final Function<Collection<String>, Map<String, T>> batchLoader;
+	private final long windowNanos;
+	private final int maxBatchSize;
+	private final Map<String, CompletableFuture<T>> inFlight = new HashMap<>();
+	private final Histogram latency = new Histogram("coalesced.latency.us");
+	private final Histogram batchSizes = new Histogram("coalesced.batch.size");
+	private final LongAdder requests = new LongAdder();
+	private final LongAdder coalesced = new LongAdder();
+	private Batch<T> openBatch;
+
+	/**
+	 * @param batchLoader  Loads several codes in one query, returning the found
+	 *                     values by code
+	 * @param windowMicros Time the first caller of a batch waits for more codes
+	 * @param maxBatchSize Maximum number of codes per batch query
+	 */
+	public CoalescingLoader(Function<Collection<String>, Map<String, T>> batchLoader, long windowMicros,
+			int maxBatchSize) {
+		if (windowMicros < 0) {
+			throw new IllegalArgumentException("Coalescing window cannot be negative");
+		}
+		if (maxBatchSize < 1) {
+			throw new IllegalArgumentException("Maximum batch size must be greater than zero");
+		}
+		this.batchLoader = batchLoader;
+		this.windowNanos = TimeUnit.MICROSECONDS.toNanos(windowMicros);
+		this.maxBatchSize = maxBatchSize;
+	}
+
+	/**
+	 * Loads the value for a code, sharing the query with concurrent callers.
+	 *
+	 * @param code The code
+	 * @return The value, or {@code null} if not found
+	 * @throws DAOException If the batch query fails
+	 */
+	public T load(String code) {
+		long start = System.nanoTime();
+		requests.increment();
+
+		CompletableFuture<T> future;
+		Batch<T> ledBatch = null;
+		Batch<T> fullBatch = null;
+		synchronized (this) {
+			future = inFlight.get(code);
+			if (future == null && openBatch != null) {
+				// A forgotten code whose batch has not run yet still reads the
+				// row after the write, so it is joined rather than replaced
+				future = openBatch.futures.get(code);
+				if (future != null) {
+					inFlight.put(code, future);
+				}
+			}
+			if (future != null) {
+				coalesced.increment();
+			} else {
+				future = new CompletableFuture<>();
+				inFlight.put(code, future);
+				if (openBatch == null) {
+					openBatch = new Batch<>();
+					ledBatch = openBatch;
+				}
+				openBatch.futures.put(code, future);
+				if (openBatch.futures.size() >= maxBatchSize) {
+					fullBatch = openBatch;
+					openBatch = null;
+				}
+			}
+		}
+
+		if (fullBatch == null && ledBatch != null) {
+			LockSupport.parkNanos(windowNanos);
+			synchronized (this) {
+				if (openBatch == ledBatch) {
+					fullBatch = ledBatch;
+					openBatch = null;
+				}
+			}
+		}
+		if (fullBatch != null) {
+			dispatch(fullBatch);
+		}
+
+		try {
+			return future.join();
+		} catch (CompletionException e) {
+			if (e.getCause() instanceof RuntimeException runtimeException) {
+				throw runtimeException;
+			}
+			throw new DAOException("Error loading coalesced batch", e.getCause());
+		} finally {
+			latency.record(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start));
+		}
+	}
+
+	/**
+	 * Makes later callers for the code start a new query instead of joining one
+	 * that may have read the row before it was written. Callers still join a
+	 * batch that has not started its query.
+	 *
+	 * @param code The written code
+	 */
+	public synchronized void forget(String code) {
+		inFlight.remove(code);
+	}
+
+	private void dispatch(Batch<T> batch) {
+		batchSizes.record(batch.futures.size());
+		try {
+			Map<String, T> loaded = batchLoader.apply(new ArrayList<>(batch.futures.keySet()));
+			batch.futures.forEach((code, future) -> future.complete(loaded.get(code)));
+		} catch (RuntimeException e) {
+			batch.futures.values().forEach(future -> future.completeExceptionally(e));
+		} finally {
+			synchronized (this) {
+				// Only this batch's futures, not a newer query for a forgotten code
+				batch.futures.forEach((code, future) -> inFlight.remove(code, future));
+			}
+		}
+	}
+
+	/**
+	 * @return Latency seen by callers of {@link #load(String)}, in microseconds
+	 */
+	public Histogram getLatencyHistogram() {
+		return latency;
+	}
+
+	/**
+	 * @return Number of codes per batch query
+	 */
+	public Histogram getBatchSizeHistogram() {
+		return batchSizes;
+	}
+
+	public long getRequests() {
+		return requests.sum();
+	}
+
+	/**
+	 * @return Requests that joined a query already started for the same code
+	 */
+	public long getCoalescedRequests() {
+		return coalesced.sum();
+	}
+
+	@Override
+	public String toString() {
+		return String.format("CoalescingLoader[requests=%d, coalesced=%d, %s, %s]", getRequests(),
+				getCoalescedRequests(), batchSizes, latency);
+	}
+
+	/**
+	 * Codes collected for one query, in arrival order.
+	 */
+	private static final class Batch<T> {
+		private final Map<String, CompletableFuture<T>> futures = new LinkedHashMap<>();
+	}
+}
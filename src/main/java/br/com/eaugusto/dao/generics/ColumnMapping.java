@@ -0,0 +1,188 @@
+package br.com.eaugusto.dao.generics;
+
+import java.lang.invoke.MethodHandle;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+
+import br.com.eaugusto.annotations.Column;
+import br.com.eaugusto.exceptions.EntityMappingException;
+
+/**
+ * Mapping between one {@link Column}-annotated field and its database column.
+ *
+ * <p>
+ * Holds the resolved column index in the generated SELECT statement, a reader
+ * and a parameter binder chosen once for the field type and pre-bound
+ * {@link MethodHandle} accessors, so no reflection lookup happens while mapping
+ * rows or binding parameters.
+ * </p>
+ *
+ * @see EntityMetadata
+ *
+ * @author Eduardo Augusto (github.com/AsrielDreemurrGM/)
+ * @since October 17, 2026
+ */
+public final class ColumnMapping {
+
+	private final String columnName;
+	private final String fieldName;
+	private final Class<?> type;
+	private final int selectIndex;
+	private final boolean version;
+	private final ColumnReader reader;
+	private final ColumnBinder binder;
+	private final MethodHandle getter;
+	private final MethodHandle setter;
+
+	ColumnMapping(String columnName, String fieldName, Class<?> type, int selectIndex, boolean version,
+			MethodHandle getter, MethodHandle setter) {
+		this.columnName = columnName;
+		this.fieldName = fieldName;
+		this.type = type;
+		this.selectIndex = selectIndex;
+		this.version = version;
+		this.reader = readerFor(type);
+		this.binder = binderFor(type);
+		this.getter = getter;
+		this.setter = setter;
+	}
+
+	/**
+	 * Reads this column from the current row and writes it to the entity.
+	 *
+	 * @param result The result set positioned on a row produced by the generated
+	 *               SELECT statement
+	 * @param entity The entity being populated
+	 * @throws SQLException If the column cannot be read
+	 */
+	void readInto(ResultSet result, Object entity) throws SQLException {
+		set(entity, reader.read(result, selectIndex));
+	}
+
+	/**
+	 * Binds the field value of an entity as a statement parameter.
+	 *
+	 * @param statement The prepared statement
+	 * @param index     The parameter index
+	 * @param entity    The entity holding the value
+	 * @throws SQLException If the parameter cannot be set
+	 */
+	void bind(PreparedStatement statement, int index, Object entity) throws SQLException {
+		bindValue(statement, index, get(entity));
+	}
+
+	/**
+	 * Binds a value of this column's type as a statement parameter.
+	 *
+	 * @param statement The prepared statement
+	 * @param index     The parameter index
+	 * @param value     The value, possibly {@code null}
+	 * @throws SQLException If the parameter cannot be set
+	 */
+	void bindValue(PreparedStatement statement, int index, Object value) throws SQLException {
+		binder.bind(statement, index, value);
+	}
+
+	/**
+	 * Reads the field value from an entity.
+	 *
+	 * @param entity The entity
+	 * @return The field value, possibly {@code null}
+	 */
+	public Object get(Object entity) {
+		try {
+			return (Object) getter.invokeExact(entity);
+		} catch (Throwable e) {
+			throw new EntityMappingException("Failed to read field " + fieldName, e);
+		}
+	}
+
+	/**
+	 * Writes a value to the entity field.
+	 *
+	 * @param entity The entity
+	 * @param value  The value to write
+	 */
+	public void set(Object entity, Object value) {
+		try {
+			setter.invokeExact(entity, value);
+		} catch (Throwable e) {
+			throw new EntityMappingException("Failed to write field " + fieldName, e);
+		}
+	}
+
+	public String getColumnName() {
+		return columnName;
+	}
+
+	public String getFieldName() {
+		return fieldName;
+	}
+
+	public Class<?> getType() {
+		return type;
+	}
+
+	public int getSelectIndex() {
+		return selectIndex;
+	}
+
+	/**
+	 * @return Whether this is the optimistic locking column, marked with
+	 *         {@code @Version}
+	 */
+	public boolean isVersion() {
+		return version;
+	}
+
+	private static ColumnReader readerFor(Class<?> type) {
+		// getObject keeps SQL NULL as null, where getLong and friends read 0
+		if (type.equals(Long.class)) {
+			return (result, index) -> result.getObject(index, Long.class);
+		} else if (type.equals(String.class)) {
+			return ResultSet::getString;
+		} else if (type.equals(Double.class)) {
+			return (result, index) -> result.getObject(index, Double.class);
+		} else if (type.equals(Integer.class)) {
+			return (result, index) -> result.getObject(index, Integer.class);
+		} else if (type.equals(LocalDate.class)) {
+			return (result, index) -> {
+				Date sqlDate = result.getDate(index);
+				return sqlDate != null ? sqlDate.toLocalDate() : null;
+			};
+		}
+		throw new EntityMappingException("Unsupported field type: " + type.getName());
+	}
+
+	private static ColumnBinder binderFor(Class<?> type) {
+		if (type.equals(Long.class)) {
+			return (statement, index, value) -> StatementParameters.setLong(statement, index, (Long) value);
+		} else if (type.equals(String.class)) {
+			return (statement, index, value) -> StatementParameters.setString(statement, index, (String) value);
+		} else if (type.equals(Double.class)) {
+			return (statement, index, value) -> StatementParameters.setDouble(statement, index, (Double) value);
+		} else if (type.equals(Integer.class)) {
+			return (statement, index, value) -> StatementParameters.setInteger(statement, index, (Integer) value);
+		}
+		return (statement, index, value) -> StatementParameters.setLocalDate(statement, index, (LocalDate) value);
+	}
+
+	/**
+	 * Reads a column value by index, chosen once per field type.
+	 */
+	@FunctionalInterface
+	private interface ColumnReader {
+		Object read(ResultSet result, int index) throws SQLException;
+	}
+
+	/**
+	 * Binds a field value as a statement parameter, chosen once per field type.
+	 */
+	@FunctionalInterface
+	private interface ColumnBinder {
+		void bind(PreparedStatement statement, int index, Object value) throws SQLException;
+	}
+}
@@ -0,0 +1,206 @@
+package br.com.eaugusto.dao.generics;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import br.com.eaugusto.annotations.Table;
+
+/**
+ * Bounded, expiring cache of entities keyed by code, used by
+ * {@link GenericDAO#search(String)} for entities marked with
+ * {@link Table#cached()}.
+ *
+ * <p>
+ * Entries are evicted in least recently used order once the cache is full and
+ * expire after the configured time to live. Entities are copied on the way in
+ * and out, so callers can modify the returned objects without affecting the
+ * cache.
+ * </p>
+ *
+ * <p>
+ * A load that started before an invalidation is not stored, so a concurrent
+ * {@code search} cannot put back a row that an {@code update} or
+ * {@code delete} has just changed.
+ * </p>
+ *
+ * @param <T> Entity type
+ *
+ * @author Eduardo Augusto (github.com/AsrielDreemurrGM/)
+ * @since October 17, 2026
+ */
+public class EntityCache<T> {
+
+	private final EntityMetadata<T> metadata;
+	private final int maxSize;
+	private final long ttlNanos;
+	private final Map<String, Entry<T>> entries;
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+	private final LongAdder evictions = new LongAdder();
+	private long invalidations;
+
+	/**
+	 * @param metadata   Metadata of the cached entity, used to copy entities
+	 * @param maxSize    Maximum number of entries, greater than zero
+	 * @param ttlSeconds Time to live of an entry, greater than zero
+	 */
+	public EntityCache(EntityMetadata<T> metadata, int maxSize, long ttlSeconds) {
+		if (maxSize < 1) {
+			throw new IllegalArgumentException("Cache size must be greater than zero");
+		}
+		if (ttlSeconds < 1) {
+			throw new IllegalArgumentException("Cache TTL must be greater than zero");
+		}
+		this.metadata = metadata;
+		this.maxSize = maxSize;
+		this.ttlNanos = TimeUnit.SECONDS.toNanos(ttlSeconds);
+		this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, Entry<T>> eldest) {
+				if (size() > EntityCache.this.maxSize) {
+					evictions.increment();
+					return true;
+				}
+				return false;
+			}
+		};
+	}
+
+	/**
+	 * Creates the cache configured by the entity's {@link Table} annotation.
+	 *
+	 * @param <T>      Entity type
+	 * @param metadata Metadata of the cached entity
+	 * @return The cache
+	 */
+	public static <T> EntityCache<T> of(EntityMetadata<T> metadata) {
+		return new EntityCache<>(metadata, metadata.getCacheSize(), metadata.getCacheTtlSeconds());
+	}
+
+	/**
+	 * Returns a copy of the cached entity, or {@code null} if it is missing or
+	 * expired.
+	 *
+	 * @param code The entity code
+	 * @return The entity copy, or {@code null}
+	 */
+	public T get(String code) {
+		Entry<T> entry;
+		synchronized (this) {
+			entry = entries.get(code);
+			if (entry != null && System.nanoTime() - entry.loadedAt > ttlNanos) {
+				entries.remove(code);
+				evictions.increment();
+				entry = null;
+			}
+		}
+		if (entry == null) {
+			misses.increment();
+			return null;
+		}
+		hits.increment();
+		return metadata.copy(entry.entity);
+	}
+
+	/**
+	 * Returns a stamp to pass to {@link #put(String, Object, long)}, taken before
+	 * loading the entity from the database.
+	 *
+	 * @return The current invalidation stamp
+	 */
+	public synchronized long stamp() {
+		return invalidations;
+	}
+
+	/**
+	 * Stores a copy of the entity unless an invalidation happened since the
+	 * stamp was taken.
+	 *
+	 * @param code   The entity code
+	 * @param entity The loaded entity
+	 * @param stamp  The stamp taken before loading
+	 */
+	public void put(String code, T entity, long stamp) {
+		T copy = metadata.copy(entity);
+		synchronized (this) {
+			if (stamp == invalidations) {
+				entries.put(code, new Entry<>(copy, System.nanoTime()));
+			}
+		}
+	}
+
+	/**
+	 * Removes the entity with the given code.
+	 *
+	 * @param code The entity code
+	 */
+	public synchronized void invalidate(String code) {
+		invalidations++;
+		entries.remove(code);
+	}
+
+	/**
+	 * Removes every entry.
+	 */
+	public synchronized void clear() {
+		invalidations++;
+		entries.clear();
+	}
+
+	public synchronized int size() {
+		return entries.size();
+	}
+
+	public String getTableName() {
+		return metadata.getTableName();
+	}
+
+	public int getMaxSize() {
+		return maxSize;
+	}
+
+	public long getHits() {
+		return hits.sum();
+	}
+
+	public long getMisses() {
+		return misses.sum();
+	}
+
+	/**
+	 * @return Entries removed because the cache was full or they expired
+	 */
+	public long getEvictions() {
+		return evictions.sum();
+	}
+
+	/**
+	 * @return Hits over total lookups, or 0 before the first lookup
+	 */
+	public double getHitRate() {
+		long hitCount = getHits();
+		long total = hitCount + getMisses();
+		return total == 0 ? 0 : (double) hitCount / total;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("EntityCache[%s: size=%d/%d, hits=%d, misses=%d, evictions=%d]",
+				metadata.getTableName(), size(), maxSize, getHits(), getMisses(), getEvictions());
+	}
+
+	private static final class Entry<T> {
+
+		private final T entity;
+		private final long loadedAt;
+
+		Entry(T entity, long loadedAt) {
+			this.entity = entity;
+			this.loadedAt = loadedAt;
+		}
+	}
+}
@@ -0,0 +1,761 @@
+package br.com.eaugusto.dao.generics;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import br.com.eaugusto.annotations.Column;
+import br.com.eaugusto.annotations.Table;
+import br.com.eaugusto.annotations.Version;
+import br.com.eaugusto.exceptions.DAOParameterException;
+import br.com.eaugusto.exceptions.EntityMappingException;
+import br.com.eaugusto.generic.jdbc.SequenceIdAllocator;
+import br.com.eaugusto.generic.jdbc.SlowQueryLog;
+
+/**
+ * Mapping metadata for an entity class annotated with {@link Table} and
+ * {@link Column}.
+ *
+ * <p>
+ * Metadata is built once per entity class and kept in a registry, see
+ * {@link #of(Class)}. It holds the column mappings in declaration order, the
+ * SQL statements generated from them and the pre-bound accessors used to map
+ * rows, so {@link GenericDAO} no longer walks annotations or looks up methods
+ * on each call.
+ * </p>
+ *
+ * <p>
+ * When a {@link GeneratedEntityMapper} was produced for the entity at compile
+ * time, its SQL, row mapper and parameter binders are used instead of the
+ * reflective ones.
+ * </p>
+ *
+ * @param <T> Entity type
+ *
+ * @see ColumnMapping
+ *
+ * @author Eduardo Augusto (github.com/AsrielDreemurrGM/)
+ * @since October 17, 2026
+ */
+public final class EntityMetadata<T> {
+
+	private static final Map<Class<?>, EntityMetadata<?>> REGISTRY = new ConcurrentHashMap<>();
+	private static final String WHERECODE = " WHERE code = ?";
+
+	private final Class<T> entityClass;
+	private final Table table;
+	private final String tableName;
+	private final ColumnMapping[] columns;
+	private final Map<String, ColumnMapping> columnsByName;
+	private final ColumnMapping versionColumn;
+	private final MethodHandle constructor;
+	private final GeneratedEntityMapper<T> generatedMapper;
+	private final String selectSql;
+	private final String registerSql;
+	private final String updateSql;
+	private final String deleteSql;
+	private final String upsertSql;
+	private final String selectByCodesSql;
+	private final Map<Integer, String> multiRowRegisterSql = new ConcurrentHashMap<>();
+	private final Map<String, String> pageSql = new ConcurrentHashMap<>();
+	private final Map<String, String> partialUpdateSql = new ConcurrentHashMap<>();
+
+	private EntityMetadata(Class<T> entityClass) {
+		this(entityClass, true);
+	}
+
+	private EntityMetadata(Class<T> entityClass, boolean useGeneratedMapper) {
+		this.entityClass = entityClass;
+		this.table = readTable(entityClass);
+		this.tableName = table.value();
+
+		try {
+			MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(entityClass, MethodHandles.lookup());
+			this.constructor = lookup.findConstructor(entityClass, MethodType.methodType(void.class))
+					.asType(MethodType.methodType(Object.class));
+			this.columns = readColumns(entityClass, lookup);
+		} catch (ReflectiveOperationException e) {
+			throw new EntityMappingException("Failed to build mapping metadata for " + entityClass.getSimpleName(),
+					e);
+		}
+
+		Map<String, ColumnMapping> byName = new LinkedHashMap<>();
+		for (ColumnMapping column : columns) {
+			byName.put(column.getColumnName(), column);
+		}
+		this.columnsByName = Collections.unmodifiableMap(byName);
+		this.versionColumn = findVersionColumn(entityClass, columns);
+
+		this.generatedMapper = useGeneratedMapper ? findGeneratedMapper(entityClass) : null;
+		if (generatedMapper != null) {
+			this.selectSql = generatedMapper.getSelectSql();
+			this.registerSql = generatedMapper.getRegisterSql();
+			this.updateSql = generatedMapper.getUpdateSql();
+		} else {
+			this.selectSql = buildSelectSql();
+			this.registerSql = buildRegisterSql();
+			this.updateSql = buildUpdateSql();
+		}
+		SlowQueryLog.markReadOnly(selectSql);
+		this.deleteSql = "DELETE FROM " + tableName + WHERECODE + versionCheck();
+		this.upsertSql = buildUpsertSql();
+		this.selectByCodesSql = selectSql + " WHERE code = ANY(?)";
+	}
+
+	/**
+	 * Returns the metadata for an entity class, building it on first use.
+	 *
+	 * @param <T>         Entity type
+	 * @param entityClass The entity class
+	 * @return The cached metadata
+	 * @throws EntityMappingException If the class is missing {@link Table}, a
+	 *                                no-argument constructor or uses an
+	 *                                unsupported field type
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T> EntityMetadata<T> of(Class<T> entityClass) {
+		return (EntityMetadata<T>) REGISTRY.computeIfAbsent(entityClass, EntityMetadata::new);
+	}
+
+	/**
+	 * Builds new, uncached metadata that ignores any generated mapper, so the
+	 * reflective mapping and SQL generation can be measured against the
+	 * generated ones.
+	 *
+	 * @param <T>         Entity type
+	 * @param entityClass The entity class
+	 * @return Metadata using reflection only
+	 */
+	static <T> EntityMetadata<T> reflective(Class<T> entityClass) {
+		return new EntityMetadata<>(entityClass, false);
+	}
+
+	/**
+	 * Maps the current row to a new entity. Columns are read by index, so the row
+	 * must come from {@link #getSelectSql()}.
+	 *
+	 * @param result The result set positioned on a row
+	 * @return The mapped entity
+	 * @throws EntityMappingException If a column cannot be read or written
+	 */
+	public T map(ResultSet result) {
+		try {
+			if (generatedMapper != null) {
+				return generatedMapper.map(result);
+			}
+			T entity = newInstance();
+			for (int i = 0; i < columns.length; i++) {
+				columns[i].readInto(result, entity);
+			}
+			return entity;
+		} catch (SQLException e) {
+			throw new EntityMappingException("Failed to map entity: " + entityClass.getSimpleName(), e);
+		}
+	}
+
+	/**
+	 * Binds the parameters of {@link #getRegisterSql()} that follow the id:
+	 * every column except the id and version, in declaration order. Also binds
+	 * one row of a multi-row insert built by {@link #getMultiRowRegisterSql(int)}.
+	 *
+	 * @param statement The prepared statement
+	 * @param offset    Number of parameters before these, the id of this row
+	 *                  and every parameter of the previous rows
+	 * @param entity    The entity to insert
+	 * @throws SQLException If a parameter cannot be set
+	 */
+	public void bindRegisterParameters(PreparedStatement statement, int offset, T entity) throws SQLException {
+		if (generatedMapper != null) {
+			generatedMapper.bindRegisterParameters(statement, offset, entity);
+			return;
+		}
+		int index = offset + 1;
+		for (ColumnMapping column : columns) {
+			if (!isIdColumn(column) && !column.isVersion()) {
+				column.bind(statement, index++, entity);
+			}
+		}
+	}
+
+	/**
+	 * Binds the parameters of {@link #getUpdateSql()}: every column except the
+	 * id, code and version, followed by the code and version used in the WHERE
+	 * clause.
+	 *
+	 * @param statement The prepared statement
+	 * @param entity    The entity to update
+	 * @throws SQLException          If a parameter cannot be set
+	 * @throws DAOParameterException If the entity is versioned but its version
+	 *                               is unknown
+	 */
+	public void bindUpdateParameters(PreparedStatement statement, T entity) throws SQLException {
+		requireVersion(entity);
+		if (generatedMapper != null) {
+			generatedMapper.bindUpdateParameters(statement, entity);
+			return;
+		}
+		int index = 1;
+		ColumnMapping code = null;
+		for (ColumnMapping column : columns) {
+			if (isCodeColumn(column)) {
+				code = column;
+			} else if (!isIdColumn(column) && !column.isVersion()) {
+				column.bind(statement, index++, entity);
+			}
+		}
+		if (code != null) {
+			code.bind(statement, index++, entity);
+		}
+		if (versionColumn != null) {
+			versionColumn.bind(statement, index, entity);
+		}
+	}
+
+	/**
+	 * Binds the parameters of {@link #getPartialUpdateSql(List)}: the updated
+	 * columns in order, then the code and version.
+	 *
+	 * @param statement      The statement to bind
+	 * @param updatedColumns The columns being updated
+	 * @param entity         The entity providing the values
+	 * @throws SQLException          If a parameter cannot be set
+	 * @throws DAOParameterException If the entity is versioned but its version
+	 *                               is unknown
+	 */
+	public void bindPartialUpdateParameters(PreparedStatement statement, List<ColumnMapping> updatedColumns,
+			T entity) throws SQLException {
+		requireVersion(entity);
+		int index = 1;
+		for (ColumnMapping column : updatedColumns) {
+			column.bind(statement, index++, entity);
+		}
+		getCodeColumn().bind(statement, index++, entity);
+		if (versionColumn != null) {
+			versionColumn.bind(statement, index, entity);
+		}
+	}
+
+	/**
+	 * Binds the parameters of {@link #getDeleteSql()}: the code, then the
+	 * version for versioned entities.
+	 *
+	 * @param statement The prepared statement
+	 * @param entity    The entity to delete
+	 * @throws SQLException          If a parameter cannot be set
+	 * @throws DAOParameterException If the entity is versioned but its version
+	 *                               is unknown
+	 */
+	public void bindDeleteParameters(PreparedStatement statement, T entity) throws SQLException {
+		requireVersion(entity);
+		getCodeColumn().bind(statement, 1, entity);
+		if (versionColumn != null) {
+			versionColumn.bind(statement, 2, entity);
+		}
+	}
+
+	/**
+	 * Rejects writing a versioned entity whose version is unknown, such as one
+	 * built by hand or whose insert returned no version, since the write could
+	 * otherwise not be checked for concurrent changes. Such entities must be
+	 * read again before they are updated or deleted.
+	 */
+	private void requireVersion(T entity) {
+		if (versionColumn != null && versionColumn.get(entity) == null) {
+			throw new DAOParameterException(entityClass.getSimpleName() + " with code " + getCodeColumn().get(entity)
+					+ " has no version; read it again before updating or deleting it");
+		}
+	}
+
+	/**
+	 * @return Whether the entity has a {@code @Version} column
+	 */
+	public boolean isVersioned() {
+		return versionColumn != null;
+	}
+
+	/**
+	 * Returns the version of an entity, so writes can tell a concurrent change
+	 * from an unversioned write.
+	 *
+	 * @param entity The entity
+	 * @return The version, or {@code null} if the entity is not versioned or its
+	 *         version is unknown
+	 */
+	public Number getVersion(T entity) {
+		return versionColumn == null ? null : (Number) versionColumn.get(entity);
+	}
+
+	/**
+	 * Sets the version of a newly inserted entity to 0, the value written by the
+	 * register statements.
+	 *
+	 * @param entity The inserted entity
+	 */
+	public void initVersion(T entity) {
+		setVersion(entity, 0);
+	}
+
+	/**
+	 * Sets the version of an entity to the value read from the database.
+	 *
+	 * @param entity  The entity
+	 * @param version The version
+	 */
+	public void setVersion(T entity, long version) {
+		if (versionColumn != null) {
+			versionColumn.set(entity, versionValue(version));
+		}
+	}
+
+	/**
+	 * @return The {@code @Version} column, or {@code null} if the entity is not
+	 *         versioned
+	 */
+	public ColumnMapping getVersionColumn() {
+		return versionColumn;
+	}
+
+	/**
+	 * Increments the version of an updated entity, matching the database. An
+	 * unknown version is left as is.
+	 *
+	 * @param entity The updated entity
+	 */
+	public void incrementVersion(T entity) {
+		Number current = getVersion(entity);
+		if (current != null) {
+			setVersion(entity, current.longValue() + 1);
+		}
+	}
+
+	private Object versionValue(long value) {
+		return versionColumn.getType().equals(Integer.class) ? Integer.valueOf((int) value) : Long.valueOf(value);
+	}
+
+	/**
+	 * Creates a new, empty entity instance.
+	 *
+	 * @return The entity
+	 */
+	public T newInstance() {
+		try {
+			return entityClass.cast((Object) constructor.invokeExact());
+		} catch (Throwable e) {
+			throw new EntityMappingException("Failed to instantiate entity: " + entityClass.getSimpleName(), e);
+		}
+	}
+
+	/**
+	 * Creates a shallow copy of an entity. Mapped column types are immutable, so
+	 * the copy shares no mutable state with the original.
+	 *
+	 * @param entity The entity to copy
+	 * @return A new instance with the same column values
+	 */
+	public T copy(T entity) {
+		T copy = newInstance();
+		for (ColumnMapping column : columns) {
+			column.set(copy, column.get(entity));
+		}
+		return copy;
+	}
+
+	/**
+	 * @return Whether a compile-time generated mapper is in use for this entity
+	 */
+	public boolean hasGeneratedMapper() {
+		return generatedMapper != null;
+	}
+
+	public Class<T> getEntityClass() {
+		return entityClass;
+	}
+
+	public String getTableName() {
+		return tableName;
+	}
+
+	/**
+	 * @return Whether lookups by code should be cached, from {@link Table#cached()}
+	 */
+	public boolean isCached() {
+		return table.cached();
+	}
+
+	public int getCacheSize() {
+		return table.cacheSize();
+	}
+
+	public long getCacheTtlSeconds() {
+		return table.cacheTtlSeconds();
+	}
+
+	/**
+	 * @return The column mappings in SELECT order
+	 */
+	public List<ColumnMapping> getColumns() {
+		return List.of(columns);
+	}
+
+	/**
+	 * Looks up a column mapping by column name.
+	 *
+	 * @param columnName The database column name
+	 * @return The mapping, or {@code null} if the entity has no such column
+	 */
+	public ColumnMapping getColumn(String columnName) {
+		return columnsByName.get(columnName);
+	}
+
+	/**
+	 * @return The id sequence of the table, named {@code sq_} followed by the
+	 *         table name without its {@code tb_} prefix
+	 */
+	public String getSequenceName() {
+		return "sq_" + tableName.substring(3);
+	}
+
+	public String getSelectSql() {
+		return selectSql;
+	}
+
+	/**
+	 * Returns the insert statement, whose first parameter is the id, allocated
+	 * in blocks by a {@link SequenceIdAllocator} rather than taken from the
+	 * sequence by the statement. The other parameters follow, as bound by
+	 * {@link #bindRegisterParameters(PreparedStatement, int, Object)} with an
+	 * offset of 1.
+	 *
+	 * @return The insert statement
+	 */
+	public String getRegisterSql() {
+		return registerSql;
+	}
+
+	public String getUpdateSql() {
+		return updateSql;
+	}
+
+	public String getDeleteSql() {
+		return deleteSql;
+	}
+
+	/**
+	 * Returns the register statement extended with
+	 * {@code ON CONFLICT (code) DO UPDATE}, which overwrites every column but
+	 * the id when the code already exists. It takes the same parameters as
+	 * {@link #getRegisterSql()}.
+	 *
+	 * @return The upsert statement
+	 */
+	public String getUpsertSql() {
+		return upsertSql;
+	}
+
+	/**
+	 * @return The select query for several codes, bound as a single array
+	 *         parameter
+	 */
+	public String getSelectByCodesSql() {
+		return selectByCodesSql;
+	}
+
+	/**
+	 * @return The number of parameters bound per row by
+	 *         {@link #bindRegisterParameters(PreparedStatement, int, Object)}
+	 */
+	public int getRegisterParameterCount() {
+		int count = 0;
+		for (ColumnMapping column : columns) {
+			if (!isIdColumn(column) && !column.isVersion()) {
+				count++;
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * Returns an INSERT statement with {@code rows} VALUES tuples, so several
+	 * entities are inserted by a single statement. Each tuple starts with the id,
+	 * like {@link #getRegisterSql()}. Statements are cached per row count.
+	 *
+	 * @param rows Number of rows
+	 * @return The multi-row insert statement
+	 */
+	public String getMultiRowRegisterSql(int rows) {
+		return multiRowRegisterSql.computeIfAbsent(rows, count -> {
+			int valuesStart = registerSql.indexOf(" VALUES ") + " VALUES ".length();
+			String tuple = registerSql.substring(valuesStart);
+			StringBuilder sql = new StringBuilder(registerSql.substring(0, valuesStart)).append(tuple);
+			for (int i = 1; i < count; i++) {
+				sql.append(", ").append(tuple);
+			}
+			return sql.toString();
+		});
+	}
+
+	/**
+	 * Returns a keyset pagination query ordered by the sort column with the id as
+	 * tie-breaker, or by id alone. The last parameter is the row limit. Queries
+	 * are cached per sort column and kind of key.
+	 *
+	 * <p>
+	 * Rows whose sort value is null come last, ordered by id, which is also the
+	 * default order of a plain index on the column. A key with a sort value
+	 * seeks past it within the rows that have one only, so the query stays an
+	 * index range scan; the caller goes on with {@link #getNullTailSql} once
+	 * that range runs out. A key without one seeks within the null rows by id.
+	 * </p>
+	 *
+	 * @param sortColumn The sort column, or {@code null} to order by id
+	 * @param after      The key the page starts after, or {@code null} for the
+	 *                   first page; adds the sort value (if not null) and id
+	 *                   parameters
+	 * @return The page query
+	 */
+	public String getPageSql(ColumnMapping sortColumn, PageKey after) {
+		String sortName = sortColumn == null || isIdColumn(sortColumn) ? null : sortColumn.getColumnName();
+		String keyKind = after == null ? ":first" : after.getSortValue() == null ? ":afterNull" : ":after";
+		return pageSql.computeIfAbsent(sortName + keyKind, key -> {
+			StringBuilder sql = new StringBuilder(selectSql);
+			if (sortName == null) {
+				if (after != null) {
+					sql.append(" WHERE id > ?");
+				}
+				sql.append(" ORDER BY id");
+			} else {
+				if (after == null) {
+					sql.append(" ORDER BY ").append(sortName).append(" NULLS LAST, id");
+				} else if (after.getSortValue() != null) {
+					sql.append(" WHERE (").append(sortName).append(", id) > (?, ?) ORDER BY ").append(sortName)
+							.append(", id");
+				} else {
+					sql.append(" WHERE ").append(sortName).append(" IS NULL AND id > ? ORDER BY id");
+				}
+			}
+			return sql.append(" LIMIT ?").toString();
+		});
+	}
+
+	/**
+	 * Returns the query for the first rows whose sort value is null, ordered by
+	 * id, which follow the last row with a sort value in the order of
+	 * {@link #getPageSql}. The only parameter is the row limit.
+	 *
+	 * @param sortColumn The sort column, other than the id
+	 * @return The query
+	 */
+	public String getNullTailSql(ColumnMapping sortColumn) {
+		String sortName = sortColumn.getColumnName();
+		return pageSql.computeIfAbsent(sortName + ":nullTail",
+				key -> selectSql + " WHERE " + sortName + " IS NULL ORDER BY id LIMIT ?");
+	}
+
+	/**
+	 * Returns an {@code UPDATE} that writes only the given columns, cached per
+	 * column list.
+	 *
+	 * @param updatedColumns The columns to write, without id and code
+	 * @return The update statement, keyed by code
+	 */
+	public String getPartialUpdateSql(List<ColumnMapping> updatedColumns) {
+		List<String> names = new ArrayList<>(updatedColumns.size());
+		for (ColumnMapping column : updatedColumns) {
+			names.add(column.getColumnName());
+		}
+		return partialUpdateSql.computeIfAbsent(String.join(",", names), key -> buildUpdateSql(updatedColumns));
+	}
+
+	/**
+	 * @param column A column of this entity
+	 * @return Whether the column is the id, code or version, which updates never
+	 *         set from the entity
+	 */
+	boolean isManagedColumn(ColumnMapping column) {
+		return isIdColumn(column) || isCodeColumn(column) || column.isVersion();
+	}
+
+	private ColumnMapping getCodeColumn() {
+		ColumnMapping code = columnsByName.get("code");
+		if (code == null) {
+			throw new EntityMappingException("Entity class " + entityClass.getSimpleName() + " has no code column");
+		}
+		return code;
+	}
+
+	private static Table readTable(Class<?> entityClass) {
+		Table tableAnnotation = entityClass.getAnnotation(Table.class);
+		if (tableAnnotation == null) {
+			throw new EntityMappingException(
+					"Entity class " + entityClass.getSimpleName() + " missing @Table annotation");
+		}
+		return tableAnnotation;
+	}
+
+	/**
+	 * Loads the mapper generated for the entity, if the annotation processor ran.
+	 */
+	@SuppressWarnings("unchecked")
+	private static <T> GeneratedEntityMapper<T> findGeneratedMapper(Class<T> entityClass) {
+		try {
+			Class<?> mapperClass = Class.forName(entityClass.getName() + GeneratedEntityMapper.SUFFIX, true,
+					entityClass.getClassLoader());
+			return (GeneratedEntityMapper<T>) mapperClass.getDeclaredConstructor().newInstance();
+		} catch (ClassNotFoundException e) {
+			return null;
+		} catch (ReflectiveOperationException | ClassCastException e) {
+			throw new EntityMappingException("Invalid generated mapper for " + entityClass.getSimpleName(), e);
+		}
+	}
+
+	private static ColumnMapping[] readColumns(Class<?> entityClass, MethodHandles.Lookup lookup)
+			throws ReflectiveOperationException {
+		List<ColumnMapping> mappings = new ArrayList<>();
+		for (Field field : entityClass.getDeclaredFields()) {
+			Column column = field.getAnnotation(Column.class);
+			if (column != null) {
+				mappings.add(new ColumnMapping(column.value(), field.getName(), field.getType(), mappings.size() + 1,
+						field.isAnnotationPresent(Version.class), findGetter(entityClass, field, lookup),
+						findSetter(entityClass, field, lookup)));
+			}
+		}
+		return mappings.toArray(new ColumnMapping[0]);
+	}
+
+	private static ColumnMapping findVersionColumn(Class<?> entityClass, ColumnMapping[] columns) {
+		ColumnMapping version = null;
+		for (ColumnMapping column : columns) {
+			if (!column.isVersion()) {
+				continue;
+			}
+			if (version != null) {
+				throw new EntityMappingException("Entity class " + entityClass.getSimpleName()
+						+ " has more than one @Version column");
+			}
+			if (!column.getType().equals(Long.class) && !column.getType().equals(Integer.class)) {
+				throw new EntityMappingException("@Version column " + column.getColumnName() + " of "
+						+ entityClass.getSimpleName() + " must be a Long or Integer");
+			}
+			version = column;
+		}
+		return version;
+	}
+
+	/**
+	 * Prefers the public getter, falling back to direct field access for fields
+	 * such as {@code code} that are only exposed through {@code IPersistable}.
+	 */
+	private static MethodHandle findGetter(Class<?> entityClass, Field field, MethodHandles.Lookup lookup)
+			throws ReflectiveOperationException {
+		MethodHandle getter;
+		try {
+			getter = lookup.findVirtual(entityClass, "get" + capitalize(field.getName()),
+					MethodType.methodType(field.getType()));
+		} catch (NoSuchMethodException e) {
+			getter = lookup.unreflectGetter(field);
+		}
+		return getter.asType(MethodType.methodType(Object.class, Object.class));
+	}
+
+	private static MethodHandle findSetter(Class<?> entityClass, Field field, MethodHandles.Lookup lookup)
+			throws ReflectiveOperationException {
+		MethodHandle setter;
+		try {
+			setter = lookup.findVirtual(entityClass, "set" + capitalize(field.getName()),
+					MethodType.methodType(void.class, field.getType()));
+		} catch (NoSuchMethodException e) {
+			setter = lookup.unreflectSetter(field);
+		}
+		return setter.asType(MethodType.methodType(void.class, Object.class, Object.class));
+	}
+
+	private static String capitalize(String name) {
+		return Character.toUpperCase(name.charAt(0)) + name.substring(1);
+	}
+
+	private static boolean isIdColumn(ColumnMapping column) {
+		return "id".equalsIgnoreCase(column.getColumnName());
+	}
+
+	private static boolean isCodeColumn(ColumnMapping column) {
+		return "code".equalsIgnoreCase(column.getColumnName());
+	}
+
+	private String buildSelectSql() {
+		List<String> names = new ArrayList<>();
+		for (ColumnMapping column : columns) {
+			names.add(column.getColumnName());
+		}
+		return "SELECT " + String.join(", ", names) + " FROM " + tableName;
+	}
+
+	private String buildRegisterSql() {
+		StringBuilder sql = new StringBuilder();
+		sql.append("INSERT INTO ").append(tableName).append(" (id");
+		StringBuilder values = new StringBuilder();
+		values.append(") VALUES (?");
+
+		for (ColumnMapping column : columns) {
+			if (!isIdColumn(column)) {
+				sql.append(", ").append(column.getColumnName());
+				values.append(column.isVersion() ? ", 0" : ", ?");
+			}
+		}
+		return sql.append(values).append(")").toString();
+	}
+
+	private String buildUpsertSql() {
+		List<String> assignments = new ArrayList<>();
+		for (ColumnMapping column : columns) {
+			if (!isManagedColumn(column)) {
+				assignments.add(column.getColumnName() + " = EXCLUDED." + column.getColumnName());
+			}
+		}
+		if (versionColumn != null) {
+			String name = versionColumn.getColumnName();
+			assignments.add(name + " = " + tableName + "." + name + " + 1");
+		}
+		if (assignments.isEmpty()) {
+			return registerSql + " ON CONFLICT (code) DO NOTHING";
+		}
+		return registerSql + " ON CONFLICT (code) DO UPDATE SET " + String.join(", ", assignments);
+	}
+
+	private String buildUpdateSql() {
+		List<ColumnMapping> updatedColumns = new ArrayList<>();
+		for (ColumnMapping column : columns) {
+			if (!isManagedColumn(column)) {
+				updatedColumns.add(column);
+			}
+		}
+		return buildUpdateSql(updatedColumns);
+	}
+
+	private String buildUpdateSql(List<ColumnMapping> updatedColumns) {
+		List<String> assignments = new ArrayList<>();
+		for (ColumnMapping column : updatedColumns) {
+			assignments.add(column.getColumnName() + " = ?");
+		}
+		if (versionColumn != null) {
+			assignments.add(versionColumn.getColumnName() + " = " + versionColumn.getColumnName() + " + 1");
+		}
+		return "UPDATE " + tableName + " SET " + String.join(", ", assignments) + WHERECODE + versionCheck();
+	}
+
+	/**
+	 * Matches the expected version, which the binders require to be known.
+	 */
+	private String versionCheck() {
+		return versionColumn == null ? "" : " AND " + versionColumn.getColumnName() + " = ?";
+	}
+}
@@ -0,0 +1,67 @@
+package br.com.eaugusto.dao.generics;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Row mapper, SQL statements and parameter binders generated at compile time
+ * for an entity by
+ * {@link br.com.eaugusto.annotations.processing.EntityMapperProcessor}.
+ *
+ * <p>
+ * Implementations are named after the entity with the {@code EntityMapper}
+ * suffix (for example {@code ProductEntityMapper}) and live in the entity's
+ * package. {@link EntityMetadata} picks them up when present and falls back to
+ * reflection otherwise.
+ * </p>
+ *
+ * @param <T> Entity type
+ *
+ * @author Eduardo Augusto (github.com/AsrielDreemurrGM/)
+ * @since October 17, 2026
+ */
+public interface GeneratedEntityMapper<T> {
+
+	/**
+	 * Suffix appended to the entity class name to form the generated mapper name.
+	 */
+	public static final String SUFFIX = "EntityMapper";
+
+	/**
+	 * Maps the current row, read by column index, to a new entity.
+	 *
+	 * @param result The result set positioned on a row from
+	 *               {@link #getSelectSql()}
+	 * @return The mapped entity
+	 * @throws SQLException If a column cannot be read
+	 */
+	public T map(ResultSet result) throws SQLException;
+
+	public String getSelectSql();
+
+	public String getRegisterSql();
+
+	public String getUpdateSql();
+
+	/**
+	 * Binds the parameters of {@link #getRegisterSql()} that follow the id.
+	 *
+	 * @param statement The prepared statement
+	 * @param offset    Number of parameters before these, the id of this row
+	 *                  and every parameter of the rows before it in a multi-row
+	 *                  insert
+	 * @param entity    The entity to insert
+	 * @throws SQLException If a parameter cannot be set
+	 */
+	public void bindRegisterParameters(PreparedStatement statement, int offset, T entity) throws SQLException;
+
+	/**
+	 * Binds the parameters of {@link #getUpdateSql()}, with the entity code last.
+	 *
+	 * @param statement The prepared statement
+	 * @param entity    The entity to update
+	 * @throws SQLException If a parameter cannot be set
+	 */
+	public void bindUpdateParameters(PreparedStatement statement, T entity) throws SQLException;
+}
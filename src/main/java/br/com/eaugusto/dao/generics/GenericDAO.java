@@ -1,26 +1,49 @@
 package br.com.eaugusto.dao.generics;
 
-import java.lang.reflect.Field;
-import java.lang.reflect.Method;
+import java.sql.Array;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
-import java.time.LocalDate;
+import java.sql.Statement;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+import java.util.stream.Stream;
 
 import br.com.eaugusto.annotations.Column;
 import br.com.eaugusto.annotations.Table;
+import br.com.eaugusto.annotations.Version;
 import br.com.eaugusto.domain.IPersistable;
 import br.com.eaugusto.exceptions.DAOException;
 import br.com.eaugusto.exceptions.DAOParameterException;
 import br.com.eaugusto.exceptions.EntityMappingException;
+import br.com.eaugusto.exceptions.OptimisticLockException;
 import br.com.eaugusto.generic.jdbc.ConnectionFactory;
+import br.com.eaugusto.generic.jdbc.CursorQuery;
+import br.com.eaugusto.generic.jdbc.DatabaseExecutor;
+import br.com.eaugusto.generic.jdbc.QueryPublisher;
+import br.com.eaugusto.generic.jdbc.SequenceIdAllocator;
+import br.com.eaugusto.generic.jdbc.StatementPipeline;
+import br.com.eaugusto.generic.jdbc.TransactionManager;
+import br.com.eaugusto.generic.metrics.Instrumentation;
 
 /**
  * Generic DAO base class for common database operations using annotations and
- * reflection.
+ * precomputed mapping metadata.
  *
  * <p>
  * Automatically maps database rows to entity fields annotated with
@@ -29,9 +52,36 @@ import br.com.eaugusto.generic.jdbc.ConnectionFactory;
  *
  * <p>
  * This class automatically generates SQL statements for registering, selecting,
- * and updating entities based on annotations. Subclasses only need to provide
- * entity-specific parameter mappings and the entity class via
- * {@link #getEntityClass()}.
+ * and updating entities based on annotations, which are read once per entity
+ * class and cached in {@link EntityMetadata}. Parameters are bound by the
+ * mappers generated at compile time, falling back to reflection, so subclasses
+ * only need to provide the entity class via {@link #getEntityClass()}.
+ * </p>
+ *
+ * <p>
+ * Entities marked with {@link Table#cached()} are looked up through an
+ * {@link EntityCache}; writes made through this DAO evict the written codes,
+ * and updates and deletes notify the other nodes through
+ * {@link CacheInvalidationListener}.
+ * </p>
+ *
+ * <p>
+ * Every operation joins the {@link TransactionManager} transaction active on
+ * the calling thread, if any; the cache is bypassed inside transactions.
+ * </p>
+ *
+ * <p>
+ * Entities with a {@link Version} column are written with optimistic locking:
+ * updates and deletes only match the row if its version is still the one the
+ * entity was read with, and throw {@link OptimisticLockException} otherwise.
+ * The entity's version follows the database once the write commits.
+ * </p>
+ *
+ * <p>
+ * Operations are reported to the installed {@link Instrumentation}, if any,
+ * with the simple name of the entity class and the name of the method.
+ * Methods that only queue work or read lazily, such as the pipelined writes,
+ * streams and publishers, are not reported.
  * </p>
  *
  * @param <T> Entity type extending {@link IPersistable}
@@ -44,98 +94,287 @@ public abstract class GenericDAO<T extends IPersistable> implements IGenericDAO<
 	private static final String WHERECODE = " WHERE code = ?";
 
 	/**
-	 * Retrieves the database table name from the {@link Table} annotation.
+	 * Default number of entities sent per JDBC batch.
+	 */
+	public static final int DEFAULT_BATCH_SIZE = 500;
+
+	/**
+	 * PostgreSQL limit on bind parameters in a single statement.
+	 */
+	private static final int MAX_STATEMENT_PARAMETERS = 65_535;
+
+	/**
+	 * Number of codes sent per {@code ANY(?)} query by
+	 * {@link #searchByCodes(Collection)}.
+	 */
+	private static final int CODES_PER_QUERY = 1_000;
+
+	private EntityMetadata<T> metadata;
+	private volatile EntityCache<T> cache;
+	private volatile boolean cacheResolved;
+	private volatile CoalescingLoader<T> coalescingLoader;
+	private int batchSize = DEFAULT_BATCH_SIZE;
+	private int fetchSize = CursorQuery.DEFAULT_FETCH_SIZE;
+	private boolean multiRowInserts;
+	private volatile Executor asyncExecutor;
+
+	/**
+	 * Returns the cached mapping metadata of the entity class, resolving it on
+	 * first use.
 	 *
-	 * @return The table name
-	 * @throws RuntimeException If the entity class lacks the {@link Table}
-	 *                          annotation
+	 * @return The entity metadata
+	 * @throws EntityMappingException If the entity class lacks the {@link Table}
+	 *                                annotation or cannot be mapped
 	 */
-	private final String getTableName() {
-		Table tableAnnotation = getEntityClass().getAnnotation(Table.class);
-		if (tableAnnotation == null) {
-			throw new EntityMappingException(
-					"Entity class " + getEntityClass().getSimpleName() + " missing @Table annotation");
+	protected final EntityMetadata<T> getMetadata() {
+		EntityMetadata<T> current = metadata;
+		if (current == null) {
+			current = EntityMetadata.of(getEntityClass());
+			metadata = current;
+		}
+		return current;
+	}
+
+	/**
+	 * Returns the read-through cache used by {@link #search(String)}, created on
+	 * first use for entities marked with {@link Table#cached()}.
+	 *
+	 * @return The cache, or {@code null} if the entity is not cached
+	 */
+	public final EntityCache<T> getCache() {
+		if (!cacheResolved) {
+			synchronized (this) {
+				if (!cacheResolved) {
+					EntityMetadata<T> entityMetadata = getMetadata();
+					if (entityMetadata.isCached()) {
+						cache = EntityCache.of(entityMetadata);
+						CacheInvalidationListener.register(cache);
+					}
+					cacheResolved = true;
+				}
+			}
+		}
+		return cache;
+	}
+
+	/**
+	 * Removes an entity from the cache after it was written, if caching is
+	 * enabled.
+	 *
+	 * @param code The code of the written entity
+	 */
+	protected final void invalidate(String code) {
+		if (code == null) {
+			return;
+		}
+		EntityCache<T> entityCache = getCache();
+		if (entityCache != null) {
+			entityCache.invalidate(code);
+			if (TransactionManager.isActive()) {
+				// Other threads may cache the old row again until the commit
+				TransactionManager.afterCommit(() -> entityCache.invalidate(code));
+			}
+		}
+		CoalescingLoader<T> loader = coalescingLoader;
+		if (loader != null) {
+			loader.forget(code);
+		}
+	}
+
+	/**
+	 * Publishes invalidations for the written entities to the other nodes, on the
+	 * connection used for the write.
+	 */
+	private void publishInvalidations(Connection connection, Collection<T> entities) throws SQLException {
+		if (getCache() == null || !CacheInvalidationListener.isPublishing()) {
+			return;
+		}
+		List<String> codes = new ArrayList<>(entities.size());
+		for (T entity : entities) {
+			if (entity.getEntityCode() != null) {
+				codes.add(entity.getEntityCode());
+			}
+		}
+		CacheInvalidationListener.publish(connection, getMetadata().getTableName(), codes);
+	}
+
+	private void invalidateAll(Collection<T> entities) {
+		if (getCache() == null && coalescingLoader == null) {
+			return;
+		}
+		for (T entity : entities) {
+			invalidate(entity.getEntityCode());
 		}
-		return tableAnnotation.value();
 	}
 
 	/**
-	 * Maps a {@link ResultSet} row to an entity using reflection and annotations.
+	 * Maps a {@link ResultSet} row to an entity using the precomputed
+	 * {@link EntityMetadata}.
 	 * 
 	 * <p>
 	 * Fields must be annotated with {@link Column} to be mapped automatically.
+	 * Columns are read by index, so the row must come from {@link #getSelectSql()}.
 	 * </p>
 	 * 
 	 * @param result The result set containing the row data
 	 * @return The mapped entity
-	 * @throws Exception If a reflection or SQL error occurs during mapping
+	 * @throws EntityMappingException If a SQL or mapping error occurs
 	 */
 	protected final T mapResult(ResultSet result) {
-		try {
-			T entity = getEntityClass().getDeclaredConstructor().newInstance();
-
-			for (Field field : getEntityClass().getDeclaredFields()) {
-				Column columnAnnotation = field.getAnnotation(Column.class);
-				if (columnAnnotation != null) {
-					String columnName = columnAnnotation.value();
-					Object value = null;
-					Class<?> type = field.getType();
-
-					if (type.equals(Long.class)) {
-						value = result.getLong(columnName);
-					} else if (type.equals(String.class)) {
-						value = result.getString(columnName);
-					} else if (type.equals(Double.class)) {
-						value = result.getDouble(columnName);
-					} else if (type.equals(Integer.class)) {
-						value = result.getInt(columnName);
-					} else if (type.equals(LocalDate.class)) {
-						java.sql.Date sqlDate = result.getDate(columnName);
-						value = sqlDate != null ? sqlDate.toLocalDate() : null;
-					} else {
-						throw new EntityMappingException("Unsupported field type: " + type.getName());
-					}
-
-					String setterName = "set" + Character.toUpperCase(field.getName().charAt(0))
-							+ field.getName().substring(1);
-
-					Method setter = getEntityClass().getMethod(setterName, type);
-					setter.invoke(entity, value);
-				}
-			}
-
-			return entity;
-		} catch (Exception e) {
-			throw new EntityMappingException("Failed to map entity: " + getEntityClass().getSimpleName(), e);
-		}
+		return getMetadata().map(result);
 	}
 
 	/**
 	 * Sets the parameters for updating an entity in the database.
 	 * 
+	 * <p>
+	 * Uses the binder generated for the entity at compile time when available,
+	 * or the reflective binder from {@link EntityMetadata} otherwise. Subclasses
+	 * may override it to customize the binding.
+	 * </p>
+	 * 
 	 * @param statement The prepared statement to set parameters on
 	 * @param entity    The entity with updated data
-	 * @throws Exception If an error occurs while setting parameters
+	 * @throws DAOParameterException If an error occurs while setting parameters
 	 */
-	protected abstract void setUpdateParameters(PreparedStatement statement, T entity) throws DAOParameterException;
+	protected void setUpdateParameters(PreparedStatement statement, T entity) throws DAOParameterException {
+		try {
+			getMetadata().bindUpdateParameters(statement, entity);
+		} catch (SQLException e) {
+			throw new DAOParameterException(
+					"Error setting update parameters for " + getEntityClass().getSimpleName() + ".", e);
+		}
+	}
 
 	@Override
 	public Integer register(T entity) {
-		String sql = getRegisterSql();
+		return observe("register", Integer::intValue, () -> {
+			String sql = getRegisterSql();
+
+			try (Connection connection = ConnectionFactory.getConnection();
+					PreparedStatement statement = prepareReturningKeys(connection, sql)) {
+
+				setRegisterParameters(statement, entity);
+
+				int registered = statement.executeUpdate();
+				GeneratedKeys keys = new GeneratedKeys();
+				readGeneratedKeys(statement, keys);
+				applyGeneratedKeys(List.of(entity), keys);
+				return registered;
+			} catch (SQLException e) {
+				throw new DAOException("Error registering " + getEntityClass().getSimpleName(), e);
+			} finally {
+				invalidate(entity.getEntityCode());
+			}
+		});
+	}
+
+	@Override
+	public T search(String code) {
+		return observe("search", entity -> 1, () -> {
+			if (TransactionManager.isActive()) {
+				// Must see the transaction's own writes, which others must not see
+				return load(code);
+			}
+			EntityCache<T> entityCache = getCache();
+			if (entityCache == null) {
+				return loadCoalesced(code);
+			}
+			T cached = entityCache.get(code);
+			if (cached != null) {
+				return cached;
+			}
+			long stamp = entityCache.stamp();
+			T loaded = loadCoalesced(code);
+			if (loaded != null) {
+				entityCache.put(code, loaded, stamp);
+			}
+			return loaded;
+		});
+	}
+
+	/**
+	 * Loads an entity through the coalescing loader when enabled. Coalesced
+	 * callers share one loaded instance, so each gets its own copy.
+	 */
+	private T loadCoalesced(String code) {
+		CoalescingLoader<T> loader = coalescingLoader;
+		if (loader == null) {
+			return load(code);
+		}
+		T loaded = loader.load(code);
+		return loaded == null ? null : getMetadata().copy(loaded);
+	}
+
+	@Override
+	public Map<String, T> searchByCodes(Collection<String> codes) {
+		return observe("searchByCodes", Map::size, () -> {
+			Set<String> distinctCodes = new LinkedHashSet<>(codes);
+			distinctCodes.remove(null);
+
+			EntityCache<T> entityCache = TransactionManager.isActive() ? null : getCache();
+			Map<String, T> found = new HashMap<>();
+			List<String> missing = new ArrayList<>(distinctCodes.size());
+			for (String code : distinctCodes) {
+				T cached = entityCache == null ? null : entityCache.get(code);
+				if (cached != null) {
+					found.put(code, cached);
+				} else {
+					missing.add(code);
+				}
+			}
+
+			long stamp = entityCache == null ? 0 : entityCache.stamp();
+			for (int start = 0; start < missing.size(); start += CODES_PER_QUERY) {
+				List<String> chunk = missing.subList(start, Math.min(start + CODES_PER_QUERY, missing.size()));
+				Map<String, T> loaded = loadByCodes(chunk);
+				if (entityCache != null) {
+					loaded.forEach((code, entity) -> entityCache.put(code, entity, stamp));
+				}
+				found.putAll(loaded);
+			}
+
+			Map<String, T> entities = new LinkedHashMap<>();
+			for (String code : distinctCodes) {
+				T entity = found.get(code);
+				if (entity != null) {
+					entities.put(code, entity);
+				}
+			}
+			return entities;
+		});
+	}
+
+	/**
+	 * Loads the entities with the given codes in one round trip, bypassing the
+	 * cache.
+	 */
+	private Map<String, T> loadByCodes(Collection<String> codes) {
+		String sql = getMetadata().getSelectByCodesSql();
 
 		try (Connection connection = ConnectionFactory.getConnection();
 				PreparedStatement statement = connection.prepareStatement(sql)) {
 
-			setRegisterParameters(statement, entity);
-
-			return statement.executeUpdate();
+			Array codeArray = connection.createArrayOf("varchar", codes.toArray());
+			try {
+				statement.setArray(1, codeArray);
+				Map<String, T> entities = new HashMap<>();
+				try (ResultSet result = statement.executeQuery()) {
+					while (result.next()) {
+						T entity = mapResult(result);
+						entities.put(entity.getEntityCode(), entity);
+					}
+				}
+				return entities;
+			} finally {
+				codeArray.free();
+			}
 		} catch (SQLException e) {
-			throw new DAOException("Error registering " + getEntityClass().getSimpleName(), e);
+			throw new DAOException("Error searching entities by codes: " + getEntityClass().getSimpleName(), e);
 		}
 	}
 
-	@Override
-	public T search(String code) {
+	private T load(String code) {
 		String sql = getSelectSql() + WHERECODE;
 
 		try (Connection connection = ConnectionFactory.getConnection();
@@ -155,133 +394,841 @@ public abstract class GenericDAO<T extends IPersistable> implements IGenericDAO<
 
 	@Override
 	public Integer delete(T entity) {
-		String sql = "DELETE FROM " + getTableName() + WHERECODE;
+		return observe("delete", Integer::intValue, () -> {
+			String sql = getMetadata().getDeleteSql();
 
-		try (Connection connection = ConnectionFactory.getConnection();
-				PreparedStatement statement = connection.prepareStatement(sql)) {
+			try (Connection connection = ConnectionFactory.getConnection();
+					PreparedStatement statement = connection.prepareStatement(sql)) {
 
-			statement.setString(1, entity.getEntityCode());
+				getMetadata().bindDeleteParameters(statement, entity);
 
-			return statement.executeUpdate();
-		} catch (SQLException e) {
-			throw new DAOException("Error deleting entity: " + getEntityClass().getSimpleName(), e);
-		}
+				int deleted = statement.executeUpdate();
+				checkVersion(entity, deleted);
+				publishInvalidations(connection, List.of(entity));
+				return deleted;
+			} catch (SQLException e) {
+				throw new DAOException("Error deleting entity: " + getEntityClass().getSimpleName(), e);
+			} finally {
+				invalidate(entity.getEntityCode());
+			}
+		});
 	}
 
 	@Override
 	public List<T> searchAll() {
-		String sql = getSelectSql();
+		return observe("searchAll", List::size, () -> {
+			String sql = getSelectSql();
 
-		try (Connection connection = ConnectionFactory.getConnection();
-				PreparedStatement statement = connection.prepareStatement(sql);
-				ResultSet result = statement.executeQuery()) {
+			try (Connection connection = ConnectionFactory.getConnection();
+					PreparedStatement statement = connection.prepareStatement(sql);
+					ResultSet result = statement.executeQuery()) {
+
+				List<T> entities = new ArrayList<>();
+				while (result.next()) {
+					entities.add(mapResult(result));
+				}
+				return entities;
+			} catch (SQLException e) {
+				throw new DAOException("Error retrieving all entities: " + getEntityClass().getSimpleName(), e);
+			}
+		});
+	}
+
+	@Override
+	public Stream<T> streamAll() {
+		return CursorQuery.stream(getSelectSql(), CursorQuery.ParameterBinder.NONE, this::mapResult, fetchSize);
+	}
 
-			List<T> entities = new ArrayList<>();
+	@Override
+	public void forEach(Consumer<? super T> action) {
+		observe("forEach", Integer::intValue, () -> {
+			int rows = 0;
+			try (Stream<T> entities = streamAll()) {
+				Iterator<T> iterator = entities.iterator();
+				while (iterator.hasNext()) {
+					action.accept(iterator.next());
+					rows++;
+				}
+			}
+			return rows;
+		});
+	}
+
+	@Override
+	public Flow.Publisher<T> publishAll() {
+		return new QueryPublisher<>(getSelectSql(), CursorQuery.ParameterBinder.NONE, this::mapResult, fetchSize,
+				getPublishExecutor());
+	}
+
+	@Override
+	public Page<T> searchPage(PageKey after, int limit) {
+		return searchPage(null, after, limit);
+	}
+
+	@Override
+	public Page<T> searchPage(String sortColumn, PageKey after, int limit) {
+		return observe("searchPage", page -> page.getItems().size(), () -> {
+			if (limit < 1) {
+				throw new IllegalArgumentException("Page limit must be greater than zero");
+			}
+			EntityMetadata<T> entityMetadata = getMetadata();
+			ColumnMapping sort = null;
+			if (sortColumn != null && !"id".equalsIgnoreCase(sortColumn)) {
+				sort = entityMetadata.getColumn(sortColumn);
+				if (sort == null) {
+					throw new DAOParameterException(
+							"Unknown sort column for " + getEntityClass().getSimpleName() + ": " + sortColumn);
+				}
+			}
+			String sql = entityMetadata.getPageSql(sort, after);
+
+			try (Connection connection = ConnectionFactory.getConnection()) {
+				List<T> entities = new ArrayList<>(limit + 1);
+				try (PreparedStatement statement = connection.prepareStatement(sql)) {
+					int index = 1;
+					if (after != null) {
+						if (sort != null && after.getSortValue() != null) {
+							sort.bindValue(statement, index++, after.getSortValue());
+						}
+						statement.setLong(index++, after.getId());
+					}
+					statement.setInt(index, limit + 1);
+					readPageRows(statement, entities);
+				}
+
+				// A key with a sort value reads only the rows that have one, so
+				// the rows without one are read next as a range of their own
+				if (sort != null && after != null && after.getSortValue() != null && entities.size() <= limit) {
+					try (PreparedStatement statement = connection
+							.prepareStatement(entityMetadata.getNullTailSql(sort))) {
+						statement.setInt(1, limit + 1 - entities.size());
+						readPageRows(statement, entities);
+					}
+				}
+
+				PageKey nextKey = null;
+				if (entities.size() > limit) {
+					entities.remove(limit);
+					T last = entities.get(limit - 1);
+					Long lastId = (Long) entityMetadata.getColumn("id").get(last);
+					nextKey = sort == null ? PageKey.afterId(lastId) : PageKey.after(sort.get(last), lastId);
+				}
+				return new Page<>(entities, nextKey);
+			} catch (SQLException e) {
+				throw new DAOException("Error searching page of entities: " + getEntityClass().getSimpleName(), e);
+			}
+		});
+	}
+
+	private void readPageRows(PreparedStatement statement, List<T> entities) throws SQLException {
+		try (ResultSet result = statement.executeQuery()) {
 			while (result.next()) {
 				entities.add(mapResult(result));
 			}
-			return entities;
-		} catch (SQLException e) {
-			throw new DAOException("Error retrieving all entities: " + getEntityClass().getSimpleName(), e);
 		}
 	}
 
 	@Override
 	public Integer update(T entity) {
-		String sql = getUpdateSql();
+		return observe("update", Integer::intValue, () -> {
+			String sql = getUpdateSql();
 
-		try (Connection connection = ConnectionFactory.getConnection();
-				PreparedStatement statement = connection.prepareStatement(sql)) {
+			try (Connection connection = ConnectionFactory.getConnection();
+					PreparedStatement statement = connection.prepareStatement(sql)) {
 
-			setUpdateParameters(statement, entity);
-			return statement.executeUpdate();
-		} catch (SQLException e) {
-			throw new DAOException("Error updating entity: " + getEntityClass().getSimpleName(), e);
-		}
+				setUpdateParameters(statement, entity);
+				int updated = statement.executeUpdate();
+				checkVersion(entity, updated);
+				publishInvalidations(connection, List.of(entity));
+				afterWrite(List.of(entity), BatchKind.UPDATE);
+				return updated;
+			} catch (SQLException e) {
+				throw new DAOException("Error updating entity: " + getEntityClass().getSimpleName(), e);
+			} finally {
+				invalidate(entity.getEntityCode());
+			}
+		});
 	}
 
-	protected abstract Class<T> getEntityClass();
+	@Override
+	public Integer update(T entity, Set<String> columns) {
+		return observe("updateColumns", Integer::intValue, () -> {
+			List<ColumnMapping> updatedColumns = resolveUpdatedColumns(columns);
+			if (updatedColumns.isEmpty()) {
+				return 0;
+			}
+			EntityMetadata<T> entityMetadata = getMetadata();
+			String sql = entityMetadata.getPartialUpdateSql(updatedColumns);
+
+			try (Connection connection = ConnectionFactory.getConnection();
+					PreparedStatement statement = connection.prepareStatement(sql)) {
+
+				entityMetadata.bindPartialUpdateParameters(statement, updatedColumns, entity);
+				int updated = statement.executeUpdate();
+				checkVersion(entity, updated);
+				publishInvalidations(connection, List.of(entity));
+				afterWrite(List.of(entity), BatchKind.UPDATE);
+				return updated;
+			} catch (SQLException e) {
+				throw new DAOException("Error updating entity: " + getEntityClass().getSimpleName(), e);
+			} finally {
+				invalidate(entity.getEntityCode());
+			}
+		});
+	}
+
+	@Override
+	public T updateWithRetry(String code, Consumer<? super T> change, int maxAttempts) {
+		return observe("updateWithRetry", entity -> 1, () -> {
+			if (maxAttempts < 1) {
+				throw new IllegalArgumentException("Maximum attempts must be greater than zero");
+			}
+			for (int attempt = 1;; attempt++) {
+				// Bypasses the cache, which may still hold the conflicting version
+				T entity = load(code);
+				if (entity == null) {
+					return null;
+				}
+				change.accept(entity);
+				try {
+					update(entity);
+					return entity;
+				} catch (OptimisticLockException e) {
+					if (attempt >= maxAttempts) {
+						throw e;
+					}
+					backOff(attempt);
+				}
+			}
+		});
+	}
 
 	/**
-	 * Generates the SQL statement for updating an entity based on its annotated
-	 * fields.
-	 *
-	 * @return The SQL update statement.
+	 * Waits a random time that grows with the attempt, so writers that
+	 * conflicted do not collide again on their next attempt.
 	 */
-	protected String getUpdateSql() {
-		StringBuilder sql = new StringBuilder();
-		sql.append("UPDATE ").append(getTableName()).append(" SET ");
+	private static void backOff(int attempt) {
+		long maxMillis = Math.min(1L << attempt, 100);
+		try {
+			Thread.sleep(ThreadLocalRandom.current().nextLong(maxMillis + 1));
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new DAOException("Interrupted while retrying update", e);
+		}
+	}
+
+	/**
+	 * Resolves column names to mappings in declaration order, so the same set
+	 * always produces the same cached statement.
+	 */
+	private List<ColumnMapping> resolveUpdatedColumns(Set<String> columns) {
+		EntityMetadata<T> entityMetadata = getMetadata();
+		for (String column : columns) {
+			ColumnMapping mapping = entityMetadata.getColumn(column);
+			if (mapping == null) {
+				throw new DAOParameterException(
+						"Unknown column for " + getEntityClass().getSimpleName() + ": " + column);
+			}
+			if (entityMetadata.isManagedColumn(mapping)) {
+				throw new DAOParameterException("Column " + column + " cannot be updated");
+			}
+		}
+		List<ColumnMapping> updatedColumns = new ArrayList<>(columns.size());
+		for (ColumnMapping mapping : entityMetadata.getColumns()) {
+			if (columns.contains(mapping.getColumnName())) {
+				updatedColumns.add(mapping);
+			}
+		}
+		return updatedColumns;
+	}
+
+	@Override
+	public Integer upsert(T entity) {
+		return observe("upsert", Integer::intValue, () -> {
+			try (Connection connection = ConnectionFactory.getConnection();
+					PreparedStatement statement = prepareReturningKeys(connection, getMetadata().getUpsertSql())) {
+
+				setRegisterParameters(statement, entity);
+				int upserted = statement.executeUpdate();
+				GeneratedKeys keys = new GeneratedKeys();
+				readGeneratedKeys(statement, keys);
+				publishInvalidations(connection, List.of(entity));
+				applyGeneratedKeys(List.of(entity), keys);
+				return upserted;
+			} catch (SQLException e) {
+				throw new DAOException("Error upserting " + getEntityClass().getSimpleName(), e);
+			} finally {
+				invalidate(entity.getEntityCode());
+			}
+		});
+	}
 
-		List<String> columns = new ArrayList<>();
-		for (Field field : getEntityClass().getDeclaredFields()) {
-			Column column = field.getAnnotation(Column.class);
-			if (column != null && !"id".equalsIgnoreCase(column.value()) && !"code".equalsIgnoreCase(column.value())) {
-				columns.add(column.value() + " = ?");
+	@Override
+	public int[] registerAll(Collection<T> entities) {
+		return observe("registerAll", GenericDAO::countRows, () -> {
+			if (multiRowInserts) {
+				return registerAllMultiRow(entities);
 			}
+			return executeBatch(getRegisterSql(), entities, (statement, entity) -> {
+				statement.setLong(1, assignId(statement.getConnection(), entity));
+				getMetadata().bindRegisterParameters(statement, 1, entity);
+			}, BatchKind.INSERT, "Error registering " + getEntityClass().getSimpleName() + " batch");
+		});
+	}
+
+	@Override
+	public int[] updateAll(Collection<T> entities) {
+		return observe("updateAll", GenericDAO::countRows, () -> {
+			return executeBatch(getUpdateSql(), entities, this::setUpdateParameters, BatchKind.UPDATE,
+					"Error updating " + getEntityClass().getSimpleName() + " batch");
+		});
+	}
+
+	@Override
+	public int[] upsertAll(Collection<T> entities) {
+		return observe("upsertAll", GenericDAO::countRows, () -> {
+			return executeBatch(getMetadata().getUpsertSql(), entities, this::setRegisterParameters, BatchKind.UPSERT,
+					"Error upserting " + getEntityClass().getSimpleName() + " batch");
+		});
+	}
+
+	@Override
+	public int[] deleteAll(Collection<T> entities) {
+		return observe("deleteAll", GenericDAO::countRows, () -> {
+			return executeBatch(getMetadata().getDeleteSql(), entities, getMetadata()::bindDeleteParameters,
+					BatchKind.DELETE,
+					"Error deleting " + getEntityClass().getSimpleName() + " batch");
+		});
+	}
+
+	@Override
+	public StatementPipeline.Result<Integer> register(T entity, StatementPipeline pipeline) {
+		EntityMetadata<T> entityMetadata = getMetadata();
+		// The pipeline holds no connection yet, so the allocator may borrow one
+		long id = SequenceIdAllocator.forSequence(entityMetadata.getSequenceName()).next();
+		entityMetadata.getColumn("id").set(entity, id);
+		invalidate(entity.getEntityCode());
+		return pipeline.add(entityMetadata.getRegisterSql(), statement -> {
+			statement.setLong(1, id);
+			entityMetadata.bindRegisterParameters(statement, 1, entity);
+		}).afterCommit(() -> afterPipelinedWrite(entity, BatchKind.INSERT));
+	}
+
+	@Override
+	public StatementPipeline.Result<Integer> update(T entity, StatementPipeline pipeline) {
+		invalidate(entity.getEntityCode());
+		StatementPipeline.Result<Integer> result = pipeline.add(getUpdateSql(),
+				statement -> setUpdateParameters(statement, entity), rows -> checkVersion(entity, rows));
+		publishInvalidation(pipeline, entity);
+		return result.afterCommit(() -> afterPipelinedWrite(entity, BatchKind.UPDATE));
+	}
+
+	@Override
+	public StatementPipeline.Result<Integer> delete(T entity, StatementPipeline pipeline) {
+		invalidate(entity.getEntityCode());
+		StatementPipeline.Result<Integer> result = pipeline.add(getMetadata().getDeleteSql(),
+				statement -> getMetadata().bindDeleteParameters(statement, entity), rows -> checkVersion(entity, rows));
+		publishInvalidation(pipeline, entity);
+		return result.afterCommit(() -> afterPipelinedWrite(entity, BatchKind.DELETE));
+	}
+
+	/**
+	 * Queues the invalidation of a written entity for the other nodes on the
+	 * pipeline it was written with.
+	 */
+	private void publishInvalidation(StatementPipeline pipeline, T entity) {
+		if (getCache() != null && CacheInvalidationListener.isPublishing() && entity.getEntityCode() != null) {
+			CacheInvalidationListener.publish(pipeline, getMetadata().getTableName(), entity.getEntityCode());
 		}
+	}
+
+	private void afterPipelinedWrite(T entity, BatchKind kind) {
+		afterWrite(List.of(entity), kind);
+		invalidate(entity.getEntityCode());
+	}
+
+	@Override
+	public CompletableFuture<Integer> registerAsync(T entity) {
+		return async(() -> register(entity));
+	}
+
+	@Override
+	public CompletableFuture<T> searchAsync(String code) {
+		return async(() -> search(code));
+	}
 
-		sql.append(String.join(", ", columns)).append(WHERECODE);
-		return sql.toString();
+	@Override
+	public CompletableFuture<Map<String, T>> searchByCodesAsync(Collection<String> codes) {
+		return async(() -> searchByCodes(codes));
+	}
+
+	@Override
+	public CompletableFuture<List<T>> searchAllAsync() {
+		return async(this::searchAll);
+	}
+
+	@Override
+	public CompletableFuture<Integer> updateAsync(T entity) {
+		return async(() -> update(entity));
+	}
+
+	@Override
+	public CompletableFuture<Integer> upsertAsync(T entity) {
+		return async(() -> upsert(entity));
+	}
+
+	@Override
+	public CompletableFuture<Integer> deleteAsync(T entity) {
+		return async(() -> delete(entity));
 	}
 
 	/**
-	 * Generates the SQL statement for selecting entities based on annotated fields.
-	 *
-	 * @return The SQL select statement.
+	 * Runs an operation of this DAO, observed by the installed
+	 * {@link Instrumentation}, if any.
 	 */
-	protected String getSelectSql() {
-		StringBuilder sql = new StringBuilder();
-		sql.append("SELECT ");
+	private <R> R observe(String operation, ToIntFunction<? super R> rows, Supplier<R> work) {
+		return Instrumentation.observe(getEntityClass(), operation, rows, work);
+	}
+
+	/**
+	 * Counts the rows written by a batch; statements that succeeded without a
+	 * count are counted as one row.
+	 */
+	private static int countRows(int[] results) {
+		int rows = 0;
+		for (int result : results) {
+			rows += result == Statement.SUCCESS_NO_INFO ? 1 : Math.max(result, 0);
+		}
+		return rows;
+	}
+
+	private <R> CompletableFuture<R> async(Supplier<R> work) {
+		return CompletableFuture.supplyAsync(work, getAsyncExecutor());
+	}
+
+	private Executor getAsyncExecutor() {
+		Executor executor = asyncExecutor;
+		return executor != null ? executor : DatabaseExecutor.getDefault();
+	}
+
+	private Executor getPublishExecutor() {
+		Executor executor = asyncExecutor;
+		return executor != null ? executor : DatabaseExecutor.getBackground();
+	}
+
+	/**
+	 * Runs one statement for every entity with {@code addBatch}/{@code executeBatch},
+	 * flushing every {@link #getBatchSize()} entities, and commits once at the end.
+	 * Inserts take their ids from the {@link SequenceIdAllocator} of the table.
+	 * Changes to existing rows are checked against their versions and publish
+	 * cache invalidations in the same transaction.
+	 */
+	private int[] executeBatch(String sql, Collection<T> entities, EntityBinder<T> binder, BatchKind kind,
+			String errorMessage) {
+		int[] results = new int[entities.size()];
+		if (entities.isEmpty()) {
+			return results;
+		}
 
-		List<String> columns = new ArrayList<>();
-		for (Field field : getEntityClass().getDeclaredFields()) {
-			Column column = field.getAnnotation(Column.class);
-			if (column != null) {
-				columns.add(column.value());
+		try (Connection connection = ConnectionFactory.getConnection()) {
+			boolean autoCommit = connection.getAutoCommit();
+			connection.setAutoCommit(false);
+			try (PreparedStatement statement = kind == BatchKind.UPSERT ? prepareReturningKeys(connection, sql)
+					: connection.prepareStatement(sql)) {
+				GeneratedKeys keys = new GeneratedKeys();
+				int row = 0;
+				int pending = 0;
+				for (T entity : entities) {
+					binder.bind(statement, entity);
+					statement.addBatch();
+					if (++pending == batchSize) {
+						row = copyResults(statement.executeBatch(), results, row);
+						if (kind == BatchKind.UPSERT) {
+							readGeneratedKeys(statement, keys);
+						}
+						pending = 0;
+					}
+				}
+				if (pending > 0) {
+					copyResults(statement.executeBatch(), results, row);
+					if (kind == BatchKind.UPSERT) {
+						readGeneratedKeys(statement, keys);
+					}
+				}
+				if (kind == BatchKind.UPDATE || kind == BatchKind.DELETE) {
+					checkVersions(entities, results);
+				}
+				if (kind != BatchKind.INSERT) {
+					publishInvalidations(connection, entities);
+				}
+				connection.commit();
+				if (kind == BatchKind.UPSERT) {
+					applyGeneratedKeys(entities, keys);
+				} else {
+					afterWrite(entities, kind);
+				}
+				return results;
+			} catch (SQLException | RuntimeException e) {
+				connection.rollback();
+				throw e;
+			} finally {
+				connection.setAutoCommit(autoCommit);
 			}
+		} catch (SQLException e) {
+			throw new DAOException(errorMessage, e);
+		} finally {
+			invalidateAll(entities);
+		}
+	}
+
+	/**
+	 * Inserts entities with multi-row {@code INSERT ... VALUES (...), (...)}
+	 * statements, like the driver's {@code reWriteBatchedInserts} option. The
+	 * database only reports a total per statement, so each row gets {@code 1}
+	 * when the total matches, or {@link Statement#SUCCESS_NO_INFO} otherwise.
+	 */
+	private int[] registerAllMultiRow(Collection<T> entities) {
+		int[] results = new int[entities.size()];
+		if (entities.isEmpty()) {
+			return results;
 		}
 
-		sql.append(String.join(", ", columns)).append(" FROM ").append(getTableName());
-		return sql.toString();
+		EntityMetadata<T> entityMetadata = getMetadata();
+		int parametersPerRow = entityMetadata.getRegisterParameterCount() + 1;
+		int rowsPerStatement = Math.max(1, Math.min(batchSize, MAX_STATEMENT_PARAMETERS / parametersPerRow));
+
+		try (Connection connection = ConnectionFactory.getConnection()) {
+			boolean autoCommit = connection.getAutoCommit();
+			connection.setAutoCommit(false);
+			try {
+				Iterator<T> iterator = entities.iterator();
+				int row = 0;
+				while (row < results.length) {
+					int rows = Math.min(rowsPerStatement, results.length - row);
+					try (PreparedStatement statement = connection
+							.prepareStatement(entityMetadata.getMultiRowRegisterSql(rows))) {
+						for (int i = 0; i < rows; i++) {
+							T entity = iterator.next();
+							int offset = i * parametersPerRow;
+							statement.setLong(offset + 1, assignId(connection, entity));
+							entityMetadata.bindRegisterParameters(statement, offset + 1, entity);
+						}
+						int inserted = statement.executeUpdate();
+						int perRow = inserted == rows ? 1 : Statement.SUCCESS_NO_INFO;
+						for (int i = 0; i < rows; i++) {
+							results[row++] = perRow;
+						}
+					}
+				}
+				connection.commit();
+				afterWrite(entities, BatchKind.INSERT);
+				return results;
+			} catch (SQLException | RuntimeException e) {
+				connection.rollback();
+				throw e;
+			} finally {
+				connection.setAutoCommit(autoCommit);
+			}
+		} catch (SQLException e) {
+			throw new DAOException("Error registering " + getEntityClass().getSimpleName() + " batch", e);
+		} finally {
+			invalidateAll(entities);
+		}
+	}
+
+	private static int copyResults(int[] batchResults, int[] results, int offset) {
+		System.arraycopy(batchResults, 0, results, offset, batchResults.length);
+		return offset + batchResults.length;
 	}
 
 	/**
-	 * Generates the SQL statement for inserting a new entity based on its annotated
-	 * fields.
-	 *
-	 * @return The SQL insert statement.
+	 * Gives an entity a new id from the block allocator of its table, for
+	 * batched inserts, which read no ids back.
 	 */
-	protected String getRegisterSql() {
-		StringBuilder sql = new StringBuilder();
-		sql.append("INSERT INTO ").append(getTableName()).append(" (id");
+	private long assignId(Connection connection, T entity) {
+		long id = nextId(connection);
+		getMetadata().getColumn("id").set(entity, id);
+		return id;
+	}
+
+	/**
+	 * Takes a new id from the block allocator of the table, fetching a block on
+	 * the connection of the insert when needed.
+	 */
+	private long nextId(Connection connection) {
+		return SequenceIdAllocator.forSequence(getMetadata().getSequenceName()).next(connection);
+	}
+
+	/**
+	 * Prepares an insert or upsert that returns the id of each written row and,
+	 * for versioned entities, its version, which is only known to the database
+	 * when an upsert updates an existing row.
+	 */
+	private PreparedStatement prepareReturningKeys(Connection connection, String sql) throws SQLException {
+		ColumnMapping versionColumn = getMetadata().getVersionColumn();
+		String[] returned = versionColumn == null ? new String[] { "id" }
+				: new String[] { "id", versionColumn.getColumnName() };
+		return connection.prepareStatement(sql, returned);
+	}
 
-		List<String> columns = new ArrayList<>();
-		for (Field field : getEntityClass().getDeclaredFields()) {
-			Column column = field.getAnnotation(Column.class);
-			if (column != null && !"id".equalsIgnoreCase(column.value())) {
-				columns.add(column.value());
+	private void readGeneratedKeys(PreparedStatement statement, GeneratedKeys keys) throws SQLException {
+		boolean versioned = getMetadata().isVersioned();
+		try (ResultSet result = statement.getGeneratedKeys()) {
+			while (result.next()) {
+				keys.ids.add(result.getLong(1));
+				if (versioned) {
+					keys.versions.add(result.getLong(2));
+				}
 			}
 		}
+	}
 
-		for (String column : columns) {
-			sql.append(", ").append(column);
+	/**
+	 * Writes the returned ids back to the entities right away, so later writes
+	 * of the same transaction can reference them, and their versions once it
+	 * commits. If the driver did not return one row per entity, no id is
+	 * written and the versions are cleared, so later writes are rejected until
+	 * the entities are read again rather than checked against a wrong value.
+	 */
+	private void applyGeneratedKeys(Collection<T> entities, GeneratedKeys keys) {
+		EntityMetadata<T> entityMetadata = getMetadata();
+		boolean complete = keys.ids.size() == entities.size();
+		if (complete) {
+			ColumnMapping idColumn = entityMetadata.getColumn("id");
+			Iterator<Long> ids = keys.ids.iterator();
+			for (T entity : entities) {
+				idColumn.set(entity, ids.next());
+			}
+		}
+		if (!entityMetadata.isVersioned()) {
+			return;
+		}
+		TransactionManager.afterCommit(() -> {
+			Iterator<Long> versions = keys.versions.iterator();
+			for (T entity : entities) {
+				if (complete) {
+					entityMetadata.setVersion(entity, versions.next());
+				} else {
+					entityMetadata.getVersionColumn().set(entity, null);
+				}
+			}
+		});
+	}
+
+	/**
+	 * Fails a write that matched no row although the entity carries a version,
+	 * meaning the row was changed or deleted since the entity was read.
+	 */
+	private void checkVersion(T entity, int rows) {
+		if (rows == 0 && getMetadata().getVersion(entity) != null) {
+			throw new OptimisticLockException(getEntityClass().getSimpleName() + " with code "
+					+ entity.getEntityCode() + " was modified or deleted concurrently");
 		}
-		sql.append(") VALUES (nextval('sq_").append(getTableName().substring(3)).append("')");
+	}
 
-		for (int i = 0; i < columns.size(); i++) {
-			sql.append(", ?");
+	private void checkVersions(Collection<T> entities, int[] results) {
+		if (!getMetadata().isVersioned()) {
+			return;
+		}
+		int row = 0;
+		for (T entity : entities) {
+			checkVersion(entity, results[row++]);
+		}
+	}
+
+	/**
+	 * Brings the versions of written entities in line with the database once
+	 * the write commits, so a rolled back transaction leaves them untouched.
+	 */
+	private void afterWrite(Collection<T> entities, BatchKind kind) {
+		EntityMetadata<T> entityMetadata = getMetadata();
+		if (!entityMetadata.isVersioned() || kind == BatchKind.DELETE) {
+			return;
+		}
+		TransactionManager.afterCommit(() -> {
+			for (T entity : entities) {
+				if (kind == BatchKind.INSERT) {
+					entityMetadata.initVersion(entity);
+				} else {
+					entityMetadata.incrementVersion(entity);
+				}
+			}
+		});
+	}
+
+	/**
+	 * @return The number of entities sent per JDBC batch
+	 */
+	public int getBatchSize() {
+		return batchSize;
+	}
+
+	/**
+	 * Sets the number of entities sent per JDBC batch by the {@code *All}
+	 * methods.
+	 *
+	 * @param batchSize The chunk size, greater than zero
+	 */
+	public void setBatchSize(int batchSize) {
+		if (batchSize < 1) {
+			throw new IllegalArgumentException("Batch size must be greater than zero");
 		}
-		sql.append(")");
+		this.batchSize = batchSize;
+	}
+
+	/**
+	 * Sets how many rows {@link #streamAll()}, {@link #forEach(Consumer)} and
+	 * {@link #publishAll()} read from the cursor per round trip.
+	 *
+	 * @param fetchSize The fetch size, greater than zero
+	 */
+	public void setFetchSize(int fetchSize) {
+		if (fetchSize < 1) {
+			throw new IllegalArgumentException("Fetch size must be greater than zero");
+		}
+		this.fetchSize = fetchSize;
+	}
+
+	/**
+	 * Routes {@link #search(String)} through a {@link CoalescingLoader} with the
+	 * default window and batch size.
+	 *
+	 * @see #enableCoalescing(long, int)
+	 */
+	public void enableCoalescing() {
+		enableCoalescing(CoalescingLoader.DEFAULT_WINDOW_MICROS, CoalescingLoader.DEFAULT_MAX_BATCH_SIZE);
+	}
+
+	/**
+	 * Routes {@link #search(String)} through a {@link CoalescingLoader}, so
+	 * concurrent searches for the same code share one query and distinct codes
+	 * arriving within the window are loaded with one {@code ANY(?)} query. Worth
+	 * enabling for DAOs shared by many threads reading hot codes; a single caller
+	 * only pays the extra window.
+	 *
+	 * @param windowMicros Time the first search of a batch waits for more codes
+	 * @param maxBatchSize Maximum number of codes per query
+	 */
+	public void enableCoalescing(long windowMicros, int maxBatchSize) {
+		coalescingLoader = new CoalescingLoader<>(this::loadByCodes, windowMicros,
+				Math.min(maxBatchSize, CODES_PER_QUERY));
+	}
+
+	public void disableCoalescing() {
+		coalescingLoader = null;
+	}
+
+	/**
+	 * @return The coalescing loader with its latency and batch size histograms,
+	 *         or {@code null} if coalescing is disabled
+	 */
+	public CoalescingLoader<T> getCoalescingLoader() {
+		return coalescingLoader;
+	}
+
+	/**
+	 * Enables multi-row {@code INSERT ... VALUES} statements in
+	 * {@link #registerAll(Collection)} instead of one batched statement per
+	 * entity. Per-row results may then be {@link Statement#SUCCESS_NO_INFO}.
+	 *
+	 * @param multiRowInserts Whether to rewrite batched inserts
+	 */
+	public void setMultiRowInserts(boolean multiRowInserts) {
+		this.multiRowInserts = multiRowInserts;
+	}
 
-		return sql.toString();
+	/**
+	 * Sets the executor the {@code *Async} methods and {@link #publishAll()} run
+	 * on. It should bound the number of concurrent calls to the pool size, as
+	 * {@link DatabaseExecutor} does.
+	 *
+	 * @param asyncExecutor The executor, or {@code null} to use
+	 *                      {@link DatabaseExecutor#getDefault()}, and
+	 *                      {@link DatabaseExecutor#getBackground()} for
+	 *                      {@link #publishAll()}
+	 */
+	public void setAsyncExecutor(Executor asyncExecutor) {
+		this.asyncExecutor = asyncExecutor;
+	}
+
+	protected abstract Class<T> getEntityClass();
+
+	/**
+	 * Returns the SQL statement for updating an entity, generated once from its
+	 * annotated fields.
+	 *
+	 * @return The SQL update statement.
+	 */
+	protected String getUpdateSql() {
+		return getMetadata().getUpdateSql();
+	}
+
+	/**
+	 * Returns the SQL statement for selecting entities, generated once from their
+	 * annotated fields.
+	 *
+	 * @return The SQL select statement.
+	 */
+	protected String getSelectSql() {
+		return getMetadata().getSelectSql();
+	}
+
+	/**
+	 * Returns the SQL statement for inserting a new entity, generated once from
+	 * its annotated fields.
+	 *
+	 * @return The SQL insert statement.
+	 */
+	protected String getRegisterSql() {
+		return getMetadata().getRegisterSql();
 	}
 
 	/**
 	 * Sets the parameters for inserting an entity into the database.
 	 * 
+	 * <p>
+	 * Binds a new id from the table's {@link SequenceIdAllocator} first, then
+	 * the columns, with the binder generated for the entity at compile time
+	 * when available, or the reflective binder from {@link EntityMetadata}
+	 * otherwise. The id is read back by the insert, so it is only set on the
+	 * entity once the row is written. Subclasses may override it to customize
+	 * the binding.
+	 * </p>
+	 * 
 	 * @param statement The prepared statement to set parameters on
 	 * @param entity    The entity to insert
-	 * @throws Exception If an error occurs while setting parameters
+	 * @throws DAOParameterException If an error occurs while setting parameters
+	 */
+	protected void setRegisterParameters(PreparedStatement statement, T entity) throws DAOParameterException {
+		try {
+			statement.setLong(1, nextId(statement.getConnection()));
+			getMetadata().bindRegisterParameters(statement, 1, entity);
+		} catch (SQLException e) {
+			throw new DAOParameterException(
+					"Error setting register parameters for " + getEntityClass().getSimpleName() + ".", e);
+		}
+	}
+
+	/**
+	 * Ids and versions returned by inserts and upserts, in statement order.
+	 */
+	private static final class GeneratedKeys {
+		private final List<Long> ids = new ArrayList<>();
+		private final List<Long> versions = new ArrayList<>();
+	}
+
+	/**
+	 * Kind of write run by {@link #executeBatch}.
+	 */
+	private enum BatchKind {
+		INSERT, UPDATE, UPSERT, DELETE
+	}
+
+	/**
+	 * Binds the parameters of one entity in a batch.
 	 */
-	protected abstract void setRegisterParameters(PreparedStatement statement, T entity) throws DAOParameterException;
+	@FunctionalInterface
+	private interface EntityBinder<T> {
+		void bind(PreparedStatement statement, T entity) throws SQLException;
+	}
 }
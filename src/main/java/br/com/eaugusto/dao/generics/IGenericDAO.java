@@ -1,9 +1,19 @@
 package br.com.eaugusto.dao.generics;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 import br.com.eaugusto.domain.IPersistable;
 import br.com.eaugusto.exceptions.DAOException;
+import br.com.eaugusto.exceptions.DAOParameterException;
+import br.com.eaugusto.exceptions.OptimisticLockException;
+import br.com.eaugusto.generic.jdbc.StatementPipeline;
 
 /**
  * Generic DAO interface that defines basic CRUD operations for persistent
@@ -23,7 +33,8 @@ import br.com.eaugusto.exceptions.DAOException;
 public interface IGenericDAO<T extends IPersistable> {
 
 	/**
-	 * Registers a new entity in the database.
+	 * Registers a new entity in the database and sets its generated id on the
+	 * entity.
 	 * 
 	 * @param entity The entity to register
 	 * @return The number of rows affected
@@ -40,12 +51,28 @@ public interface IGenericDAO<T extends IPersistable> {
 	 */
 	public T search(String code) throws DAOException;
 
+	/**
+	 * Searches for several entities by code with a single
+	 * {@code WHERE code = ANY(?)} query, split into chunks for very large key
+	 * sets.
+	 * 
+	 * @param codes The codes to search; duplicates and nulls are ignored
+	 * @return The found entities by code, in the order of the given codes; codes
+	 *         without an entity are absent
+	 * @throws DAOException If a database error occurs
+	 */
+	public Map<String, T> searchByCodes(Collection<String> codes) throws DAOException;
+
 	/**
 	 * Deletes a entity from the database.
 	 * 
 	 * @param databaseEntity The entity to delete
 	 * @return The number of rows affected
-	 * @throws Exception If a database error occurs
+	 * @throws OptimisticLockException If the entity is versioned and was changed
+	 *                                 since it was read
+	 * @throws DAOParameterException   If the entity is versioned but its
+	 *                                 version is null
+	 * @throws Exception               If a database error occurs
 	 */
 	public Integer delete(T databaseEntity) throws DAOException;
 
@@ -57,12 +84,251 @@ public interface IGenericDAO<T extends IPersistable> {
 	 */
 	public List<T> searchAll() throws DAOException;
 
+	/**
+	 * Streams all entities through a server-side cursor, mapping rows lazily so
+	 * memory use stays flat regardless of the table size.
+	 * 
+	 * <p>
+	 * The stream holds a database connection until it is closed, so it must be
+	 * used in a try-with-resources block.
+	 * </p>
+	 * 
+	 * @return A stream of all entities
+	 * @throws DAOException If a database error occurs
+	 */
+	public Stream<T> streamAll() throws DAOException;
+
+	/**
+	 * Retrieves a page of entities ordered by id, using keyset pagination so deep
+	 * pages cost the same as the first one.
+	 * 
+	 * @param after The key returned by the previous page, or null for the first
+	 *              page
+	 * @param limit The maximum number of entities in the page
+	 * @return The page and the key of the next one
+	 * @throws DAOException If a database error occurs
+	 */
+	public Page<T> searchPage(PageKey after, int limit) throws DAOException;
+
+	/**
+	 * Retrieves a page of entities ordered by the given column, with the id as
+	 * tie-breaker, using keyset pagination.
+	 * 
+	 * <p>
+	 * Rows whose sort column is null come after every other row, ordered by id,
+	 * so nullable columns page through every row as well.
+	 * </p>
+	 * 
+	 * @param sortColumn A column mapped by the entity, or null to sort by id
+	 * @param after      The key returned by the previous page, or null for the
+	 *                   first page
+	 * @param limit      The maximum number of entities in the page
+	 * @return The page and the key of the next one
+	 * @throws DAOParameterException If the entity has no such column
+	 * @throws DAOException          If a database error occurs
+	 */
+	public Page<T> searchPage(String sortColumn, PageKey after, int limit) throws DAOException;
+
+	/**
+	 * Passes every entity to the given action, reading them through a
+	 * server-side cursor like {@link #streamAll()}.
+	 * 
+	 * @param action The action to run for each entity
+	 * @throws DAOException If a database error occurs
+	 */
+	public void forEach(Consumer<? super T> action) throws DAOException;
+
+	/**
+	 * Returns a publisher of every entity, read through a server-side cursor
+	 * only as fast as each subscriber requests them. Each subscriber runs its
+	 * own query on the DAO's asynchronous executor, and cancelling stops it.
+	 * 
+	 * @return A publisher of all entities
+	 */
+	public Flow.Publisher<T> publishAll();
+
 	/**
 	 * Updates an existing entity in the database.
 	 * 
 	 * @param entity The entity to update
 	 * @return The number of rows affected
-	 * @throws Exception If a database error occurs
+	 * @throws OptimisticLockException If the entity is versioned and was changed
+	 *                                 since it was read
+	 * @throws DAOParameterException   If the entity is versioned but its
+	 *                                 version is null
+	 * @throws Exception               If a database error occurs
 	 */
 	public Integer update(T entity) throws DAOException;
+
+	/**
+	 * Updates only the given columns of an existing entity, leaving the others
+	 * untouched in the database. Writing fewer columns produces less WAL and
+	 * keeps HOT updates possible when indexed columns are not changed.
+	 * 
+	 * @param entity  The entity to update, identified by its code
+	 * @param columns The names of the columns to write, as in {@code @Column}
+	 * @return The number of rows affected, 0 if no column is given
+	 * @throws DAOParameterException If a column is unknown, the id or the code
+	 * @throws DAOException          If a database error occurs
+	 */
+	public Integer update(T entity, Set<String> columns) throws DAOException;
+
+	/**
+	 * Reads an entity, applies a change to it and updates it, starting over from
+	 * a fresh read when a concurrent write makes the update fail with an
+	 * {@link OptimisticLockException}. The change may therefore run more than
+	 * once and must only depend on the entity it is given.
+	 * 
+	 * @param code        The code of the entity to change
+	 * @param change      The change to apply
+	 * @param maxAttempts The maximum number of attempts, greater than zero
+	 * @return The updated entity, or {@code null} if it does not exist
+	 * @throws OptimisticLockException If every attempt conflicted
+	 * @throws DAOException            If a database error occurs
+	 */
+	public T updateWithRetry(String code, Consumer<? super T> change, int maxAttempts) throws DAOException;
+
+	/**
+	 * Registers an entity, or overwrites the entity with the same code if one
+	 * exists, in a single {@code INSERT ... ON CONFLICT (code) DO UPDATE}
+	 * statement. The id of an existing row is kept, and its version is
+	 * incremented without being checked: the given entity always wins. The id
+	 * of the written row is set on the entity.
+	 * 
+	 * @param entity The entity to write
+	 * @return The number of rows affected
+	 * @throws DAOException If a database error occurs
+	 */
+	public Integer upsert(T entity) throws DAOException;
+
+	/**
+	 * Upserts several entities like {@link #upsert(IPersistable)}, using JDBC
+	 * batching in chunks of the DAO batch size and within a single transaction.
+	 * 
+	 * @param entities The entities to write
+	 * @return The number of rows affected by each entity, in iteration order
+	 * @throws DAOException If a database error occurs; no entity is written
+	 */
+	public int[] upsertAll(Collection<T> entities) throws DAOException;
+
+	/**
+	 * Registers several entities using JDBC batching, in chunks of the DAO batch
+	 * size and within a single transaction. Ids are allocated in blocks from the
+	 * table's sequence, without a {@code nextval} call per row, and set on the
+	 * entities.
+	 * 
+	 * @param entities The entities to register
+	 * @return The number of rows affected by each entity, in iteration order
+	 * @throws DAOException If a database error occurs; no entity is registered
+	 */
+	public int[] registerAll(Collection<T> entities) throws DAOException;
+
+	/**
+	 * Updates several entities using JDBC batching, in chunks of the DAO batch
+	 * size and within a single transaction.
+	 * 
+	 * @param entities The entities to update
+	 * @return The number of rows affected by each entity, in iteration order
+	 * @throws DAOException If a database error occurs; no entity is updated
+	 */
+	public int[] updateAll(Collection<T> entities) throws DAOException;
+
+	/**
+	 * Deletes several entities using JDBC batching, in chunks of the DAO batch
+	 * size and within a single transaction.
+	 * 
+	 * @param entities The entities to delete
+	 * @return The number of rows affected by each entity, in iteration order
+	 * @throws DAOException If a database error occurs; no entity is deleted
+	 */
+	public int[] deleteAll(Collection<T> entities) throws DAOException;
+
+	/**
+	 * Queues the registration of an entity on a pipeline, to be sent with the
+	 * other queued statements when the pipeline is executed. The id is
+	 * allocated from the table's sequence and set on the entity right away.
+	 * 
+	 * @param entity   The entity to register
+	 * @param pipeline The pipeline to queue on
+	 * @return The pending number of rows affected
+	 */
+	public StatementPipeline.Result<Integer> register(T entity, StatementPipeline pipeline);
+
+	/**
+	 * Queues an update of an entity on a pipeline. A versioned entity changed
+	 * since it was read fails the pipeline with an
+	 * {@link OptimisticLockException}.
+	 * 
+	 * @param entity   The entity to update
+	 * @param pipeline The pipeline to queue on
+	 * @return The pending number of rows affected
+	 */
+	public StatementPipeline.Result<Integer> update(T entity, StatementPipeline pipeline);
+
+	/**
+	 * Queues the deletion of an entity on a pipeline.
+	 * 
+	 * @param entity   The entity to delete
+	 * @param pipeline The pipeline to queue on
+	 * @return The pending number of rows affected
+	 */
+	public StatementPipeline.Result<Integer> delete(T entity, StatementPipeline pipeline);
+
+	/**
+	 * Asynchronous {@link #register(IPersistable)}. Like every {@code *Async}
+	 * method, it runs on the DAO's asynchronous executor, outside any
+	 * transaction of the calling thread, and the returned future fails with the
+	 * exception the synchronous method would throw.
+	 * 
+	 * @param entity The entity to register
+	 * @return A future with the number of rows affected
+	 */
+	public CompletableFuture<Integer> registerAsync(T entity);
+
+	/**
+	 * Asynchronous {@link #search(String)}.
+	 * 
+	 * @param code The code of the entity to search
+	 * @return A future with the found entity, or null if not found
+	 */
+	public CompletableFuture<T> searchAsync(String code);
+
+	/**
+	 * Asynchronous {@link #searchByCodes(Collection)}.
+	 * 
+	 * @param codes The codes to search
+	 * @return A future with the found entities by code
+	 */
+	public CompletableFuture<Map<String, T>> searchByCodesAsync(Collection<String> codes);
+
+	/**
+	 * Asynchronous {@link #searchAll()}.
+	 * 
+	 * @return A future with all entities
+	 */
+	public CompletableFuture<List<T>> searchAllAsync();
+
+	/**
+	 * Asynchronous {@link #update(IPersistable)}.
+	 * 
+	 * @param entity The entity to update
+	 * @return A future with the number of rows affected
+	 */
+	public CompletableFuture<Integer> updateAsync(T entity);
+
+	/**
+	 * Asynchronous {@link #upsert(IPersistable)}.
+	 * 
+	 * @param entity The entity to write
+	 * @return A future with the number of rows affected
+	 */
+	public CompletableFuture<Integer> upsertAsync(T entity);
+
+	/**
+	 * Asynchronous {@link #delete(IPersistable)}.
+	 * 
+	 * @param entity The entity to delete
+	 * @return A future with the number of rows affected
+	 */
+	public CompletableFuture<Integer> deleteAsync(T entity);
 }
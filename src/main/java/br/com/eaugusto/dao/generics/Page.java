@@ -0,0 +1,46 @@
+package br.com.eaugusto.dao.generics;
+
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated query.
+ *
+ * <p>
+ * Pass {@link #getNextKey()} to the next {@code searchPage} call to read the
+ * following page. Every page costs the same to read, however deep it is,
+ * because the query seeks to the key instead of skipping rows with
+ * {@code OFFSET}.
+ * </p>
+ *
+ * @param <T> Item type
+ *
+ * @see PageKey
+ *
+ * @author Eduardo Augusto (github.com/AsrielDreemurrGM/)
+ * @since October 17, 2026
+ */
+public final class Page<T> {
+
+	private final List<T> items;
+	private final PageKey nextKey;
+
+	public Page(List<T> items, PageKey nextKey) {
+		this.items = List.copyOf(items);
+		this.nextKey = nextKey;
+	}
+
+	public List<T> getItems() {
+		return items;
+	}
+
+	/**
+	 * @return The key of the next page, or {@code null} if this is the last page
+	 */
+	public PageKey getNextKey() {
+		return nextKey;
+	}
+
+	public boolean hasNext() {
+		return nextKey != null;
+	}
+}
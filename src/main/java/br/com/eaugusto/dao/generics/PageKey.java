@@ -0,0 +1,61 @@
+package br.com.eaugusto.dao.generics;
+
+/**
+ * Position after which a keyset page starts: the sort value and id of the last
+ * row of the previous page.
+ *
+ * <p>
+ * Keys are taken from {@link Page#getNextKey()}; build one directly only to
+ * resume from a known row.
+ * </p>
+ *
+ * @see Page
+ *
+ * @author Eduardo Augusto (github.com/AsrielDreemurrGM/)
+ * @since October 17, 2026
+ */
+public final class PageKey {
+
+	private final Object sortValue;
+	private final Long id;
+
+	private PageKey(Object sortValue, Long id) {
+		this.sortValue = sortValue;
+		this.id = id;
+	}
+
+	/**
+	 * Key for pages ordered by id only.
+	 *
+	 * @param id The id of the last row already read
+	 * @return The key
+	 */
+	public static PageKey afterId(Long id) {
+		return new PageKey(null, id);
+	}
+
+	/**
+	 * Key for pages ordered by a sort column, with the id as tie-breaker.
+	 *
+	 * @param sortValue The sort column value of the last row already read, or
+	 *                  {@code null} if it had none
+	 * @param id        The id of the last row already read
+	 * @return The key
+	 */
+	public static PageKey after(Object sortValue, Long id) {
+		return new PageKey(sortValue, id);
+	}
+
+	public Object getSortValue() {
+		return sortValue;
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	@Override
+	public String toString() {
+		return sortValue == null ? "PageKey[id=" + id + "]" : "PageKey[" + sortValue + ", id=" + id + "]";
+	}
+}
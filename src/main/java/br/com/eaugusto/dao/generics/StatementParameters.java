@@ -0,0 +1,67 @@
+package br.com.eaugusto.dao.generics;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.LocalDate;
+
+/**
+ * Null-safe helpers for binding entity field values to a
+ * {@link PreparedStatement}.
+ *
+ * <p>
+ * Used by the reflective binders in {@link ColumnMapping} and by the mappers
+ * generated from the entity annotations, so both paths bind {@code null} values
+ * the same way.
+ * </p>
+ *
+ * @author Eduardo Augusto (github.com/AsrielDreemurrGM/)
+ * @since October 17, 2026
+ */
+public final class StatementParameters {
+
+	private StatementParameters() {
+		// To prevent instantiation
+	}
+
+	public static void setString(PreparedStatement statement, int index, String value) throws SQLException {
+		if (value == null) {
+			statement.setNull(index, Types.VARCHAR);
+		} else {
+			statement.setString(index, value);
+		}
+	}
+
+	public static void setLong(PreparedStatement statement, int index, Long value) throws SQLException {
+		if (value == null) {
+			statement.setNull(index, Types.BIGINT);
+		} else {
+			statement.setLong(index, value);
+		}
+	}
+
+	public static void setInteger(PreparedStatement statement, int index, Integer value) throws SQLException {
+		if (value == null) {
+			statement.setNull(index, Types.INTEGER);
+		} else {
+			statement.setInt(index, value);
+		}
+	}
+
+	public static void setDouble(PreparedStatement statement, int index, Double value) throws SQLException {
+		if (value == null) {
+			statement.setNull(index, Types.DOUBLE);
+		} else {
+			statement.setDouble(index, value);
+		}
+	}
+
+	public static void setLocalDate(PreparedStatement statement, int index, LocalDate value) throws SQLException {
+		if (value == null) {
+			statement.setNull(index, Types.DATE);
+		} else {
+			statement.setDate(index, Date.valueOf(value));
+		}
+	}
+}
@@ -4,6 +4,7 @@ import java.time.LocalDate;
 
 import br.com.eaugusto.annotations.Column;
 import br.com.eaugusto.annotations.Table;
+import br.com.eaugusto.annotations.Version;
 
 /**
  * Domain class representing a client entity.
@@ -55,6 +56,10 @@ public class Client implements IPersistable {
 	@Column("birth_date")
 	private LocalDate birthDate;
 
+	@Column("version")
+	@Version
+	private Long version;
+
 	public Long getId() {
 		return id;
 	}
@@ -87,6 +92,10 @@ public class Client implements IPersistable {
 		return birthDate;
 	}
 
+	public Long getVersion() {
+		return version;
+	}
+
 	public void setId(Long id) {
 		this.id = id;
 	}
@@ -127,6 +136,10 @@ public class Client implements IPersistable {
 		this.birthDate = birthDate;
 	}
 
+	public void setVersion(Long version) {
+		this.version = version;
+	}
+
 	@Override
 	public String getEntityCode() {
 		return code;
@@ -2,6 +2,7 @@ package br.com.eaugusto.domain;
 
 import br.com.eaugusto.annotations.Column;
 import br.com.eaugusto.annotations.Table;
+import br.com.eaugusto.annotations.Version;
 
 /**
  * Domain class representing a product entity.
@@ -16,11 +17,15 @@ import br.com.eaugusto.annotations.Table;
  * This class is used for data transfer between the application and the database
  * layer.
  * </p>
+ *
+ * <p>
+ * Lookups by code are cached by its DAO, since the catalog changes rarely.
+ * </p>
  * 
  * @author Eduardo Augusto (github.com/AsrielDreemurrGM/)
  * @since July 6, 2025
  */
-@Table("tb_product")
+@Table(value = "tb_product", cached = true)
 public class Product implements IPersistable {
 
 	@Column("id")
@@ -44,6 +49,10 @@ public class Product implements IPersistable {
 	@Column("category")
 	private String category;
 
+	@Column("version")
+	@Version
+	private Long version;
+
 	public Long getId() {
 		return id;
 	}
@@ -64,6 +73,10 @@ public class Product implements IPersistable {
 		return category;
 	}
 
+	public Long getVersion() {
+		return version;
+	}
+
 	public void setId(Long id) {
 		this.id = id;
 	}
@@ -92,6 +105,10 @@ public class Product implements IPersistable {
 		this.category = category;
 	}
 
+	public void setVersion(Long version) {
+		this.version = version;
+	}
+
 	@Override
 	public String getEntityCode() {
 		return code;
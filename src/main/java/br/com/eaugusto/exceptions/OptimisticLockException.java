@@ -0,0 +1,21 @@
+package br.com.eaugusto.exceptions;
+
+/**
+ * Exception thrown when an update or delete of a versioned entity affects no
+ * row, because the entity was changed or deleted since it was read.
+ *
+ * @author Eduardo Augusto (github.com/AsrielDreemurrGM/)
+ * @since October 17, 2026
+ */
+public class OptimisticLockException extends DAOException {
+
+	private static final long serialVersionUID = 1L;
+
+	public OptimisticLockException(String message) {
+		super(message);
+	}
+
+	public OptimisticLockException(String message, Throwable cause) {
+		super(message, cause);
+	}
+}
@@ -0,0 +1,21 @@
+package br.com.eaugusto.exceptions;
+
+/**
+ * Exception thrown when a transaction cannot be started, committed or rolled
+ * back, or when it fails with a checked exception.
+ *
+ * @author Eduardo Augusto (github.com/AsrielDreemurrGM/)
+ * @since October 17, 2026
+ */
+public class TransactionException extends DAOException {
+
+	private static final long serialVersionUID = 1L;
+
+	public TransactionException(String message) {
+		super(message);
+	}
+
+	public TransactionException(String message, Throwable cause) {
+		super(message, cause);
+	}
+}
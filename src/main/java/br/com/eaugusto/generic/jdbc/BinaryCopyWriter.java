@@ -0,0 +1,251 @@
+package br.com.eaugusto.generic.jdbc;
+
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Set;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.PGCopyOutputStream;
+
+/**
+ * Writes rows in the PostgreSQL binary {@code COPY} format.
+ *
+ * <p>
+ * Values are encoded according to the PostgreSQL type name of the target
+ * column (as reported by {@code ResultSetMetaData#getColumnTypeName}), so the
+ * same Java value can be written to, for example, a {@code date} or a
+ * {@code varchar} column. Call {@link #startRow(int)} before the values of each
+ * row and {@link #close()} to write the trailer, or use
+ * {@link #copyIn(Connection, String, RowSource)} to stream rows straight into a
+ * {@code COPY ... FROM STDIN (FORMAT BINARY)} command.
+ * </p>
+ *
+ * @author Eduardo Augusto (github.com/AsrielDreemurrGM/)
+ * @since October 17, 2026
+ */
+public class BinaryCopyWriter implements Closeable {
+
+	private static final byte[] SIGNATURE = { 'P', 'G', 'C', 'O', 'P', 'Y', '\n', (byte) 0xFF, '\r', '\n', 0 };
+	private static final LocalDate POSTGRES_EPOCH_DATE = LocalDate.of(2000, 1, 1);
+	private static final LocalDateTime POSTGRES_EPOCH = POSTGRES_EPOCH_DATE.atStartOfDay();
+	private static final int NUMERIC_POSITIVE = 0x0000;
+	private static final int NUMERIC_NEGATIVE = 0x4000;
+	private static final int COPY_BUFFER_SIZE = 65_536;
+
+	private static final Set<String> TEXT_TYPES = Set.of("varchar", "text", "bpchar", "name");
+	private static final Set<String> SUPPORTED_TYPES = Set.of("int8", "int4", "int2", "float8", "float4", "numeric",
+			"bool", "date", "timestamp", "varchar", "text", "bpchar", "name");
+
+	private final DataOutputStream output;
+
+	/**
+	 * Creates the writer and writes the binary COPY header.
+	 *
+	 * @param output The stream feeding the {@code COPY ... FROM STDIN} command
+	 * @throws IOException If the header cannot be written
+	 */
+	public BinaryCopyWriter(OutputStream output) throws IOException {
+		this.output = new DataOutputStream(output);
+		this.output.write(SIGNATURE);
+		this.output.writeInt(0);
+		this.output.writeInt(0);
+	}
+
+	/**
+	 * Runs a binary {@code COPY ... FROM STDIN} command, streaming the rows
+	 * written by {@code rows} through the PostgreSQL driver's copy API. If
+	 * writing fails, the command is cancelled and nothing is loaded.
+	 *
+	 * @param connection An open connection to a PostgreSQL database
+	 * @param sql        The COPY command, using {@code FORMAT BINARY}
+	 * @param rows       Writes the rows to load
+	 * @return The number of rows loaded, as reported by the server
+	 * @throws SQLException If the command fails
+	 * @throws IOException  If the rows cannot be written
+	 */
+	public static long copyIn(Connection connection, String sql, RowSource rows) throws SQLException, IOException {
+		PGCopyOutputStream copy = new PGCopyOutputStream(connection.unwrap(PGConnection.class), sql,
+				COPY_BUFFER_SIZE);
+		try {
+			BinaryCopyWriter writer = new BinaryCopyWriter(copy);
+			rows.writeTo(writer);
+			writer.close();
+			return copy.getHandledRowCount();
+		} catch (IOException | RuntimeException e) {
+			if (copy.isActive()) {
+				copy.cancelCopy();
+			}
+			throw e;
+		}
+	}
+
+	/**
+	 * @param typeName A PostgreSQL type name
+	 * @return Whether {@link #write(Object, String)} can encode values of the type
+	 */
+	public static boolean isSupported(String typeName) {
+		return SUPPORTED_TYPES.contains(typeName);
+	}
+
+	/**
+	 * Starts a new row.
+	 *
+	 * @param fields Number of values that follow
+	 * @throws IOException If the stream fails
+	 */
+	public void startRow(int fields) throws IOException {
+		output.writeShort(fields);
+	}
+
+	/**
+	 * Writes one value encoded for the given column type.
+	 *
+	 * @param value    The value, possibly {@code null}
+	 * @param typeName PostgreSQL type name of the target column
+	 * @throws IOException              If the stream fails
+	 * @throws IllegalArgumentException If the value cannot be encoded as the type
+	 */
+	public void write(Object value, String typeName) throws IOException {
+		if (value == null) {
+			output.writeInt(-1);
+			return;
+		}
+		if (TEXT_TYPES.contains(typeName)) {
+			byte[] bytes = value.toString().getBytes(StandardCharsets.UTF_8);
+			output.writeInt(bytes.length);
+			output.write(bytes);
+			return;
+		}
+		switch (typeName) {
+		case "int8":
+			output.writeInt(8);
+			output.writeLong(((Number) value).longValue());
+			break;
+		case "int4":
+			output.writeInt(4);
+			output.writeInt(((Number) value).intValue());
+			break;
+		case "int2":
+			output.writeInt(2);
+			output.writeShort(((Number) value).shortValue());
+			break;
+		case "float8":
+			output.writeInt(8);
+			output.writeDouble(((Number) value).doubleValue());
+			break;
+		case "float4":
+			output.writeInt(4);
+			output.writeFloat(((Number) value).floatValue());
+			break;
+		case "bool":
+			output.writeInt(1);
+			output.writeByte(Boolean.TRUE.equals(value) ? 1 : 0);
+			break;
+		case "numeric":
+			writeNumeric(toBigDecimal(value));
+			break;
+		case "date":
+			output.writeInt(4);
+			output.writeInt((int) ChronoUnit.DAYS.between(POSTGRES_EPOCH_DATE, toLocalDate(value)));
+			break;
+		case "timestamp":
+			output.writeInt(8);
+			output.writeLong(ChronoUnit.MICROS.between(POSTGRES_EPOCH, toLocalDateTime(value)));
+			break;
+		default:
+			throw new IllegalArgumentException("Unsupported column type for binary COPY: " + typeName);
+		}
+	}
+
+	/**
+	 * Encodes a numeric as base-10000 digit groups: digit count, weight of the
+	 * first group, sign and display scale, followed by the groups.
+	 */
+	private void writeNumeric(BigDecimal value) throws IOException {
+		String plain = value.abs().toPlainString();
+		int point = plain.indexOf('.');
+		String integerPart = point < 0 ? plain : plain.substring(0, point);
+		String fractionPart = point < 0 ? "" : plain.substring(point + 1);
+
+		int integerGroups = (integerPart.length() + 3) / 4;
+		String digits = "0".repeat(integerGroups * 4 - integerPart.length()) + integerPart + fractionPart
+				+ "0".repeat((4 - fractionPart.length() % 4) % 4);
+
+		short[] groups = new short[digits.length() / 4];
+		for (int i = 0; i < groups.length; i++) {
+			groups[i] = Short.parseShort(digits.substring(i * 4, i * 4 + 4));
+		}
+
+		int first = 0;
+		while (first < groups.length && groups[first] == 0) {
+			first++;
+		}
+		int last = groups.length - 1;
+		while (last >= first && groups[last] == 0) {
+			last--;
+		}
+		int count = Math.max(0, last - first + 1);
+		int weight = count == 0 ? 0 : integerGroups - 1 - first;
+
+		output.writeInt(8 + count * 2);
+		output.writeShort(count);
+		output.writeShort(weight);
+		output.writeShort(value.signum() < 0 ? NUMERIC_NEGATIVE : NUMERIC_POSITIVE);
+		output.writeShort(Math.max(0, value.scale()));
+		for (int i = first; i <= last; i++) {
+			output.writeShort(groups[i]);
+		}
+	}
+
+	private static BigDecimal toBigDecimal(Object value) {
+		if (value instanceof BigDecimal decimal) {
+			return decimal;
+		} else if (value instanceof Double || value instanceof Float) {
+			return BigDecimal.valueOf(((Number) value).doubleValue());
+		}
+		return BigDecimal.valueOf(((Number) value).longValue());
+	}
+
+	private static LocalDate toLocalDate(Object value) {
+		if (value instanceof Date date) {
+			return date.toLocalDate();
+		}
+		return (LocalDate) value;
+	}
+
+	private static LocalDateTime toLocalDateTime(Object value) {
+		if (value instanceof Timestamp timestamp) {
+			return timestamp.toLocalDateTime();
+		}
+		return (LocalDateTime) value;
+	}
+
+	/**
+	 * Writes the trailer and closes the underlying stream, which completes the
+	 * COPY command.
+	 */
+	@Override
+	public void close() throws IOException {
+		output.writeShort(-1);
+		output.close();
+	}
+
+	/**
+	 * Writes the rows of a binary COPY command.
+	 */
+	@FunctionalInterface
+	public interface RowSource {
+		void writeTo(BinaryCopyWriter writer) throws IOException;
+	}
+}
@@ -5,9 +5,10 @@ import java.sql.DriverManager;
 import java.sql.SQLException;
 
 import br.com.eaugusto.exceptions.DatabaseConnectionException;
+import br.com.eaugusto.generic.metrics.Instrumentation;
 
 /**
- * Utility class that manages a single JDBC connection to the PostgreSQL
+ * Utility class that provides pooled JDBC connections to the PostgreSQL
  * database.
  * 
  * <p>
@@ -20,8 +21,11 @@ import br.com.eaugusto.exceptions.DatabaseConnectionException;
  * </p>
  * 
  * <p>
- * The connection is created only when needed and reused until closed. If the
- * connection closes, a new one will be created automatically.
+ * Connections are served by a shared {@link ConnectionPool}, created on first
+ * use and configured through the <b>DB_POOL_*</b> variables described in
+ * {@link ConnectionPoolConfig}. Closing a connection returns it to the pool, so
+ * callers keep using try-with-resources as usual. This class is safe for
+ * concurrent callers.
  * </p>
  * 
  * @author Eduardo Augusto (github.com/AsrielDreemurrGM/)
@@ -29,27 +33,90 @@ import br.com.eaugusto.exceptions.DatabaseConnectionException;
  */
 public final class ConnectionFactory {
 
-	private static Connection connection;
+	private static volatile ConnectionPool pool;
+
+	static {
+		Runtime.getRuntime().addShutdownHook(new Thread(ConnectionFactory::shutdown, "db-pool-shutdown"));
+	}
 
 	private ConnectionFactory() {
 		// To prevent instantiation
 	}
 
 	/**
-	 * Provides a singleton JDBC connection to the configured database.
+	 * Borrows a JDBC connection to the configured database from the shared pool.
+	 * 
+	 * <p>
+	 * Inside a {@link TransactionManager} transaction, returns the transaction's
+	 * connection instead, so every DAO call joins the transaction.
+	 * </p>
 	 * 
-	 * @return an open {@link Connection}
-	 * @throws SQLException          if a database access error occurs or the
-	 *                               connection cannot be established
+	 * <p>
+	 * The time spent waiting for a pooled connection is reported to the
+	 * {@link Instrumentation} of the running DAO operation, when enabled.
+	 * </p>
+	 * 
+	 * @return an open {@link Connection}; closing it returns it to the pool
+	 * @throws SQLException          if a database access error occurs or no
+	 *                               connection becomes available in time
 	 * @throws IllegalStateException if required environment variables are not set
 	 */
 	public static Connection getConnection() throws SQLException {
-		if (connection == null || connection.isClosed()) {
-			connection = initConnection();
+		Connection transactional = TransactionManager.currentConnection();
+		if (transactional != null) {
+			return transactional;
+		}
+		if (!Instrumentation.isEnabled()) {
+			return getPool().borrow();
 		}
+		long start = System.nanoTime();
+		Connection connection = getPool().borrow();
+		Instrumentation.connectionAcquired(System.nanoTime() - start);
 		return connection;
 	}
 
+	/**
+	 * Returns the shared connection pool, creating it on first use.
+	 * 
+	 * @return the shared {@link ConnectionPool}
+	 */
+	public static ConnectionPool getPool() {
+		ConnectionPool current = pool;
+		if (current == null) {
+			synchronized (ConnectionFactory.class) {
+				current = pool;
+				if (current == null) {
+					current = new ConnectionPool(ConnectionPoolConfig.fromEnvironment(),
+							ConnectionFactory::initConnection);
+					pool = current;
+				}
+			}
+		}
+		return current;
+	}
+
+	/**
+	 * Opens a connection outside the pool, for long-lived uses such as
+	 * {@code LISTEN} that would otherwise hold a pooled connection forever.
+	 * 
+	 * @return a new {@link Connection}; the caller must close it
+	 * @throws DatabaseConnectionException if the connection cannot be opened
+	 */
+	public static Connection openDedicatedConnection() {
+		return initConnection();
+	}
+
+	/**
+	 * Closes the shared pool and its idle connections. A new pool is created on
+	 * the next call to {@link #getConnection()}.
+	 */
+	public static synchronized void shutdown() {
+		if (pool != null) {
+			pool.close();
+			pool = null;
+		}
+	}
+
 	/**
 	 * Initializes a new database connection using environment variables.
 	 * 
@@ -0,0 +1,504 @@
+package br.com.eaugusto.generic.jdbc;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Bounded pool of physical JDBC connections.
+ *
+ * <p>
+ * Connections handed out by {@link #borrow()} are proxies: calling
+ * {@link Connection#close()} on them returns the physical connection to the
+ * pool instead of closing it, so the try-with-resources blocks used by the DAOs
+ * keep working unchanged. Returned connections are rolled back and get back
+ * the auto-commit, read-only, isolation, catalog and schema settings they
+ * were opened with, and statements created on them report the proxy as their
+ * connection, so the physical connection never escapes the pool.
+ * </p>
+ *
+ * <p>
+ * The pool validates idle connections before handing them out, closes
+ * connections that stayed idle for too long (never going below the configured
+ * minimum) and logs a warning, including the borrowing stack trace, for
+ * connections held longer than the leak threshold.
+ * </p>
+ *
+ * <p>
+ * Each physical connection keeps a {@link StatementCache} of its prepared
+ * statements, so the DAOs reuse them across borrows. Its hits, misses and
+ * evictions are summed over every connection of the pool.
+ * </p>
+ *
+ * <p>
+ * When a {@link SlowQueryLog} is set, read from the environment by default,
+ * the statements prepared on pooled connections are monitored and the slow
+ * ones recorded in it.
+ * </p>
+ *
+ * @see ConnectionPoolConfig
+ * @see ConnectionFactory
+ *
+ * @author Eduardo Augusto (github.com/AsrielDreemurrGM/)
+ * @since October 17, 2026
+ */
+public class ConnectionPool implements AutoCloseable {
+
+	private static final Logger LOGGER = Logger.getLogger(ConnectionPool.class.getName());
+	private static final long HOUSEKEEPING_PERIOD_MILLIS = 5_000;
+
+	private final ConnectionPoolConfig config;
+	private final Supplier<Connection> connectionSupplier;
+	private final Semaphore permits;
+	private final LinkedBlockingDeque<PooledEntry> idleConnections = new LinkedBlockingDeque<>();
+	private final Set<PooledEntry> borrowedConnections = ConcurrentHashMap.newKeySet();
+	private final AtomicInteger openConnections = new AtomicInteger();
+	private final LongAdder statementCacheHits = new LongAdder();
+	private final LongAdder statementCacheMisses = new LongAdder();
+	private final LongAdder statementCacheEvictions = new LongAdder();
+	private final ScheduledExecutorService housekeeper;
+	private volatile SlowQueryLog slowQueryLog;
+	private volatile boolean closed;
+
+	/**
+	 * Creates the pool. Physical connections are opened lazily; the minimum idle
+	 * connections are created in the background.
+	 *
+	 * @param config             The pool configuration
+	 * @param connectionSupplier Opens a new physical connection
+	 */
+	public ConnectionPool(ConnectionPoolConfig config, Supplier<Connection> connectionSupplier) {
+		if (config.getMaxSize() < 1 || config.getMinSize() < 0 || config.getMinSize() > config.getMaxSize()) {
+			throw new IllegalArgumentException("Invalid pool size: min=" + config.getMinSize() + ", max="
+					+ config.getMaxSize());
+		}
+		this.config = config;
+		this.connectionSupplier = connectionSupplier;
+		this.permits = new Semaphore(config.getMaxSize(), true);
+		this.slowQueryLog = SlowQueryLog.fromEnvironment();
+		this.housekeeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "db-pool-housekeeper");
+			thread.setDaemon(true);
+			return thread;
+		});
+		this.housekeeper.scheduleWithFixedDelay(this::housekeeping, 0, HOUSEKEEPING_PERIOD_MILLIS,
+				TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * Borrows a connection, waiting up to the configured acquire timeout when
+	 * every connection is in use.
+	 *
+	 * @return A pooled {@link Connection}; closing it returns it to the pool
+	 * @throws SQLTimeoutException If no connection became available in time
+	 * @throws SQLException        If the pool is closed or the thread was
+	 *                             interrupted
+	 */
+	public Connection borrow() throws SQLException {
+		if (closed) {
+			throw new SQLException("Connection pool is closed.");
+		}
+		try {
+			if (!permits.tryAcquire(config.getAcquireTimeoutMillis(), TimeUnit.MILLISECONDS)) {
+				throw new SQLTimeoutException("Timed out after " + config.getAcquireTimeoutMillis()
+						+ "ms waiting for a database connection (max pool size " + config.getMaxSize() + ").");
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new SQLException("Interrupted while waiting for a database connection.", e);
+		}
+
+		try {
+			PooledEntry entry = pollValidIdleConnection();
+			if (entry == null) {
+				entry = openConnection();
+			}
+			entry.markBorrowed(config.getLeakThresholdMillis() > 0);
+			borrowedConnections.add(entry);
+			return PooledConnectionHandler.newProxy(this, entry);
+		} catch (RuntimeException e) {
+			permits.release();
+			throw e;
+		}
+	}
+
+	/**
+	 * Returns a connection to the pool. Called by the connection proxy when it is
+	 * closed.
+	 *
+	 * @param entry  The pooled connection
+	 * @param broken Whether the connection reported a fatal error while borrowed
+	 */
+	void release(PooledEntry entry, boolean broken) {
+		borrowedConnections.remove(entry);
+		try {
+			Connection connection = entry.getConnection();
+			if (closed || broken || connection.isClosed()) {
+				discard(entry);
+				return;
+			}
+			if (!connection.getAutoCommit()) {
+				connection.rollback();
+				connection.setAutoCommit(true);
+			}
+			entry.resetSession();
+			connection.clearWarnings();
+			entry.markIdle();
+			idleConnections.offerFirst(entry);
+		} catch (SQLException e) {
+			discard(entry);
+		} finally {
+			permits.release();
+		}
+	}
+
+	private PooledEntry pollValidIdleConnection() {
+		PooledEntry entry;
+		while ((entry = idleConnections.pollFirst()) != null) {
+			if (isValid(entry)) {
+				return entry;
+			}
+			discard(entry);
+		}
+		return null;
+	}
+
+	private boolean isValid(PooledEntry entry) {
+		try {
+			return entry.getConnection().isValid(config.getValidationTimeoutSeconds());
+		} catch (SQLException e) {
+			return false;
+		}
+	}
+
+	private PooledEntry openConnection() {
+		openConnections.incrementAndGet();
+		try {
+			int cacheSize = config.getStatementCacheSize();
+			StatementCache statementCache = cacheSize > 0 ? new StatementCache(cacheSize, statementCacheHits,
+					statementCacheMisses, statementCacheEvictions) : null;
+			return new PooledEntry(connectionSupplier.get(), statementCache);
+		} catch (RuntimeException e) {
+			openConnections.decrementAndGet();
+			throw e;
+		}
+	}
+
+	private void discard(PooledEntry entry) {
+		openConnections.decrementAndGet();
+		try {
+			entry.getConnection().close();
+		} catch (SQLException e) {
+			LOGGER.log(Level.FINE, "Error closing discarded connection", e);
+		}
+	}
+
+	/**
+	 * Closes connections idle for longer than the idle timeout, tops the pool up
+	 * to its minimum size and reports possible connection leaks.
+	 */
+	private void housekeeping() {
+		try {
+			evictIdleConnections();
+			fillToMinimum();
+			reportLeaks();
+		} catch (RuntimeException e) {
+			LOGGER.log(Level.WARNING, "Connection pool housekeeping failed", e);
+		}
+	}
+
+	private void evictIdleConnections() {
+		Iterator<PooledEntry> leastRecentlyUsed = idleConnections.descendingIterator();
+		while (leastRecentlyUsed.hasNext() && openConnections.get() > config.getMinSize()) {
+			PooledEntry entry = leastRecentlyUsed.next();
+			if (entry.getIdleMillis() > config.getIdleTimeoutMillis() && idleConnections.remove(entry)) {
+				discard(entry);
+			}
+		}
+	}
+
+	/**
+	 * Opens connections while holding a permit, like a borrower, so the pool
+	 * and its borrowers never open more than the maximum between them. Gives up
+	 * when every permit is taken, since the pool is then in use anyway.
+	 */
+	private void fillToMinimum() {
+		while (!closed && openConnections.get() < config.getMinSize() && permits.tryAcquire()) {
+			try {
+				PooledEntry entry = openConnection();
+				entry.markIdle();
+				idleConnections.offerLast(entry);
+			} finally {
+				permits.release();
+			}
+		}
+	}
+
+	private void reportLeaks() {
+		long threshold = config.getLeakThresholdMillis();
+		if (threshold <= 0) {
+			return;
+		}
+		for (PooledEntry entry : borrowedConnections) {
+			if (entry.getBorrowedMillis() > threshold && entry.markLeakReported()) {
+				LOGGER.log(Level.WARNING, "Connection held for more than " + threshold
+						+ "ms without being closed; possible connection leak", entry.getBorrowTrace());
+			}
+		}
+	}
+
+	/**
+	 * @return The number of physical connections currently open
+	 */
+	public int getOpenConnections() {
+		return openConnections.get();
+	}
+
+	/**
+	 * @return The number of connections waiting in the pool
+	 */
+	public int getIdleConnections() {
+		return idleConnections.size();
+	}
+
+	/**
+	 * @return The number of connections currently borrowed
+	 */
+	public int getBorrowedConnections() {
+		return borrowedConnections.size();
+	}
+
+	/**
+	 * @return Prepared statements served from the statement caches
+	 */
+	public long getStatementCacheHits() {
+		return statementCacheHits.sum();
+	}
+
+	/**
+	 * @return Prepared statements that had to be prepared on the connection
+	 */
+	public long getStatementCacheMisses() {
+		return statementCacheMisses.sum();
+	}
+
+	/**
+	 * @return Statements closed to make room in a full statement cache
+	 */
+	public long getStatementCacheEvictions() {
+		return statementCacheEvictions.sum();
+	}
+
+	/**
+	 * @return The fraction of prepared statements served from the statement
+	 *         caches, or 0 if none was prepared yet
+	 */
+	public double getStatementCacheHitRate() {
+		long hits = getStatementCacheHits();
+		long total = hits + getStatementCacheMisses();
+		return total == 0 ? 0 : (double) hits / total;
+	}
+
+	public ConnectionPoolConfig getConfig() {
+		return config;
+	}
+
+	/**
+	 * @return The log of slow statements, or {@code null} if they are not
+	 *         monitored
+	 */
+	public SlowQueryLog getSlowQueryLog() {
+		return slowQueryLog;
+	}
+
+	/**
+	 * Replaces the log of slow statements. Statements prepared from then on
+	 * are monitored by the new log.
+	 *
+	 * @param slowQueryLog The log, or {@code null} to stop monitoring
+	 */
+	public void setSlowQueryLog(SlowQueryLog slowQueryLog) {
+		this.slowQueryLog = slowQueryLog;
+	}
+
+	/**
+	 * Closes every idle connection and stops the housekeeping thread. Borrowed
+	 * connections are closed when they are returned.
+	 */
+	@Override
+	public void close() {
+		closed = true;
+		housekeeper.shutdownNow();
+		PooledEntry entry;
+		while ((entry = idleConnections.pollFirst()) != null) {
+			discard(entry);
+		}
+	}
+
+	/**
+	 * Physical connection plus the bookkeeping needed for eviction and leak
+	 * detection, and the session settings to restore when it is returned.
+	 */
+	static final class PooledEntry {
+
+		private final Connection connection;
+		private final StatementCache statementCache;
+		private volatile long lastUsedNanos = System.nanoTime();
+		private volatile long borrowedAtNanos;
+		private volatile Throwable borrowTrace;
+		private volatile boolean leakReported;
+		private Session defaultSession;
+		private Session session;
+
+		PooledEntry(Connection connection, StatementCache statementCache) {
+			this.connection = connection;
+			this.statementCache = statementCache;
+		}
+
+		Connection getConnection() {
+			return connection;
+		}
+
+		/**
+		 * @return The statement cache of the connection, or {@code null} if
+		 *         disabled
+		 */
+		StatementCache getStatementCache() {
+			return statementCache;
+		}
+
+		void markBorrowed(boolean captureTrace) {
+			borrowedAtNanos = System.nanoTime();
+			borrowTrace = captureTrace
+					? new Throwable("Connection borrowed by " + Thread.currentThread().getName())
+					: null;
+			leakReported = false;
+		}
+
+		void markIdle() {
+			lastUsedNanos = System.nanoTime();
+			borrowTrace = null;
+		}
+
+		synchronized boolean markLeakReported() {
+			if (leakReported) {
+				return false;
+			}
+			leakReported = true;
+			return true;
+		}
+
+		long getIdleMillis() {
+			return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - lastUsedNanos);
+		}
+
+		long getBorrowedMillis() {
+			return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - borrowedAtNanos);
+		}
+
+		Throwable getBorrowTrace() {
+			return borrowTrace;
+		}
+
+		/**
+		 * Records a session setting changed by the borrower, reading the
+		 * defaults of the connection before its first change.
+		 *
+		 * @param setter The {@code set*} method of {@link Connection} about to be
+		 *               called
+		 * @param value  Its argument
+		 * @return A callback recording the new value once the call succeeds
+		 * @throws SQLException If the defaults cannot be read
+		 */
+		Runnable changeSession(String setter, Object value) throws SQLException {
+			if (defaultSession == null) {
+				defaultSession = new Session(connection.isReadOnly(), connection.getTransactionIsolation(),
+						connection.getCatalog(), connection.getSchema());
+				session = defaultSession;
+			}
+			return () -> session = session.with(setter, value);
+		}
+
+		/**
+		 * Restores the session settings the borrower changed. Only the settings
+		 * that differ from the defaults are sent to the database.
+		 */
+		void resetSession() throws SQLException {
+			if (session == null || session.equals(defaultSession)) {
+				return;
+			}
+			if (session.readOnly != defaultSession.readOnly) {
+				connection.setReadOnly(defaultSession.readOnly);
+			}
+			if (session.isolation != defaultSession.isolation) {
+				connection.setTransactionIsolation(defaultSession.isolation);
+			}
+			if (!Objects.equals(session.catalog, defaultSession.catalog)) {
+				connection.setCatalog(defaultSession.catalog);
+			}
+			if (!Objects.equals(session.schema, defaultSession.schema)) {
+				connection.setSchema(defaultSession.schema);
+			}
+			session = defaultSession;
+		}
+	}
+
+	/**
+	 * Session settings of a connection that a borrower can change.
+	 */
+	private static final class Session {
+
+		private final boolean readOnly;
+		private final int isolation;
+		private final String catalog;
+		private final String schema;
+
+		Session(boolean readOnly, int isolation, String catalog, String schema) {
+			this.readOnly = readOnly;
+			this.isolation = isolation;
+			this.catalog = catalog;
+			this.schema = schema;
+		}
+
+		Session with(String setter, Object value) {
+			switch (setter) {
+			case "setReadOnly":
+				return new Session((Boolean) value, isolation, catalog, schema);
+			case "setTransactionIsolation":
+				return new Session(readOnly, (Integer) value, catalog, schema);
+			case "setCatalog":
+				return new Session(readOnly, isolation, (String) value, schema);
+			case "setSchema":
+				return new Session(readOnly, isolation, catalog, (String) value);
+			default:
+				return this;
+			}
+		}
+
+		@Override
+		public boolean equals(Object other) {
+			return other instanceof Session session && readOnly == session.readOnly
+					&& isolation == session.isolation && Objects.equals(catalog, session.catalog)
+					&& Objects.equals(schema, session.schema);
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(readOnly, isolation, catalog, schema);
+		}
+	}
+}
@@ -0,0 +1,130 @@
+package br.com.eaugusto.generic.jdbc;
+
+import br.com.eaugusto.exceptions.DatabaseConnectionException;
+
+/**
+ * Configuration values for {@link ConnectionPool}.
+ *
+ * <p>
+ * Every value has a sensible default and can be overridden through environment
+ * variables, following the same approach used for the connection credentials:
+ * <ul>
+ * <li><b>DB_POOL_MIN_SIZE</b>: Connections kept open even when idle (default
+ * 2)</li>
+ * <li><b>DB_POOL_MAX_SIZE</b>: Maximum number of open connections (default
+ * 10)</li>
+ * <li><b>DB_POOL_ACQUIRE_TIMEOUT_MS</b>: Maximum wait for a free connection
+ * (default 30000)</li>
+ * <li><b>DB_POOL_IDLE_TIMEOUT_MS</b>: Idle time after which connections above
+ * the minimum are closed (default 600000)</li>
+ * <li><b>DB_POOL_VALIDATION_TIMEOUT_S</b>: Timeout used when validating a
+ * connection on borrow (default 2)</li>
+ * <li><b>DB_POOL_LEAK_THRESHOLD_MS</b>: Time a connection may stay borrowed
+ * before a leak warning is logged, 0 disables it (default 60000)</li>
+ * <li><b>DB_POOL_STATEMENT_CACHE_SIZE</b>: Prepared statements cached per
+ * connection, 0 disables the cache (default 64)</li>
+ * </ul>
+ * </p>
+ *
+ * @author Eduardo Augusto (github.com/AsrielDreemurrGM/)
+ * @since October 17, 2026
+ */
+public class ConnectionPoolConfig {
+
+	private int minSize = 2;
+	private int maxSize = 10;
+	private long acquireTimeoutMillis = 30_000;
+	private long idleTimeoutMillis = 600_000;
+	private int validationTimeoutSeconds = 2;
+	private long leakThresholdMillis = 60_000;
+	private int statementCacheSize = 64;
+
+	/**
+	 * Builds a configuration from the <b>DB_POOL_*</b> environment variables,
+	 * keeping the defaults for any variable that is not set.
+	 *
+	 * @return The pool configuration
+	 * @throws DatabaseConnectionException If a variable holds an invalid number
+	 */
+	public static ConnectionPoolConfig fromEnvironment() {
+		ConnectionPoolConfig config = new ConnectionPoolConfig();
+		config.setMinSize((int) readLong("DB_POOL_MIN_SIZE", config.getMinSize()));
+		config.setMaxSize((int) readLong("DB_POOL_MAX_SIZE", config.getMaxSize()));
+		config.setAcquireTimeoutMillis(readLong("DB_POOL_ACQUIRE_TIMEOUT_MS", config.getAcquireTimeoutMillis()));
+		config.setIdleTimeoutMillis(readLong("DB_POOL_IDLE_TIMEOUT_MS", config.getIdleTimeoutMillis()));
+		config.setValidationTimeoutSeconds(
+				(int) readLong("DB_POOL_VALIDATION_TIMEOUT_S", config.getValidationTimeoutSeconds()));
+		config.setLeakThresholdMillis(readLong("DB_POOL_LEAK_THRESHOLD_MS", config.getLeakThresholdMillis()));
+		config.setStatementCacheSize(
+				(int) readLong("DB_POOL_STATEMENT_CACHE_SIZE", config.getStatementCacheSize()));
+		return config;
+	}
+
+	private static long readLong(String variable, long defaultValue) {
+		String value = System.getenv(variable);
+		if (value == null || value.isBlank()) {
+			return defaultValue;
+		}
+		try {
+			return Long.parseLong(value.trim());
+		} catch (NumberFormatException e) {
+			throw new DatabaseConnectionException("Invalid value for " + variable + ": " + value, e);
+		}
+	}
+
+	public int getMinSize() {
+		return minSize;
+	}
+
+	public int getMaxSize() {
+		return maxSize;
+	}
+
+	public long getAcquireTimeoutMillis() {
+		return acquireTimeoutMillis;
+	}
+
+	public long getIdleTimeoutMillis() {
+		return idleTimeoutMillis;
+	}
+
+	public int getValidationTimeoutSeconds() {
+		return validationTimeoutSeconds;
+	}
+
+	public long getLeakThresholdMillis() {
+		return leakThresholdMillis;
+	}
+
+	public int getStatementCacheSize() {
+		return statementCacheSize;
+	}
+
+	public void setMinSize(int minSize) {
+		this.minSize = minSize;
+	}
+
+	public void setMaxSize(int maxSize) {
+		this.maxSize = maxSize;
+	}
+
+	public void setAcquireTimeoutMillis(long acquireTimeoutMillis) {
+		this.acquireTimeoutMillis = acquireTimeoutMillis;
+	}
+
+	public void setIdleTimeoutMillis(long idleTimeoutMillis) {
+		this.idleTimeoutMillis = idleTimeoutMillis;
+	}
+
+	public void setValidationTimeoutSeconds(int validationTimeoutSeconds) {
+		this.validationTimeoutSeconds = validationTimeoutSeconds;
+	}
+
+	public void setLeakThresholdMillis(long leakThresholdMillis) {
+		this.leakThresholdMillis = leakThresholdMillis;
+	}
+
+	public void setStatementCacheSize(int statementCacheSize) {
+		this.statementCacheSize = statementCacheSize;
+	}
+}
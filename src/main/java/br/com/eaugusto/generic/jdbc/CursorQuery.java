@@ -0,0 +1,215 @@
+package br.com.eaugusto.generic.jdbc;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import br.com.eaugusto.exceptions.DAOException;
+
+/**
+ * Runs a query through a server-side cursor and exposes its rows as a lazily
+ * mapped {@link Stream}.
+ *
+ * <p>
+ * The PostgreSQL driver only uses a cursor when auto-commit is off and a fetch
+ * size is set; otherwise it reads the whole result into memory. This class
+ * takes care of both, so memory use depends on the fetch size and not on the
+ * size of the table. The connection stays borrowed until the stream is closed,
+ * so streams must be used in a try-with-resources block.
+ * </p>
+ *
+ * <p>
+ * The same cursors back {@link QueryPublisher}, which pushes rows to reactive
+ * subscribers instead.
+ * </p>
+ *
+ * @author Eduardo Augusto (github.com/AsrielDreemurrGM/)
+ * @since October 17, 2026
+ */
+public final class CursorQuery {
+
+	/**
+	 * Default number of rows fetched from the cursor per round trip.
+	 */
+	public static final int DEFAULT_FETCH_SIZE = 1_000;
+
+	private CursorQuery() {
+		// To prevent instantiation
+	}
+
+	/**
+	 * Opens a cursor over the query and returns its rows as a stream.
+	 *
+	 * @param <T>       Mapped type
+	 * @param sql       The query
+	 * @param binder    Binds the query parameters
+	 * @param mapper    Maps each row, called lazily as the stream is consumed
+	 * @param fetchSize Rows fetched per round trip
+	 * @return A stream that releases the cursor and connection when closed
+	 * @throws DAOException If the query cannot be started
+	 */
+	public static <T> Stream<T> stream(String sql, ParameterBinder binder, RowMapper<T> mapper, int fetchSize) {
+		Cursor<T> cursor = open(sql, binder, mapper, fetchSize);
+		return StreamSupport.stream(new CursorSpliterator<>(cursor), false).onClose(cursor::close);
+	}
+
+	/**
+	 * Opens a cursor over the query on a connection borrowed for the lifetime of
+	 * the cursor.
+	 *
+	 * @throws DAOException If the query cannot be started
+	 */
+	static <T> Cursor<T> open(String sql, ParameterBinder binder, RowMapper<T> mapper, int fetchSize) {
+		Connection connection = null;
+		PreparedStatement statement = null;
+		try {
+			connection = ConnectionFactory.getConnection();
+			connection.setAutoCommit(false);
+			statement = connection.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+			statement.setFetchSize(fetchSize);
+			binder.bind(statement);
+			return new Cursor<>(connection, statement, statement.executeQuery(), mapper);
+		} catch (SQLException | RuntimeException e) {
+			DAOException failure = e instanceof DAOException daoException ? daoException
+					: new DAOException("Error opening cursor for query", e);
+			try {
+				release(connection, statement, null);
+			} catch (DAOException releaseFailure) {
+				failure.addSuppressed(releaseFailure);
+			}
+			throw failure;
+		}
+	}
+
+	/**
+	 * Closes the cursor, ends the read transaction and returns the connection to
+	 * the pool, which restores auto-commit.
+	 */
+	private static void release(Connection connection, PreparedStatement statement, ResultSet result) {
+		try {
+			if (result != null) {
+				result.close();
+			}
+			if (statement != null) {
+				statement.close();
+			}
+			if (connection != null) {
+				connection.commit();
+			}
+		} catch (SQLException e) {
+			throw new DAOException("Error closing cursor", e);
+		} finally {
+			closeConnection(connection);
+		}
+	}
+
+	private static void closeConnection(Connection connection) {
+		if (connection == null) {
+			return;
+		}
+		try {
+			connection.close();
+		} catch (SQLException e) {
+			throw new DAOException("Error releasing cursor connection", e);
+		}
+	}
+
+	/**
+	 * Binds the parameters of a query.
+	 */
+	@FunctionalInterface
+	public interface ParameterBinder {
+
+		/**
+		 * Binder for queries without parameters.
+		 */
+		public static final ParameterBinder NONE = statement -> {
+		};
+
+		public void bind(PreparedStatement statement) throws SQLException;
+	}
+
+	/**
+	 * An open cursor with the connection and statement it holds. Rows are read
+	 * from the database in chunks of the fetch size as the cursor advances.
+	 */
+	static final class Cursor<T> implements AutoCloseable {
+
+		private final Connection connection;
+		private final PreparedStatement statement;
+		private final ResultSet result;
+		private final RowMapper<T> mapper;
+
+		private Cursor(Connection connection, PreparedStatement statement, ResultSet result, RowMapper<T> mapper) {
+			this.connection = connection;
+			this.statement = statement;
+			this.result = result;
+			this.mapper = mapper;
+		}
+
+		/**
+		 * Moves to the next row, fetching the next chunk when needed.
+		 *
+		 * @return Whether there was another row
+		 */
+		boolean next() throws SQLException {
+			return result.next();
+		}
+
+		/**
+		 * @return The current row, mapped
+		 */
+		T map() throws SQLException {
+			return mapper.map(result);
+		}
+
+		/**
+		 * Asks the server to stop the statement if it is still running. May be
+		 * called from any thread; the cursor must still be closed.
+		 */
+		void cancel() {
+			try {
+				statement.cancel();
+			} catch (SQLException e) {
+				// Already finished or closed: nothing left to stop
+			}
+		}
+
+		@Override
+		public void close() {
+			release(connection, statement, result);
+		}
+	}
+
+	/**
+	 * Advances the cursor one row per element, mapping rows only when requested.
+	 */
+	private static final class CursorSpliterator<T> extends Spliterators.AbstractSpliterator<T> {
+
+		private final Cursor<T> cursor;
+
+		CursorSpliterator(Cursor<T> cursor) {
+			super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL);
+			this.cursor = cursor;
+		}
+
+		@Override
+		public boolean tryAdvance(Consumer<? super T> action) {
+			try {
+				if (!cursor.next()) {
+					return false;
+				}
+				action.accept(cursor.map());
+				return true;
+			} catch (SQLException e) {
+				throw new DAOException("Error reading row from cursor", e);
+			}
+		}
+	}
+}
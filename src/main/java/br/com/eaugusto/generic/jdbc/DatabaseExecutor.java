@@ -0,0 +1,159 @@
+package br.com.eaugusto.generic.jdbc;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.logging.Logger;
+
+/**
+ * Executor for the asynchronous DAO methods, which lets independent database
+ * calls overlap instead of running one after the other.
+ *
+ * <p>
+ * At most {@code maxConcurrency} tasks run at a time, the rest wait in line
+ * for a free slot. The default executor allows as many tasks as the pool has
+ * connections (<b>DB_POOL_MAX_SIZE</b>), so a burst of calls queues here
+ * instead of timing out while waiting for a connection.
+ * </p>
+ *
+ * <p>
+ * Long-lived or best-effort work, such as the drains of
+ * {@link QueryPublisher}s and the {@code EXPLAIN} runs of the
+ * {@link SlowQueryLog}, goes to the separate background executor, bounded to
+ * a quarter of the pool, so it never takes the slots the
+ * {@link java.util.concurrent.CompletableFuture} callers of the default one
+ * wait for.
+ * </p>
+ *
+ * <p>
+ * The project targets Java 17, where both shared executors run their tasks on
+ * a fixed set of daemon platform threads, one per slot. Only when run on Java
+ * 21 or later do they use a virtual thread per task instead.
+ * </p>
+ *
+ * <p>
+ * Tasks run on other threads, so they never take part in a
+ * {@link TransactionManager} transaction of the calling thread.
+ * </p>
+ *
+ * @author Eduardo Augusto (github.com/AsrielDreemurrGM/)
+ * @since October 17, 2026
+ */
+public final class DatabaseExecutor implements Executor {
+
+	private static final Logger LOGGER = Logger.getLogger(DatabaseExecutor.class.getName());
+
+	private static volatile DatabaseExecutor defaultExecutor;
+	private static volatile DatabaseExecutor backgroundExecutor;
+
+	private final Executor delegate;
+	private final Semaphore permits;
+
+	/**
+	 * @param delegate       Executor the tasks run on
+	 * @param maxConcurrency Maximum number of tasks running at a time
+	 */
+	public DatabaseExecutor(Executor delegate, int maxConcurrency) {
+		if (maxConcurrency < 1) {
+			throw new IllegalArgumentException("Maximum concurrency must be greater than zero");
+		}
+		this.delegate = delegate;
+		this.permits = new Semaphore(maxConcurrency, true);
+	}
+
+	/**
+	 * Returns the shared executor used by DAOs without an executor of their
+	 * own, creating it on first use.
+	 *
+	 * @return The default executor
+	 */
+	public static DatabaseExecutor getDefault() {
+		DatabaseExecutor current = defaultExecutor;
+		if (current == null) {
+			synchronized (DatabaseExecutor.class) {
+				current = defaultExecutor;
+				if (current == null) {
+					int maxConcurrency = ConnectionPoolConfig.fromEnvironment().getMaxSize();
+					current = new DatabaseExecutor(newThreadExecutor(maxConcurrency, "dao-async-"), maxConcurrency);
+					defaultExecutor = current;
+				}
+			}
+		}
+		return current;
+	}
+
+	/**
+	 * Returns the shared executor for background work that must not hold up
+	 * the asynchronous DAO calls, creating it on first use.
+	 *
+	 * @return The background executor
+	 */
+	public static DatabaseExecutor getBackground() {
+		DatabaseExecutor current = backgroundExecutor;
+		if (current == null) {
+			synchronized (DatabaseExecutor.class) {
+				current = backgroundExecutor;
+				if (current == null) {
+					int maxConcurrency = Math.max(1, ConnectionPoolConfig.fromEnvironment().getMaxSize() / 4);
+					current = new DatabaseExecutor(newThreadExecutor(maxConcurrency, "dao-background-"),
+							maxConcurrency);
+					backgroundExecutor = current;
+				}
+			}
+		}
+		return current;
+	}
+
+	/**
+	 * Runs the work on this executor.
+	 *
+	 * @param <R>  Result type
+	 * @param work The work, typically a DAO call
+	 * @return A future completed with the result of the work, or exceptionally
+	 *         with the exception it threw
+	 */
+	public <R> CompletableFuture<R> supply(Supplier<R> work) {
+		return CompletableFuture.supplyAsync(work, this);
+	}
+
+	@Override
+	public void execute(Runnable task) {
+		delegate.execute(() -> {
+			// Tasks must always run, or the futures waiting on them never complete
+			permits.acquireUninterruptibly();
+			try {
+				task.run();
+			} finally {
+				permits.release();
+			}
+		});
+	}
+
+	/**
+	 * @return Number of tasks waiting for a free slot
+	 */
+	public int getQueuedTasks() {
+		return permits.getQueueLength();
+	}
+
+	private static Executor newThreadExecutor(int threads, String namePrefix) {
+		try {
+			Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+			LOGGER.fine(() -> "Running " + namePrefix + " tasks on virtual threads");
+			return (ExecutorService) factory.invoke(null);
+		} catch (ReflectiveOperationException e) {
+			LOGGER.fine(() -> "Virtual threads unavailable; running " + namePrefix + " tasks on platform threads");
+			AtomicInteger count = new AtomicInteger();
+			return Executors.newFixedThreadPool(threads, task -> {
+				Thread thread = new Thread(task, namePrefix + count.incrementAndGet());
+				thread.setDaemon(true);
+				return thread;
+			});
+		}
+	}
+}
@@ -0,0 +1,232 @@
+package br.com.eaugusto.generic.jdbc;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.Arrays;
+
+import br.com.eaugusto.generic.jdbc.SlowQueryLog.Binding;
+
+/**
+ * Invocation handler behind the statements monitored by a
+ * {@link SlowQueryLog}.
+ *
+ * <p>
+ * Captures the {@code set*} calls of each parameter and times the
+ * executions. Updates and batches finish when the call returns; queries
+ * finish when their result set is closed, or the statement is, so their time
+ * includes reading the rows, which are counted on the way. Executions that
+ * reach the threshold of the log are recorded in it.
+ * </p>
+ *
+ * @author Eduardo Augusto (github.com/AsrielDreemurrGM/)
+ * @since October 17, 2026
+ */
+final class MonitoredStatementHandler implements InvocationHandler {
+
+	private final SlowQueryLog log;
+	private final PreparedStatement statement;
+	private final String sql;
+	private Binding[] bindings = new Binding[8];
+	private Binding[] batchBindings;
+	private int batchSize;
+	private QueryHandler openQuery;
+
+	private MonitoredStatementHandler(SlowQueryLog log, PreparedStatement statement, String sql) {
+		this.log = log;
+		this.statement = statement;
+		this.sql = sql;
+	}
+
+	static PreparedStatement newProxy(SlowQueryLog log, PreparedStatement statement, String sql) {
+		return (PreparedStatement) Proxy.newProxyInstance(PreparedStatement.class.getClassLoader(),
+				new Class<?>[] { PreparedStatement.class }, new MonitoredStatementHandler(log, statement, sql));
+	}
+
+	@Override
+	public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+		String name = method.getName();
+		if (args == null) {
+			switch (name) {
+			case "executeQuery":
+				return executeQuery(proxy, method);
+			case "execute":
+			case "executeUpdate":
+			case "executeLargeUpdate":
+			case "executeBatch":
+			case "executeLargeBatch":
+				return executeUpdate(method);
+			case "addBatch":
+				if (batchSize++ == 0) {
+					batchBindings = bindings.clone();
+				}
+				break;
+			case "clearBatch":
+				batchSize = 0;
+				batchBindings = null;
+				break;
+			case "clearParameters":
+				Arrays.fill(bindings, null);
+				break;
+			case "close":
+				finishQuery();
+				break;
+			case "hashCode":
+				return System.identityHashCode(proxy);
+			case "toString":
+				return "Monitored" + statement;
+			default:
+				break;
+			}
+		} else if ("equals".equals(name)) {
+			return proxy == args[0];
+		} else if (name.startsWith("set") && args.length >= 2 && args[0] instanceof Integer index && index > 0) {
+			bind(index, new Binding(method, args));
+		}
+		return delegate(statement, method, args);
+	}
+
+	private void bind(int index, Binding binding) {
+		if (index > bindings.length) {
+			bindings = Arrays.copyOf(bindings, Math.max(index, bindings.length * 2));
+		}
+		bindings[index - 1] = binding;
+	}
+
+	private Object executeQuery(Object proxy, Method method) throws Throwable {
+		finishQuery();
+		long start = System.nanoTime();
+		ResultSet result;
+		try {
+			result = (ResultSet) delegate(statement, method, null);
+		} catch (Throwable e) {
+			finish(bindings, 0, -1, System.nanoTime() - start, e);
+			throw e;
+		}
+		QueryHandler query = new QueryHandler(result, (Statement) proxy, bindings.clone(), start);
+		openQuery = query;
+		return Proxy.newProxyInstance(ResultSet.class.getClassLoader(), new Class<?>[] { ResultSet.class }, query);
+	}
+
+	private Object executeUpdate(Method method) throws Throwable {
+		finishQuery();
+		Binding[] executed = batchSize > 0 ? batchBindings : bindings;
+		int executedBatchSize = batchSize;
+		if (method.getName().endsWith("Batch")) {
+			// The driver clears the batch, whether it succeeds or not
+			batchSize = 0;
+			batchBindings = null;
+		}
+		long start = System.nanoTime();
+		Object result;
+		try {
+			result = delegate(statement, method, null);
+		} catch (Throwable e) {
+			finish(executed, executedBatchSize, -1, System.nanoTime() - start, e);
+			throw e;
+		}
+		long elapsed = System.nanoTime() - start;
+		if (elapsed >= log.getThresholdNanos()) {
+			log.record(sql, executed, executedBatchSize, rowsOf(result), elapsed, null);
+		}
+		return result;
+	}
+
+	private long rowsOf(Object result) throws Exception {
+		if (result instanceof Number count) {
+			return count.longValue();
+		} else if (result instanceof Boolean hasResultSet) {
+			return hasResultSet ? -1 : statement.getUpdateCount();
+		} else if (result instanceof int[] counts) {
+			return Arrays.stream(counts).mapToLong(count -> count == Statement.SUCCESS_NO_INFO ? 1 : count).sum();
+		} else if (result instanceof long[] counts) {
+			return Arrays.stream(counts).map(count -> count == Statement.SUCCESS_NO_INFO ? 1 : count).sum();
+		}
+		return -1;
+	}
+
+	private void finish(Binding[] executed, int executedBatchSize, long rows, long elapsedNanos, Throwable error) {
+		if (elapsedNanos >= log.getThresholdNanos()) {
+			log.record(sql, executed, executedBatchSize, rows, elapsedNanos, error);
+		}
+	}
+
+	/**
+	 * Finishes the query whose result set is still open, since closing or
+	 * executing the statement again closes it.
+	 */
+	private void finishQuery() {
+		QueryHandler query = openQuery;
+		if (query != null) {
+			query.finish();
+		}
+	}
+
+	private static Object delegate(Object target, Method method, Object[] args) throws Throwable {
+		try {
+			return method.invoke(target, args);
+		} catch (InvocationTargetException e) {
+			throw e.getCause();
+		}
+	}
+
+	/**
+	 * Invocation handler behind the result sets of monitored queries, which
+	 * counts the rows read and finishes the query when closed.
+	 */
+	private final class QueryHandler implements InvocationHandler {
+
+		private final ResultSet result;
+		private final Statement owner;
+		private final Binding[] executed;
+		private final long start;
+		private long rows;
+		private boolean finished;
+
+		QueryHandler(ResultSet result, Statement owner, Binding[] executed, long start) {
+			this.result = result;
+			this.owner = owner;
+			this.executed = executed;
+			this.start = start;
+		}
+
+		@Override
+		public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+			switch (method.getName()) {
+			case "next":
+				Object hasRow = delegate(result, method, args);
+				if (Boolean.TRUE.equals(hasRow)) {
+					rows++;
+				}
+				return hasRow;
+			case "close":
+				finish();
+				break;
+			case "getStatement":
+				return owner;
+			case "equals":
+				return proxy == args[0];
+			case "hashCode":
+				return System.identityHashCode(proxy);
+			default:
+				break;
+			}
+			return delegate(result, method, args);
+		}
+
+		void finish() {
+			if (finished) {
+				return;
+			}
+			finished = true;
+			if (openQuery == this) {
+				openQuery = null;
+			}
+			MonitoredStatementHandler.this.finish(executed, 0, rows, System.nanoTime() - start, null);
+		}
+	}
+}
@@ -0,0 +1,154 @@
+package br.com.eaugusto.generic.jdbc;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import br.com.eaugusto.generic.jdbc.ConnectionPool.PooledEntry;
+import br.com.eaugusto.generic.metrics.Instrumentation;
+
+/**
+ * Invocation handler behind the connections handed out by
+ * {@link ConnectionPool}.
+ *
+ * <p>
+ * Delegates every call to the physical connection, except {@code close()},
+ * which returns the connection to the pool, {@code isClosed()}, which reports
+ * the state of this logical handle, and {@code prepareStatement(..)}, which
+ * goes through the connection's {@link StatementCache}. Statements report this
+ * proxy as their connection, and changes to the session settings are recorded
+ * so the pool can restore them. Connection-level SQL errors (SQL state class
+ * {@code 08}) mark the physical connection as broken so the pool discards it
+ * instead of reusing it.
+ * </p>
+ *
+ * <p>
+ * The time spent preparing statements is reported to the
+ * {@link Instrumentation} of the running DAO operation, when enabled. When the
+ * pool has a {@link SlowQueryLog}, the prepared statements are monitored by
+ * it.
+ * </p>
+ *
+ * @author Eduardo Augusto (github.com/AsrielDreemurrGM/)
+ * @since October 17, 2026
+ */
+final class PooledConnectionHandler implements InvocationHandler {
+
+	private static final String CONNECTION_ERROR_STATE_CLASS = "08";
+
+	private final ConnectionPool pool;
+	private final PooledEntry entry;
+	private final AtomicBoolean closed = new AtomicBoolean();
+	private volatile boolean broken;
+
+	private PooledConnectionHandler(ConnectionPool pool, PooledEntry entry) {
+		this.pool = pool;
+		this.entry = entry;
+	}
+
+	static Connection newProxy(ConnectionPool pool, PooledEntry entry) {
+		return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+				new Class<?>[] { Connection.class }, new PooledConnectionHandler(pool, entry));
+	}
+
+	@Override
+	public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+		switch (method.getName()) {
+		case "close":
+			if (closed.compareAndSet(false, true)) {
+				pool.release(entry, broken);
+			}
+			return null;
+		case "isClosed":
+			return closed.get() || entry.getConnection().isClosed();
+		case "equals":
+			return proxy == args[0];
+		case "hashCode":
+			return System.identityHashCode(proxy);
+		case "toString":
+			return "Pooled" + entry.getConnection();
+		case "abort":
+			broken = true;
+			break;
+		default:
+			break;
+		}
+
+		if (closed.get()) {
+			throw new SQLException("Connection has already been returned to the pool.");
+		}
+
+		try {
+			switch (method.getName()) {
+			case "prepareStatement":
+				return prepareStatement((Connection) proxy, method, args);
+			case "createStatement", "prepareCall":
+				return wrap((Connection) proxy, method, (Statement) method.invoke(entry.getConnection(), args));
+			case "setReadOnly", "setTransactionIsolation", "setCatalog", "setSchema":
+				Runnable changed = entry.changeSession(method.getName(), args[0]);
+				method.invoke(entry.getConnection(), args);
+				changed.run();
+				return null;
+			default:
+				return method.invoke(entry.getConnection(), args);
+			}
+		} catch (InvocationTargetException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof SQLException sqlException && sqlException.getSQLState() != null
+					&& sqlException.getSQLState().startsWith(CONNECTION_ERROR_STATE_CLASS)) {
+				broken = true;
+			}
+			throw cause;
+		}
+	}
+
+	private Object prepareStatement(Connection proxy, Method method, Object[] args)
+			throws ReflectiveOperationException {
+		boolean timed = Instrumentation.isEnabled();
+		long start = timed ? System.nanoTime() : 0;
+		StatementCache statementCache = entry.getStatementCache();
+		Object statement = statementCache != null
+				? statementCache.prepare(entry.getConnection(), proxy, method, args)
+				: wrap(proxy, method, (Statement) method.invoke(entry.getConnection(), args));
+		SlowQueryLog slowQueryLog = pool.getSlowQueryLog();
+		if (slowQueryLog != null) {
+			statement = slowQueryLog.monitor((PreparedStatement) statement, (String) args[0]);
+		}
+		if (timed) {
+			Instrumentation.statementPrepared(System.nanoTime() - start);
+		}
+		return statement;
+	}
+
+	/**
+	 * Wraps a statement of the physical connection so its
+	 * {@code getConnection()} returns the pooled connection.
+	 */
+	private static Statement wrap(Connection proxy, Method method, Statement statement) {
+		return (Statement) Proxy.newProxyInstance(Statement.class.getClassLoader(),
+				new Class<?>[] { method.getReturnType() }, (statementProxy, statementMethod, args) -> {
+					switch (statementMethod.getName()) {
+					case "getConnection":
+						return proxy;
+					case "equals":
+						return statementProxy == args[0];
+					case "hashCode":
+						return System.identityHashCode(statementProxy);
+					case "toString":
+						return "Pooled" + statement;
+					default:
+						try {
+							return statementMethod.invoke(statement, args);
+						} catch (InvocationTargetException e) {
+							throw e.getCause();
+						}
+					}
+				});
+	}
+}
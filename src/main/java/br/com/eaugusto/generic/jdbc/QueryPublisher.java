@@ -0,0 +1,179 @@
+package br.com.eaugusto.generic.jdbc;
+
+import java.sql.SQLException;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import br.com.eaugusto.exceptions.DAOException;
+
+/**
+ * Publishes the rows of a query to {@link Flow.Subscriber}s, reading them
+ * through a server-side cursor only as fast as subscribers ask for them.
+ *
+ * <p>
+ * Each subscriber gets its own query, started on its first request. Rows are
+ * fetched from the cursor in chunks of the fetch size, and the next chunk is
+ * only fetched once the subscriber has requested more rows than were read so
+ * far, so a slow subscriber holds at most one chunk in memory. Cancelling the
+ * subscription stops the statement if it is still running, then closes the
+ * cursor and returns its connection to the pool.
+ * </p>
+ *
+ * <p>
+ * Signals are delivered on the given executor, one at a time per
+ * subscription. The connection stays borrowed until the query completes,
+ * fails or is cancelled.
+ * </p>
+ *
+ * @param <T> Published type
+ *
+ * @author Eduardo Augusto (github.com/AsrielDreemurrGM/)
+ * @since October 17, 2026
+ */
+public final class QueryPublisher<T> implements Flow.Publisher<T> {
+
+	private static final Logger LOGGER = Logger.getLogger(QueryPublisher.class.getName());
+
+	private final String sql;
+	private final CursorQuery.ParameterBinder binder;
+	private final RowMapper<T> mapper;
+	private final int fetchSize;
+	private final Executor executor;
+
+	/**
+	 * @param sql       The query
+	 * @param binder    Binds the query parameters
+	 * @param mapper    Maps each row
+	 * @param fetchSize Rows fetched per round trip, greater than zero
+	 * @param executor  Executor the query runs and signals are delivered on
+	 */
+	public QueryPublisher(String sql, CursorQuery.ParameterBinder binder, RowMapper<T> mapper, int fetchSize,
+			Executor executor) {
+		if (fetchSize < 1) {
+			throw new IllegalArgumentException("Fetch size must be greater than zero");
+		}
+		this.sql = sql;
+		this.binder = binder;
+		this.mapper = mapper;
+		this.fetchSize = fetchSize;
+		this.executor = executor;
+	}
+
+	@Override
+	public void subscribe(Flow.Subscriber<? super T> subscriber) {
+		Objects.requireNonNull(subscriber, "subscriber");
+		subscriber.onSubscribe(new CursorSubscription(subscriber));
+	}
+
+	/**
+	 * Subscription backed by one cursor. Every signal is emitted by a single
+	 * drain loop, scheduled on the executor whenever demand or cancellation
+	 * changes and no loop is running.
+	 */
+	private final class CursorSubscription implements Flow.Subscription {
+
+		private final Flow.Subscriber<? super T> subscriber;
+		private final AtomicLong demand = new AtomicLong();
+		private final AtomicInteger pendingDrains = new AtomicInteger();
+		private volatile boolean cancelled;
+		private volatile IllegalArgumentException invalidRequest;
+		private volatile CursorQuery.Cursor<T> cursor;
+		private boolean done;
+
+		CursorSubscription(Flow.Subscriber<? super T> subscriber) {
+			this.subscriber = subscriber;
+		}
+
+		@Override
+		public void request(long n) {
+			if (n <= 0) {
+				invalidRequest = new IllegalArgumentException("Requested rows must be greater than zero, got " + n);
+			} else {
+				demand.accumulateAndGet(n, (current, added) -> current + added < 0 ? Long.MAX_VALUE : current + added);
+			}
+			schedule();
+		}
+
+		@Override
+		public void cancel() {
+			cancelled = true;
+			CursorQuery.Cursor<T> open = cursor;
+			if (open != null) {
+				open.cancel();
+			}
+			schedule();
+		}
+
+		private void schedule() {
+			if (pendingDrains.getAndIncrement() == 0) {
+				executor.execute(this::drain);
+			}
+		}
+
+		private void drain() {
+			int missed = 1;
+			do {
+				emit();
+				missed = pendingDrains.addAndGet(-missed);
+			} while (missed != 0);
+		}
+
+		private void emit() {
+			if (done) {
+				return;
+			}
+			if (cancelled) {
+				finish();
+				return;
+			}
+			if (invalidRequest != null) {
+				finish();
+				subscriber.onError(invalidRequest);
+				return;
+			}
+			try {
+				while (demand.get() > 0 && !cancelled) {
+					if (cursor == null) {
+						cursor = CursorQuery.open(sql, binder, mapper, fetchSize);
+					}
+					if (!cursor.next()) {
+						finish();
+						subscriber.onComplete();
+						return;
+					}
+					T item = cursor.map();
+					demand.decrementAndGet();
+					subscriber.onNext(item);
+				}
+				if (cancelled) {
+					finish();
+				}
+			} catch (SQLException | RuntimeException e) {
+				boolean wasCancelled = cancelled;
+				finish();
+				if (!wasCancelled) {
+					subscriber.onError(
+							e instanceof DAOException ? e : new DAOException("Error reading row from cursor", e));
+				}
+			}
+		}
+
+		private void finish() {
+			done = true;
+			CursorQuery.Cursor<T> open = cursor;
+			cursor = null;
+			if (open != null) {
+				try {
+					open.close();
+				} catch (DAOException e) {
+					LOGGER.log(Level.WARNING, "Error closing published query", e);
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,23 @@
+package br.com.eaugusto.generic.jdbc;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Maps the current row of a {@link ResultSet} to an object.
+ *
+ * @param <T> Mapped type
+ *
+ * @author Eduardo Augusto (github.com/AsrielDreemurrGM/)
+ * @since October 17, 2026
+ */
+@FunctionalInterface
+public interface RowMapper<T> {
+
+	/**
+	 * @param result The result set positioned on a row
+	 * @return The mapped object
+	 * @throws SQLException If a column cannot be read
+	 */
+	public T map(ResultSet result) throws SQLException;
+}
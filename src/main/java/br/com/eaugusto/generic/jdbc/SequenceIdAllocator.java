@@ -0,0 +1,162 @@
+package br.com.eaugusto.generic.jdbc;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import br.com.eaugusto.exceptions.DAOException;
+
+/**
+ * Hands out ids from a database sequence, fetching them in blocks so inserts
+ * do not call {@code nextval} once per row.
+ *
+ * <p>
+ * Sequences created with {@code INCREMENT BY n} reserve {@code n} ids per
+ * {@code nextval} call: a value {@code v} stands for the ids {@code v} to
+ * {@code v + n - 1}, which are handed out locally without touching the
+ * database again. A statement calling {@code nextval} itself would use only
+ * the first id of each reservation, so every insert of the DAOs takes its id
+ * from here instead. With {@code INCREMENT BY 1}, a block is made of as many
+ * {@code nextval} calls, issued by a single query.
+ * </p>
+ *
+ * <p>
+ * Each block is fetched with a single query on the caller's connection when
+ * given one, so a caller already holding a pooled connection never waits for
+ * a second one. Otherwise the query runs on the transaction's connection, or
+ * on one borrowed for it. Sequences are not transactional, so ids fetched
+ * inside a transaction stay reserved if it rolls back; they are never used,
+ * like the ids left in a block when the process stops. A connection streaming
+ * a {@code COPY} cannot run the query, so bulk loaders allocate their ids
+ * before the {@code COPY} starts.
+ * </p>
+ *
+ * @author Eduardo Augusto (github.com/AsrielDreemurrGM/)
+ * @since October 17, 2026
+ */
+public class SequenceIdAllocator {
+
+	/**
+	 * Default number of ids fetched per round trip, matching the increment of
+	 * the sequences in {@code schema.sql}.
+	 */
+	public static final int DEFAULT_BLOCK_SIZE = 50;
+
+	private static final String INCREMENT_SQL = "SELECT seqincrement FROM pg_sequence WHERE seqrelid = ?::regclass";
+	private static final String NEXT_BLOCK_SQL = "SELECT nextval(?::regclass) FROM generate_series(1, ?)";
+	private static final Map<String, SequenceIdAllocator> SHARED = new ConcurrentHashMap<>();
+
+	private final String sequenceName;
+	private final int blockSize;
+	private long increment;
+	private long[] block = new long[0];
+	private int position;
+
+	/**
+	 * @param sequenceName The sequence name, for example {@code sq_product}
+	 * @param blockSize    Minimum number of ids fetched per round trip
+	 */
+	public SequenceIdAllocator(String sequenceName, int blockSize) {
+		if (blockSize < 1) {
+			throw new IllegalArgumentException("Block size must be greater than zero");
+		}
+		this.sequenceName = sequenceName;
+		this.blockSize = blockSize;
+	}
+
+	/**
+	 * Returns the allocator shared by every caller of this process for a
+	 * sequence, so reserved ids are not spread over several allocators.
+	 *
+	 * @param sequenceName The sequence name
+	 * @return The shared allocator, with the default block size
+	 */
+	public static SequenceIdAllocator forSequence(String sequenceName) {
+		return SHARED.computeIfAbsent(sequenceName, name -> new SequenceIdAllocator(name, DEFAULT_BLOCK_SIZE));
+	}
+
+	/**
+	 * Returns the next id, fetching a new block from the sequence when the
+	 * current one is used up, on the transaction's connection or on one
+	 * borrowed only for the fetch.
+	 *
+	 * @return A new id
+	 * @throws DAOException If the sequence cannot be read
+	 */
+	public long next() {
+		synchronized (this) {
+			if (position < block.length) {
+				return block[position++];
+			}
+		}
+		// Borrowed outside the lock, so callers fetching on their own
+		// connection do not wait for the pool
+		try (Connection connection = ConnectionFactory.getConnection()) {
+			return next(connection);
+		} catch (SQLException e) {
+			throw new DAOException("Error allocating ids from sequence " + sequenceName, e);
+		}
+	}
+
+	/**
+	 * Returns the next id, fetching a new block from the sequence on the given
+	 * connection when the current one is used up.
+	 *
+	 * @param connection An open connection that is not streaming a
+	 *                   {@code COPY}
+	 * @return A new id
+	 * @throws DAOException If the sequence cannot be read
+	 */
+	public synchronized long next(Connection connection) {
+		if (position == block.length) {
+			block = fetchBlock(connection);
+			position = 0;
+		}
+		return block[position++];
+	}
+
+	private long[] fetchBlock(Connection connection) {
+		try {
+			if (increment == 0) {
+				increment = readIncrement(connection);
+			}
+			int calls = (int) ((blockSize + increment - 1) / increment);
+			long[] ids = new long[(int) (calls * increment)];
+			int count = 0;
+			try (PreparedStatement statement = connection.prepareStatement(NEXT_BLOCK_SQL)) {
+				statement.setString(1, sequenceName);
+				statement.setInt(2, calls);
+				try (ResultSet result = statement.executeQuery()) {
+					while (result.next()) {
+						long first = result.getLong(1);
+						for (long i = 0; i < increment; i++) {
+							ids[count++] = first + i;
+						}
+					}
+				}
+			}
+			return ids;
+		} catch (SQLException e) {
+			throw new DAOException("Error allocating ids from sequence " + sequenceName, e);
+		}
+	}
+
+	/**
+	 * Reads the sequence increment; descending sequences get one id per call.
+	 */
+	private long readIncrement(Connection connection) throws SQLException {
+		try (PreparedStatement statement = connection.prepareStatement(INCREMENT_SQL)) {
+			statement.setString(1, sequenceName);
+			try (ResultSet result = statement.executeQuery()) {
+				return result.next() ? Math.max(1, result.getLong(1)) : 1;
+			}
+		}
+	}
+
+	public String getSequenceName() {
+		return sequenceName;
+	}
+}
@@ -0,0 +1,130 @@
+package br.com.eaugusto.generic.jdbc;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A statement that took longer than the threshold of the
+ * {@link SlowQueryLog}, with what it took to find out why.
+ *
+ * @author Eduardo Augusto (github.com/AsrielDreemurrGM/)
+ * @since October 17, 2026
+ */
+public final class SlowQuery {
+
+	private final Instant timestamp;
+	private final String sql;
+	private final List<String> parameters;
+	private final int batchSize;
+	private final long rows;
+	private final long elapsedNanos;
+	private final String caller;
+	private final String error;
+	private volatile String plan;
+
+	SlowQuery(Instant timestamp, String sql, List<String> parameters, int batchSize, long rows, long elapsedNanos,
+			String caller, String error) {
+		this.timestamp = timestamp;
+		this.sql = sql;
+		this.parameters = List.copyOf(parameters);
+		this.batchSize = batchSize;
+		this.rows = rows;
+		this.elapsedNanos = elapsedNanos;
+		this.caller = caller;
+		this.error = error;
+	}
+
+	/**
+	 * @return When the statement finished
+	 */
+	public Instant getTimestamp() {
+		return timestamp;
+	}
+
+	public String getSql() {
+		return sql;
+	}
+
+	/**
+	 * @return The bound parameters, rendered as text, with the values of masked
+	 *         or unknown columns replaced by {@code ****}; for batches, the
+	 *         parameters of the first row
+	 */
+	public List<String> getParameters() {
+		return parameters;
+	}
+
+	/**
+	 * @return Rows in the batch, or 0 if the statement was not batched
+	 */
+	public int getBatchSize() {
+		return batchSize;
+	}
+
+	/**
+	 * @return Rows read or written, or -1 if unknown
+	 */
+	public long getRows() {
+		return rows;
+	}
+
+	/**
+	 * @return Time from the execution until the statement finished, including
+	 *         reading its results
+	 */
+	public long getElapsedMillis() {
+		return TimeUnit.NANOSECONDS.toMillis(elapsedNanos);
+	}
+
+	public long getElapsedNanos() {
+		return elapsedNanos;
+	}
+
+	/**
+	 * @return The DAO method that ran the statement and the code that called it
+	 */
+	public String getCaller() {
+		return caller;
+	}
+
+	/**
+	 * @return The message of the exception the statement failed with, or
+	 *         {@code null} if it succeeded
+	 */
+	public String getError() {
+		return error;
+	}
+
+	/**
+	 * @return The output of {@code EXPLAIN (ANALYZE, BUFFERS)}, or {@code null}
+	 *         if the statement was not sampled or the plan is not ready yet
+	 */
+	public String getPlan() {
+		return plan;
+	}
+
+	void setPlan(String plan) {
+		this.plan = plan;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder builder = new StringBuilder("Slow query (").append(elapsedNanos / 1_000 / 1_000.0)
+				.append(" ms");
+		if (rows >= 0) {
+			builder.append(", ").append(rows).append(rows == 1 ? " row" : " rows");
+		}
+		if (batchSize > 0) {
+			builder.append(", batch of ").append(batchSize);
+		}
+		builder.append(") from ").append(caller).append(": ").append(sql.replaceAll("\\s+", " ").trim());
+		if (!parameters.isEmpty()) {
+			builder.append(" with ").append(parameters);
+		}
+		if (error != null) {
+			builder.append(" failed: ").append(error);
+		}
+		return builder.toString();
+	}
+}
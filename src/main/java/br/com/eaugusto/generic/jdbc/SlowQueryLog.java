@@ -0,0 +1,447 @@
+package br.com.eaugusto.generic.jdbc;
+
+import java.io.InputStream;
+import java.io.Reader;
+import java.lang.reflect.Method;
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import br.com.eaugusto.exceptions.DatabaseConnectionException;
+
+/**
+ * Detects prepared statements that take longer than a threshold, keeping the
+ * most recent ones in a bounded buffer and logging each one as a warning.
+ *
+ * <p>
+ * When a {@link ConnectionPool} has a slow query log, every statement the
+ * DAOs prepare on it is monitored: its bound parameters are captured and its
+ * execution timed, until its results are read for queries. A statement that
+ * reaches the threshold is recorded as a {@link SlowQuery} with its SQL, its
+ * parameters, the rows it read or wrote, its duration and the DAO method that
+ * ran it. Values bound to the masked columns, such as {@code cpf}, are
+ * replaced by {@code ****}, and so are the values whose column cannot be told
+ * from the SQL, unless no column is masked; see {@link SqlParameterNames} for
+ * how parameters are matched to columns.
+ * </p>
+ *
+ * <p>
+ * A sample of the slow queries the DAOs marked as read-only, through
+ * {@link #markReadOnly(String)}, can be explained with
+ * {@code EXPLAIN (ANALYZE, BUFFERS)}, which runs the statement again. It runs
+ * on the background {@link DatabaseExecutor}, on another pooled connection, in
+ * a transaction that is rolled back, and its plan is logged and attached to
+ * the recorded query.
+ * Statements with masked parameters are never explained, since plans may
+ * show the values they were run with.
+ * </p>
+ *
+ * <p>
+ * The pool reads its slow query log from environment variables:
+ * <ul>
+ * <li><b>DB_SLOW_QUERY_THRESHOLD_MS</b>: Duration from which statements are
+ * recorded; the log is disabled when not set</li>
+ * <li><b>DB_SLOW_QUERY_BUFFER_SIZE</b>: Slow queries kept in memory (default
+ * 100)</li>
+ * <li><b>DB_SLOW_QUERY_MASKED_COLUMNS</b>: Comma-separated columns whose
+ * values are masked (default {@code cpf}); empty to mask nothing</li>
+ * <li><b>DB_SLOW_QUERY_EXPLAIN_RATE</b>: Fraction of slow read-only queries
+ * explained, from 0 to 1 (default 0)</li>
+ * </ul>
+ * </p>
+ *
+ * @author Eduardo Augusto (github.com/AsrielDreemurrGM/)
+ * @since October 17, 2026
+ */
+public class SlowQueryLog {
+
+	private static final Logger LOGGER = Logger.getLogger(SlowQueryLog.class.getName());
+
+	public static final int DEFAULT_CAPACITY = 100;
+	public static final Set<String> DEFAULT_MASKED_COLUMNS = Set.of("cpf");
+
+	private static final String MASK = "****";
+	private static final int MAX_PARAMETER_LENGTH = 64;
+	private static final int EXPLAIN_TIMEOUT_SECONDS = 30;
+	private static final Pattern LOCKING_CLAUSE = Pattern
+			.compile("\\bFOR\\s+(NO\\s+KEY\\s+UPDATE|UPDATE|KEY\\s+SHARE|SHARE)\\b", Pattern.CASE_INSENSITIVE);
+	private static final StackWalker STACK_WALKER = StackWalker.getInstance();
+	private static final Set<String> READ_ONLY_QUERIES = ConcurrentHashMap.newKeySet();
+
+	private final long thresholdNanos;
+	private final int capacity;
+	private final Set<String> maskedColumns;
+	private final double explainRate;
+	private final Deque<SlowQuery> recent = new ArrayDeque<>();
+	private final LongAdder slowQueries = new LongAdder();
+
+	/**
+	 * Creates a log with the default buffer size and masked columns, which
+	 * explains no statement.
+	 *
+	 * @param thresholdMillis Duration from which statements are recorded, 0
+	 *                        records every statement
+	 */
+	public SlowQueryLog(long thresholdMillis) {
+		this(thresholdMillis, DEFAULT_CAPACITY, DEFAULT_MASKED_COLUMNS, 0);
+	}
+
+	/**
+	 * @param thresholdMillis Duration from which statements are recorded, 0
+	 *                        records every statement
+	 * @param capacity        Slow queries kept in memory, greater than zero
+	 * @param maskedColumns   Columns whose values are masked, in any case
+	 * @param explainRate     Fraction of slow read-only queries explained,
+	 *                        from 0 to 1
+	 */
+	public SlowQueryLog(long thresholdMillis, int capacity, Set<String> maskedColumns, double explainRate) {
+		if (thresholdMillis < 0) {
+			throw new IllegalArgumentException("Slow query threshold cannot be negative");
+		}
+		if (capacity < 1) {
+			throw new IllegalArgumentException("Slow query buffer size must be greater than zero");
+		}
+		if (explainRate < 0 || explainRate > 1) {
+			throw new IllegalArgumentException("Explain rate must be between 0 and 1");
+		}
+		this.thresholdNanos = TimeUnit.MILLISECONDS.toNanos(thresholdMillis);
+		this.capacity = capacity;
+		this.maskedColumns = maskedColumns.stream().map(column -> column.trim().toLowerCase(Locale.ROOT))
+				.filter(column -> !column.isEmpty()).collect(Collectors.toUnmodifiableSet());
+		this.explainRate = explainRate;
+	}
+
+	/**
+	 * Builds a log from the <b>DB_SLOW_QUERY_*</b> environment variables.
+	 *
+	 * @return The slow query log, or {@code null} if
+	 *         <b>DB_SLOW_QUERY_THRESHOLD_MS</b> is not set
+	 * @throws DatabaseConnectionException If a variable holds an invalid value
+	 */
+	public static SlowQueryLog fromEnvironment() {
+		String threshold = System.getenv("DB_SLOW_QUERY_THRESHOLD_MS");
+		if (threshold == null || threshold.isBlank()) {
+			return null;
+		}
+		String capacity = System.getenv("DB_SLOW_QUERY_BUFFER_SIZE");
+		String maskedColumns = System.getenv("DB_SLOW_QUERY_MASKED_COLUMNS");
+		String explainRate = System.getenv("DB_SLOW_QUERY_EXPLAIN_RATE");
+		try {
+			return new SlowQueryLog(Long.parseLong(threshold.trim()),
+					capacity == null || capacity.isBlank() ? DEFAULT_CAPACITY : Integer.parseInt(capacity.trim()),
+					maskedColumns == null ? DEFAULT_MASKED_COLUMNS : Set.of(maskedColumns.split("\\s*,\\s*")),
+					explainRate == null || explainRate.isBlank() ? 0 : Double.parseDouble(explainRate.trim()));
+		} catch (IllegalArgumentException e) {
+			throw new DatabaseConnectionException("Invalid DB_SLOW_QUERY_* configuration: " + e.getMessage(), e);
+		}
+	}
+
+	/**
+	 * Marks the queries that start with the given SQL as free of side effects,
+	 * so slow ones can be explained. The DAOs mark the select list of their
+	 * entities; statements that were not marked are never explained.
+	 *
+	 * @param sqlPrefix The start of the read-only queries, such as
+	 *                  {@code SELECT columns FROM table}
+	 */
+	public static void markReadOnly(String sqlPrefix) {
+		READ_ONLY_QUERIES.add(sqlPrefix);
+	}
+
+	/**
+	 * Wraps a statement so its executions are timed and checked against the
+	 * threshold.
+	 */
+	PreparedStatement monitor(PreparedStatement statement, String sql) {
+		return MonitoredStatementHandler.newProxy(this, statement, sql);
+	}
+
+	long getThresholdNanos() {
+		return thresholdNanos;
+	}
+
+	/**
+	 * Records a statement that reached the threshold. Called by
+	 * {@link MonitoredStatementHandler} on the thread that ran it.
+	 */
+	void record(String sql, Binding[] bindings, int batchSize, long rows, long elapsedNanos, Throwable error) {
+		String[] columns = SqlParameterNames.of(sql);
+		List<String> parameters = new ArrayList<>(bindings.length);
+		boolean masked = false;
+		int last = bindings.length;
+		while (last > 0 && bindings[last - 1] == null) {
+			last--;
+		}
+		for (int i = 0; i < last; i++) {
+			if (isMasked(i < columns.length ? columns[i] : null)) {
+				parameters.add(MASK);
+				masked = true;
+			} else {
+				parameters.add(bindings[i] == null ? "?" : render(bindings[i].getValue()));
+			}
+		}
+
+		SlowQuery query = new SlowQuery(Instant.now(), sql, parameters, batchSize, rows, elapsedNanos, callerOf(),
+				error == null ? null : String.valueOf(error.getMessage()));
+		slowQueries.increment();
+		synchronized (recent) {
+			recent.addLast(query);
+			if (recent.size() > capacity) {
+				recent.removeFirst();
+			}
+		}
+		LOGGER.warning(query::toString);
+
+		if (error == null && !masked && isExplainable(sql) && explainRate > 0
+				&& ThreadLocalRandom.current().nextDouble() < explainRate) {
+			Binding[] replay = snapshot(bindings, last);
+			if (replay != null) {
+				DatabaseExecutor.getBackground().execute(() -> explain(query, replay));
+			}
+		}
+	}
+
+	/**
+	 * Placeholders whose column is unknown may bind a masked value, so they are
+	 * masked too, unless no column is.
+	 */
+	private boolean isMasked(String column) {
+		return column == null ? !maskedColumns.isEmpty() : maskedColumns.contains(column);
+	}
+
+	/**
+	 * Only queries marked as read-only are explained, since {@code ANALYZE} runs
+	 * the statement again, and a rollback does not undo everything a
+	 * {@code SELECT} can do, such as calling {@code nextval}.
+	 */
+	private static boolean isExplainable(String sql) {
+		for (String readOnly : READ_ONLY_QUERIES) {
+			if (sql.startsWith(readOnly)) {
+				return !LOCKING_CLAUSE.matcher(sql).find();
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Copies the bindings for replaying them on another connection, reading
+	 * arrays while the connection that created them is still in use.
+	 *
+	 * @return The copy, or {@code null} if a value cannot be replayed
+	 */
+	private static Binding[] snapshot(Binding[] bindings, int length) {
+		Binding[] copy = new Binding[length];
+		try {
+			for (int i = 0; i < length; i++) {
+				copy[i] = bindings[i] == null ? null : bindings[i].snapshot();
+			}
+			return copy;
+		} catch (SQLException | RuntimeException e) {
+			LOGGER.log(Level.FINE, "Slow query parameters cannot be replayed", e);
+			return null;
+		}
+	}
+
+	private void explain(SlowQuery query, Binding[] bindings) {
+		try (Connection pooled = ConnectionFactory.getConnection()) {
+			// The physical connection keeps the plan out of the statement cache and this log
+			Connection connection = pooled.unwrap(Connection.class);
+			boolean autoCommit = connection.getAutoCommit();
+			connection.setAutoCommit(false);
+			try (PreparedStatement statement = connection
+					.prepareStatement("EXPLAIN (ANALYZE, BUFFERS) " + query.getSql())) {
+				statement.setQueryTimeout(EXPLAIN_TIMEOUT_SECONDS);
+				for (int i = 0; i < bindings.length; i++) {
+					if (bindings[i] != null) {
+						bindings[i].bind(connection, statement);
+					}
+				}
+				StringBuilder plan = new StringBuilder();
+				try (ResultSet result = statement.executeQuery()) {
+					while (result.next()) {
+						plan.append(result.getString(1)).append(System.lineSeparator());
+					}
+				}
+				query.setPlan(plan.toString());
+				LOGGER.warning(() -> "Plan of " + query + System.lineSeparator() + plan);
+			} finally {
+				connection.rollback();
+				connection.setAutoCommit(autoCommit);
+			}
+		} catch (SQLException | ReflectiveOperationException | RuntimeException e) {
+			LOGGER.log(Level.INFO, "Could not explain slow query", e);
+		}
+	}
+
+	/**
+	 * Finds the outermost DAO method on the stack and the code that called it.
+	 */
+	private static String callerOf() {
+		return STACK_WALKER.walk(frames -> {
+			String dao = null;
+			for (StackWalker.StackFrame frame : (Iterable<StackWalker.StackFrame>) frames::iterator) {
+				String className = frame.getClassName();
+				if (className.startsWith("java.") || className.startsWith("jdk.") || className.startsWith("sun.")
+						|| className.startsWith("com.sun.") || className.startsWith("br.com.eaugusto.generic.")) {
+					continue;
+				}
+				if (className.startsWith("br.com.eaugusto.dao.")) {
+					dao = simpleName(className) + "." + methodName(frame);
+				} else {
+					String caller = simpleName(className) + "." + frame.getMethodName() + ":" + frame.getLineNumber();
+					return dao == null ? caller : dao + " (" + caller + ")";
+				}
+			}
+			return dao == null ? "unknown" : dao;
+		});
+	}
+
+	private static String simpleName(String className) {
+		return className.substring(className.lastIndexOf('.') + 1);
+	}
+
+	/**
+	 * Names the method a lambda was declared in rather than the lambda.
+	 */
+	private static String methodName(StackWalker.StackFrame frame) {
+		String name = frame.getMethodName();
+		if (name.startsWith("lambda$")) {
+			int end = name.indexOf('$', 7);
+			return end < 0 ? name : name.substring(7, end);
+		}
+		return name;
+	}
+
+	private static String render(Object value) {
+		if (value == null) {
+			return "NULL";
+		} else if (value instanceof byte[] bytes) {
+			return "<" + bytes.length + " bytes>";
+		} else if (value instanceof InputStream || value instanceof Reader) {
+			return "<stream>";
+		}
+		String text = String.valueOf(value);
+		if (text.length() > MAX_PARAMETER_LENGTH) {
+			text = text.substring(0, MAX_PARAMETER_LENGTH) + "...";
+		}
+		return value instanceof String || value instanceof Character ? "'" + text + "'" : text;
+	}
+
+	/**
+	 * @return The most recent slow queries, oldest first
+	 */
+	public List<SlowQuery> getRecent() {
+		synchronized (recent) {
+			return new ArrayList<>(recent);
+		}
+	}
+
+	/**
+	 * @return Slow queries recorded since the log was created, including those
+	 *         no longer in the buffer
+	 */
+	public long getSlowQueryCount() {
+		return slowQueries.sum();
+	}
+
+	/**
+	 * Empties the buffer of recent slow queries.
+	 */
+	public void clear() {
+		synchronized (recent) {
+			recent.clear();
+		}
+	}
+
+	public long getThresholdMillis() {
+		return TimeUnit.NANOSECONDS.toMillis(thresholdNanos);
+	}
+
+	public int getCapacity() {
+		return capacity;
+	}
+
+	public Set<String> getMaskedColumns() {
+		return maskedColumns;
+	}
+
+	public double getExplainRate() {
+		return explainRate;
+	}
+
+	/**
+	 * A {@code set*} call on a monitored statement, which can be replayed on
+	 * another statement.
+	 */
+	static final class Binding {
+
+		private final Method setter;
+		private final Object[] args;
+
+		Binding(Method setter, Object[] args) {
+			this.setter = setter;
+			this.args = args;
+		}
+
+		/**
+		 * @return The value bound, {@code null} for {@code setNull}
+		 */
+		Object getValue() {
+			return "setNull".equals(setter.getName()) ? null : args[1];
+		}
+
+		/**
+		 * Arrays belong to the connection that created them, so their elements
+		 * are copied to be recreated on the replaying connection.
+		 */
+		Binding snapshot() throws SQLException {
+			if (!(args[1] instanceof Array array)) {
+				return this;
+			}
+			Object[] copied = args.clone();
+			copied[1] = new ArrayValue(array.getBaseTypeName(), (Object[]) array.getArray());
+			return new Binding(setter, copied);
+		}
+
+		void bind(Connection connection, PreparedStatement statement)
+				throws SQLException, ReflectiveOperationException {
+			Object[] replayed = args;
+			if (args[1] instanceof ArrayValue array) {
+				replayed = args.clone();
+				replayed[1] = connection.createArrayOf(array.baseTypeName, array.elements);
+			}
+			setter.invoke(statement, replayed);
+		}
+	}
+
+	/**
+	 * Elements of a bound array, detached from its connection.
+	 */
+	private static final class ArrayValue {
+
+		private final String baseTypeName;
+		private final Object[] elements;
+
+		ArrayValue(String baseTypeName, Object[] elements) {
+			this.baseTypeName = baseTypeName;
+			this.elements = elements;
+		}
+	}
+}
@@ -0,0 +1,170 @@
+package br.com.eaugusto.generic.jdbc;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Finds the column each {@code ?} placeholder of a statement is bound to, so
+ * {@link SlowQueryLog} can mask the values of sensitive columns.
+ *
+ * <p>
+ * Handles the shapes of SQL the DAOs generate, in each statement of a
+ * {@code ;}-separated script such as a pipeline: the values of
+ * {@code INSERT INTO table (columns) VALUES (...)}, with one or more rows, and
+ * of row-value comparisons such as {@code (cpf, id) > (?, ?)} are matched to
+ * their column lists by position, and any other placeholder to the column it
+ * is compared with or assigned to, as in {@code cpf = ?},
+ * {@code code = ANY(?)} or {@code version = COALESCE(?, version)}.
+ * Placeholders of {@code LIMIT} and {@code OFFSET} bind no column; those in
+ * any other expression have an unknown column.
+ * </p>
+ *
+ * @author Eduardo Augusto (github.com/AsrielDreemurrGM/)
+ * @since October 17, 2026
+ */
+final class SqlParameterNames {
+
+	/**
+	 * Name of the placeholders known not to bind a column value.
+	 */
+	static final String NO_COLUMN = "";
+
+	private static final Pattern INSERT_VALUES = Pattern
+			.compile("\\s*INSERT\\s+INTO\\s+[\\w.\"]+\\s*\\(([^)]*)\\)\\s*VALUES\\s*", Pattern.CASE_INSENSITIVE);
+
+	private static final Pattern COMPARED_COLUMN = Pattern.compile("([A-Za-z_][\\w.\"]*)\\s*"
+			+ "(?:=|<>|!=|<=|>=|<|>|\\bLIKE\\b|\\bILIKE\\b)\\s*(?:ANY\\s*\\(|COALESCE\\s*\\()?\\s*$",
+			Pattern.CASE_INSENSITIVE);
+
+	private static final Pattern COMPARED_ROW = Pattern.compile("\\(([^()]*)\\)\\s*(?:=|<>|!=|<=|>=|<|>)\\s*$");
+
+	private static final Pattern ROW_LIMIT = Pattern.compile("\\b(?:LIMIT|OFFSET)\\s*$", Pattern.CASE_INSENSITIVE);
+
+	/**
+	 * Only this much of the text before a placeholder, or before the row it is
+	 * part of, is searched for its column.
+	 */
+	private static final int LOOK_BEHIND = 80;
+
+	private SqlParameterNames() {
+		// To prevent instantiation
+	}
+
+	/**
+	 * @param sql The statement, or several separated by {@code ;}
+	 * @return The lower case column of each placeholder, in order,
+	 *         {@link #NO_COLUMN} for placeholders that bind no column, or
+	 *         {@code null} for placeholders whose column is unknown
+	 */
+	static String[] of(String sql) {
+		List<String> names = new ArrayList<>();
+		int start = 0;
+		for (int i = 0; i < sql.length(); i++) {
+			char c = sql.charAt(i);
+			if (c == '\'' || c == '"') {
+				i = skipQuoted(sql, i, c);
+			} else if (c == ';') {
+				addStatement(sql, start, i, names);
+				start = i + 1;
+			}
+		}
+		addStatement(sql, start, sql.length(), names);
+		return names.toArray(String[]::new);
+	}
+
+	/**
+	 * Adds the names of the placeholders of the statement between
+	 * {@code start} and {@code end}.
+	 */
+	private static void addStatement(String sql, int start, int end, List<String> names) {
+		String[] insertColumns = null;
+		int valuesStart = -1;
+		Matcher insert = INSERT_VALUES.matcher(sql).region(start, end);
+		if (insert.lookingAt()) {
+			insertColumns = insert.group(1).split(",");
+			valuesStart = insert.end();
+		}
+
+		boolean inValues = insertColumns != null;
+		// Start and current item of each open parenthesis, innermost last
+		int[] groupStarts = new int[8];
+		int[] groupItems = new int[8];
+		int depth = 0;
+		for (int i = start; i < end; i++) {
+			char c = sql.charAt(i);
+			if (c == '\'' || c == '"') {
+				i = skipQuoted(sql, i, c);
+				continue;
+			}
+			if (c == '(') {
+				if (depth == groupStarts.length) {
+					groupStarts = Arrays.copyOf(groupStarts, depth * 2);
+					groupItems = Arrays.copyOf(groupItems, depth * 2);
+				}
+				groupStarts[depth] = i;
+				groupItems[depth] = 0;
+				depth++;
+			} else if (c == ')') {
+				depth = Math.max(0, depth - 1);
+			} else if (c == ',' && depth > 0) {
+				groupItems[depth - 1]++;
+			} else if (inValues && i >= valuesStart && depth == 0 && !Character.isWhitespace(c) && c != ',') {
+				inValues = false;
+			}
+			if (c != '?') {
+				continue;
+			}
+			if (inValues && depth > 0) {
+				int item = groupItems[0];
+				names.add(item < insertColumns.length ? normalize(insertColumns[item]) : null);
+			} else {
+				names.add(nameOf(sql, start, i, depth == 0 ? -1 : groupStarts[depth - 1],
+						depth == 0 ? 0 : groupItems[depth - 1]));
+			}
+		}
+	}
+
+	/**
+	 * Names a placeholder outside the values of an insert.
+	 *
+	 * @param group The start of the innermost parenthesis around the
+	 *              placeholder, or -1
+	 * @param item  The position of the placeholder in that parenthesis
+	 */
+	private static String nameOf(String sql, int start, int placeholder, int group, int item) {
+		String before = sql.substring(Math.max(start, placeholder - LOOK_BEHIND), placeholder);
+		Matcher compared = COMPARED_COLUMN.matcher(before);
+		if (compared.find()) {
+			return normalize(compared.group(1));
+		}
+		if (group >= 0) {
+			Matcher row = COMPARED_ROW.matcher(sql.substring(Math.max(start, group - LOOK_BEHIND), group));
+			if (row.find()) {
+				String[] columns = row.group(1).split(",");
+				return item < columns.length ? normalize(columns[item]) : null;
+			}
+		}
+		return ROW_LIMIT.matcher(before).find() ? NO_COLUMN : null;
+	}
+
+	private static int skipQuoted(String sql, int start, char quote) {
+		int end = sql.indexOf(quote, start + 1);
+		return end < 0 ? sql.length() : end;
+	}
+
+	/**
+	 * Strips the table qualifier and quotes from a column reference.
+	 */
+	private static String normalize(String column) {
+		String name = column.trim();
+		int dot = name.lastIndexOf('.');
+		if (dot >= 0) {
+			name = name.substring(dot + 1);
+		}
+		return name.replace("\"", "").toLowerCase(Locale.ROOT);
+	}
+}
@@ -0,0 +1,254 @@
+package br.com.eaugusto.generic.jdbc;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Least recently used cache of the prepared statements of one pooled
+ * connection, keyed by SQL text.
+ *
+ * <p>
+ * The DAOs prepare and close a statement on every call. With this cache,
+ * closing a statement returns it here instead, and preparing the same SQL on
+ * the same physical connection later hands the open statement back. Reused
+ * statements keep their server-side prepared statement, which the driver
+ * creates once a statement has been executed a few times, so the database
+ * stops parsing and planning the query on every call.
+ * </p>
+ *
+ * <p>
+ * The driver keeps a cache of its own, per connection, of the parsed queries
+ * and server-side statements ({@code preparedStatementCacheQueries}, 256 by
+ * default), which already survives closing a statement, and
+ * {@code prepareThreshold} (5 by default) decides when a query is prepared on
+ * the server. {@link ConnectionFactory} leaves both at their defaults, so this
+ * cache does not save the parsing or planning; it saves creating, setting up
+ * and closing a driver statement on every DAO call, which matters for the
+ * short queries that make up most of the traffic. It only holds statements the
+ * driver also caches as long as its size stays below the driver's, and can be
+ * turned off with <b>DB_POOL_STATEMENT_CACHE_SIZE</b> set to 0.
+ * </p>
+ *
+ * <p>
+ * A statement is removed from the cache while it is in use, so two open
+ * statements never share one physical statement; the second simply gets a new
+ * one. Statements are reset when returned, closing any result set the caller
+ * left open, and the least recently used one is closed when the cache is
+ * full. Hits, misses and evictions are counted in the
+ * counters of the pool, shared by every connection.
+ * </p>
+ *
+ * @author Eduardo Augusto (github.com/AsrielDreemurrGM/)
+ * @since October 17, 2026
+ */
+final class StatementCache {
+
+	private static final Logger LOGGER = Logger.getLogger(StatementCache.class.getName());
+
+	private final int maxSize;
+	private final Map<String, PreparedStatement> statements = new LinkedHashMap<>();
+	private final LongAdder hits;
+	private final LongAdder misses;
+	private final LongAdder evictions;
+
+	StatementCache(int maxSize, LongAdder hits, LongAdder misses, LongAdder evictions) {
+		this.maxSize = maxSize;
+		this.hits = hits;
+		this.misses = misses;
+		this.evictions = evictions;
+	}
+
+	/**
+	 * Returns a cached statement for a {@code prepareStatement} call, or
+	 * prepares a new one on the physical connection.
+	 *
+	 * @param connection The physical connection
+	 * @param proxy      The pooled connection, returned by
+	 *                   {@code getConnection()}
+	 * @param method     The {@code prepareStatement} overload called
+	 * @param args       Its arguments, starting with the SQL
+	 * @return A statement whose {@code close()} returns it to the cache
+	 * @throws InvocationTargetException If the connection fails to prepare it
+	 */
+	PreparedStatement prepare(Connection connection, Connection proxy, Method method, Object[] args)
+			throws ReflectiveOperationException {
+		String key = keyOf(method, args);
+		PreparedStatement statement = take(key);
+		if (statement == null) {
+			statement = (PreparedStatement) method.invoke(connection, args);
+		}
+		return (PreparedStatement) Proxy.newProxyInstance(PreparedStatement.class.getClassLoader(),
+				new Class<?>[] { PreparedStatement.class }, new CachedStatementHandler(this, key, statement, proxy));
+	}
+
+	/**
+	 * Options other than the SQL, such as the result set type or the generated
+	 * key columns, produce different statements and are part of the key.
+	 */
+	private static String keyOf(Method method, Object[] args) {
+		String sql = (String) args[0];
+		if (args.length == 1) {
+			return sql;
+		}
+		return sql + '\u0000' + Arrays.toString(method.getParameterTypes())
+				+ Arrays.deepToString(Arrays.copyOfRange(args, 1, args.length));
+	}
+
+	private synchronized PreparedStatement take(String key) {
+		PreparedStatement statement = statements.remove(key);
+		if (statement == null) {
+			misses.increment();
+		} else {
+			hits.increment();
+		}
+		return statement;
+	}
+
+	/**
+	 * Caches a statement that was closed by its user, as the most recently
+	 * used one, closing the least recently used statement if the cache is full.
+	 */
+	private void release(String key, PreparedStatement statement) {
+		try {
+			if (statement.isClosed()) {
+				return;
+			}
+			statement.clearParameters();
+			statement.clearBatch();
+			statement.clearWarnings();
+			statement.setFetchSize(0);
+			statement.setMaxRows(0);
+			statement.setQueryTimeout(0);
+		} catch (SQLException e) {
+			close(statement);
+			return;
+		}
+
+		PreparedStatement evicted = null;
+		PreparedStatement duplicate = null;
+		synchronized (this) {
+			if (statements.containsKey(key)) {
+				duplicate = statement;
+			} else {
+				statements.put(key, statement);
+				if (statements.size() > maxSize) {
+					Iterator<PreparedStatement> leastRecentlyUsed = statements.values().iterator();
+					evicted = leastRecentlyUsed.next();
+					leastRecentlyUsed.remove();
+					evictions.increment();
+				}
+			}
+		}
+		close(duplicate);
+		close(evicted);
+	}
+
+	private static void close(PreparedStatement statement) {
+		if (statement == null) {
+			return;
+		}
+		try {
+			statement.close();
+		} catch (SQLException e) {
+			LOGGER.log(Level.FINE, "Error closing cached statement", e);
+		}
+	}
+
+	/**
+	 * Invocation handler behind the statements handed to the DAOs. Calls are
+	 * delegated to the physical statement, except {@code close()}, which closes
+	 * the result sets of the last execution and returns it to the cache, and the
+	 * calls that must report this logical handle.
+	 */
+	private static final class CachedStatementHandler implements InvocationHandler {
+
+		private final StatementCache cache;
+		private final String key;
+		private final PreparedStatement statement;
+		private final Connection connection;
+		private final List<ResultSet> results = new ArrayList<>();
+		private boolean closed;
+
+		CachedStatementHandler(StatementCache cache, String key, PreparedStatement statement,
+				Connection connection) {
+			this.cache = cache;
+			this.key = key;
+			this.statement = statement;
+			this.connection = connection;
+		}
+
+		@Override
+		public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+			switch (method.getName()) {
+			case "close":
+				if (!closed) {
+					closed = true;
+					closeResults();
+					cache.release(key, statement);
+				}
+				return null;
+			case "isClosed":
+				return closed || statement.isClosed();
+			case "getConnection":
+				return connection;
+			case "equals":
+				return proxy == args[0];
+			case "hashCode":
+				return System.identityHashCode(proxy);
+			case "toString":
+				return "Cached" + statement;
+			default:
+				break;
+			}
+
+			if (closed) {
+				throw new SQLException("Statement has already been closed.");
+			}
+
+			if (method.getName().startsWith("execute")) {
+				// The driver closes the results of the previous execution
+				results.clear();
+			}
+			Object result;
+			try {
+				result = method.invoke(statement, args);
+			} catch (InvocationTargetException e) {
+				throw e.getCause();
+			}
+			if (result instanceof ResultSet resultSet) {
+				results.add(resultSet);
+			}
+			return result;
+		}
+
+		/**
+		 * Closes the result sets a caller left open, which would otherwise stay
+		 * open on the statement handed to the next caller.
+		 */
+		private void closeResults() {
+			for (ResultSet result : results) {
+				try {
+					result.close();
+				} catch (SQLException e) {
+					LOGGER.log(Level.FINE, "Error closing result set of cached statement", e);
+				}
+			}
+			results.clear();
+		}
+	}
+}
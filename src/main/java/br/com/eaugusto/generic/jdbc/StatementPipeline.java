@@ -0,0 +1,442 @@
+package br.com.eaugusto.generic.jdbc;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntConsumer;
+
+import br.com.eaugusto.exceptions.DAOException;
+import br.com.eaugusto.generic.jdbc.CursorQuery.ParameterBinder;
+
+/**
+ * Queues independent statements and sends them to the database together, so a
+ * group of writes costs one network round trip instead of one per statement.
+ *
+ * <p>
+ * The PostgreSQL driver sends every statement of a multi-statement prepared
+ * query before reading any result, with a single synchronization at the end.
+ * {@link #execute()} joins the queued statements into such queries of up to
+ * {@link #getMaxDepth()} statements each, binds each statement's parameters at
+ * its position, and reads the results back in order into the {@link Result}
+ * returned when the statement was queued:
+ * </p>
+ *
+ * <pre>
+ * StatementPipeline pipeline = new StatementPipeline();
+ * clientDAO.register(client, pipeline);
+ * productDAO.register(product, pipeline);
+ * StatementPipeline.Result&lt;Integer&gt; touched = pipeline.add("UPDATE ...", statement -&gt; ...);
+ * pipeline.execute();
+ * </pre>
+ *
+ * <p>
+ * A pipeline runs in one transaction, joining the {@link TransactionManager}
+ * transaction when one is active, and either every statement is applied or
+ * none is. When a statement fails, its chunk is rolled back to a savepoint and
+ * replayed one statement at a time to find the failing one, which gets a
+ * {@link DAOException} with the cause; the others get a {@link DAOException}
+ * saying they were rolled back or not executed. {@link #execute()} then throws
+ * the failing statement's exception. This replay only happens on failures.
+ * </p>
+ *
+ * <p>
+ * Results are read after the whole chunk is sent, so queries returning many
+ * rows should be queued in small chunks. Pipelines are not thread-safe and can
+ * be reused after {@link #execute()}.
+ * </p>
+ *
+ * @author Eduardo Augusto (github.com/AsrielDreemurrGM/)
+ * @since October 17, 2026
+ */
+public final class StatementPipeline {
+
+	/**
+	 * Default maximum number of statements sent per round trip.
+	 */
+	public static final int DEFAULT_MAX_DEPTH = 64;
+
+	private static final String SAVEPOINT = "statement_pipeline";
+
+	private final int maxDepth;
+	private final List<Result<?>> queued = new ArrayList<>();
+
+	public StatementPipeline() {
+		this(DEFAULT_MAX_DEPTH);
+	}
+
+	/**
+	 * @param maxDepth Maximum number of statements sent per round trip
+	 */
+	public StatementPipeline(int maxDepth) {
+		if (maxDepth < 1) {
+			throw new IllegalArgumentException("Pipeline depth must be greater than zero");
+		}
+		this.maxDepth = maxDepth;
+	}
+
+	/**
+	 * Queues a statement whose result is its update count, or the number of
+	 * rows it returned.
+	 *
+	 * @param sql    A single statement, without a trailing semicolon
+	 * @param binder Binds its parameters, numbered from 1
+	 * @return The pending result
+	 */
+	public Result<Integer> add(String sql, ParameterBinder binder) {
+		return add(sql, binder, rows -> {
+		});
+	}
+
+	/**
+	 * Queues a statement whose result is its update count, checked once it is
+	 * known. A check that throws fails the statement and rolls back the
+	 * pipeline.
+	 *
+	 * @param sql    A single statement, without a trailing semicolon
+	 * @param binder Binds its parameters, numbered from 1
+	 * @param check  Checks the update count, for example against a version
+	 * @return The pending result
+	 */
+	public Result<Integer> add(String sql, ParameterBinder binder, IntConsumer check) {
+		return enqueue(new Result<>(sql, binder, (statement, hasResultSet) -> {
+			int rows = hasResultSet ? countRows(statement.getResultSet()) : statement.getUpdateCount();
+			check.accept(rows);
+			return rows;
+		}));
+	}
+
+	/**
+	 * Queues a query whose result is its mapped rows.
+	 *
+	 * @param <R>    Mapped type
+	 * @param sql    A single query, without a trailing semicolon
+	 * @param binder Binds its parameters, numbered from 1
+	 * @param mapper Maps each row
+	 * @return The pending result
+	 */
+	public <R> Result<List<R>> addQuery(String sql, ParameterBinder binder, RowMapper<R> mapper) {
+		return enqueue(new Result<>(sql, binder, (statement, hasResultSet) -> {
+			List<R> rows = new ArrayList<>();
+			if (hasResultSet) {
+				try (ResultSet result = statement.getResultSet()) {
+					while (result.next()) {
+						rows.add(mapper.map(result));
+					}
+				}
+			}
+			return rows;
+		}));
+	}
+
+	private <R> Result<R> enqueue(Result<R> result) {
+		queued.add(result);
+		return result;
+	}
+
+	/**
+	 * @return The number of statements queued since the last execution
+	 */
+	public int size() {
+		return queued.size();
+	}
+
+	/**
+	 * @return Maximum number of statements sent per round trip
+	 */
+	public int getMaxDepth() {
+		return maxDepth;
+	}
+
+	/**
+	 * Sends the queued statements, reads their results and commits them,
+	 * unless a {@link TransactionManager} transaction is active. The pipeline is
+	 * empty afterwards.
+	 *
+	 * @return The results, in the order the statements were queued
+	 * @throws DAOException The exception of the failing statement, after every
+	 *                      statement was rolled back
+	 */
+	public List<Result<?>> execute() {
+		List<Result<?>> results = List.copyOf(queued);
+		queued.clear();
+		if (results.isEmpty()) {
+			return results;
+		}
+
+		DAOException failure = null;
+		try (Connection connection = ConnectionFactory.getConnection()) {
+			boolean autoCommit = connection.getAutoCommit();
+			connection.setAutoCommit(false);
+			try {
+				for (int start = 0; start < results.size() && failure == null; start += maxDepth) {
+					int end = Math.min(start + maxDepth, results.size());
+					int failed = executeChunk(connection, results.subList(start, end));
+					if (failed >= 0) {
+						failure = fail(results, start + failed);
+					}
+				}
+				if (failure == null) {
+					connection.commit();
+				} else {
+					connection.rollback();
+				}
+			} catch (SQLException | RuntimeException e) {
+				connection.rollback();
+				throw e;
+			} finally {
+				connection.setAutoCommit(autoCommit);
+			}
+		} catch (SQLException e) {
+			DAOException connectionFailure = new DAOException("Error executing statement pipeline", e);
+			for (Result<?> result : results) {
+				result.error = connectionFailure;
+			}
+			throw connectionFailure;
+		}
+		if (failure != null) {
+			throw failure;
+		}
+
+		for (Result<?> result : results) {
+			for (Runnable action : result.afterCommit) {
+				TransactionManager.afterCommit(action);
+			}
+		}
+		return results;
+	}
+
+	/**
+	 * Sends a chunk as one multi-statement query, between a savepoint and its
+	 * release.
+	 *
+	 * @return The index in the chunk of the failing statement, or {@code -1}
+	 */
+	private static int executeChunk(Connection connection, List<Result<?>> chunk) throws SQLException {
+		StringBuilder sql = new StringBuilder("SAVEPOINT ").append(SAVEPOINT);
+		for (Result<?> result : chunk) {
+			sql.append(";\n").append(result.sql);
+		}
+		sql.append(";\nRELEASE SAVEPOINT ").append(SAVEPOINT);
+
+		try (PreparedStatement statement = connection.prepareStatement(sql.toString())) {
+			int offset = 0;
+			for (Result<?> result : chunk) {
+				offset += bind(statement, offset, result.binder);
+			}
+			return readChunk(connection, statement, chunk);
+		}
+	}
+
+	/**
+	 * Reads the results of a chunk in order. On failure, rolls the chunk back
+	 * and finds the failing statement.
+	 *
+	 * @return The index in the chunk of the failing statement, or {@code -1}
+	 */
+	private static int readChunk(Connection connection, PreparedStatement statement, List<Result<?>> chunk)
+			throws SQLException {
+		int index = 0;
+		try {
+			statement.execute();
+			// Skips the savepoint
+			boolean hasResultSet = statement.getMoreResults();
+			for (; index < chunk.size(); index++) {
+				chunk.get(index).read(statement, hasResultSet);
+				hasResultSet = statement.getMoreResults();
+			}
+			return -1;
+		} catch (SQLException e) {
+			try (Statement rollback = connection.createStatement()) {
+				rollback.execute("ROLLBACK TO SAVEPOINT " + SAVEPOINT);
+			}
+			return replay(connection, chunk, e);
+		} catch (DAOException e) {
+			// A check failed, so the statement is already known
+			chunk.get(index).error = e;
+			return index;
+		}
+	}
+
+	/**
+	 * Runs the statements of a failed chunk one at a time to find the one that
+	 * fails. If none fails again, the first gets the original failure.
+	 */
+	private static int replay(Connection connection, List<Result<?>> chunk, SQLException failure) throws SQLException {
+		for (int index = 0; index < chunk.size(); index++) {
+			Result<?> result = chunk.get(index);
+			try (PreparedStatement statement = connection.prepareStatement(result.sql)) {
+				result.binder.bind(statement);
+				result.read(statement, statement.execute());
+			} catch (SQLException e) {
+				result.error = new DAOException("Error executing pipelined statement: " + result.sql, e);
+				return index;
+			} catch (DAOException e) {
+				result.error = e;
+				return index;
+			}
+		}
+		chunk.get(0).error = new DAOException("Error executing statement pipeline", failure);
+		return 0;
+	}
+
+	/**
+	 * Marks every statement other than the failing one as rolled back or not
+	 * executed.
+	 *
+	 * @return The exception of the failing statement
+	 */
+	private static DAOException fail(List<Result<?>> results, int failed) {
+		DAOException failure = results.get(failed).error;
+		for (int index = 0; index < results.size(); index++) {
+			Result<?> result = results.get(index);
+			if (index < failed) {
+				result.error = new DAOException(
+						"Pipelined statement " + index + " was rolled back because statement " + failed + " failed",
+						failure);
+			} else if (index > failed) {
+				result.error = new DAOException(
+						"Pipelined statement " + index + " was not executed because statement " + failed + " failed",
+						failure);
+			}
+		}
+		return failure;
+	}
+
+	/**
+	 * Binds one statement's parameters after those of the statements before it.
+	 *
+	 * @return The number of parameters the statement bound
+	 */
+	private static int bind(PreparedStatement statement, int offset, ParameterBinder binder) throws SQLException {
+		OffsetBinding binding = new OffsetBinding(statement, offset);
+		binder.bind((PreparedStatement) Proxy.newProxyInstance(PreparedStatement.class.getClassLoader(),
+				new Class<?>[] { PreparedStatement.class }, binding));
+		return binding.bound;
+	}
+
+	private static int countRows(ResultSet result) throws SQLException {
+		try (result) {
+			int rows = 0;
+			while (result.next()) {
+				rows++;
+			}
+			return rows;
+		}
+	}
+
+	/**
+	 * The outcome of a queued statement, available once the pipeline has been
+	 * executed.
+	 *
+	 * @param <R> Result type
+	 */
+	public static final class Result<R> {
+
+		private final String sql;
+		private final ParameterBinder binder;
+		private final ResultReader<R> reader;
+		private final List<Runnable> afterCommit = new ArrayList<>(0);
+		private boolean done;
+		private R value;
+		private DAOException error;
+
+		private Result(String sql, ParameterBinder binder, ResultReader<R> reader) {
+			this.sql = sql.strip();
+			this.binder = binder;
+			this.reader = reader;
+		}
+
+		private void read(PreparedStatement statement, boolean hasResultSet) throws SQLException {
+			value = reader.read(statement, hasResultSet);
+			done = true;
+		}
+
+		/**
+		 * @return The result of the statement
+		 * @throws DAOException          If the statement failed or was rolled back
+		 * @throws IllegalStateException If the pipeline has not been executed
+		 */
+		public R get() {
+			if (error != null) {
+				throw error;
+			}
+			if (!done) {
+				throw new IllegalStateException("Statement pipeline has not been executed");
+			}
+			return value;
+		}
+
+		/**
+		 * @return Whether the statement ran and its result is known, even if the
+		 *         pipeline was rolled back afterwards
+		 */
+		public boolean isDone() {
+			return done;
+		}
+
+		/**
+		 * @return The reason the statement did not take effect, or {@code null}
+		 */
+		public DAOException getError() {
+			return error;
+		}
+
+		/**
+		 * Registers an action to run once the pipeline commits, or once the
+		 * enclosing {@link TransactionManager} transaction does.
+		 *
+		 * @param action The action, for example a cache invalidation
+		 * @return This result
+		 */
+		public Result<R> afterCommit(Runnable action) {
+			afterCommit.add(action);
+			return this;
+		}
+	}
+
+	/**
+	 * Reads the current result of a statement.
+	 */
+	@FunctionalInterface
+	private interface ResultReader<R> {
+		R read(PreparedStatement statement, boolean hasResultSet) throws SQLException;
+	}
+
+	/**
+	 * Shifts the parameter indexes a binder sets by the parameters of the
+	 * statements queued before it, and records the highest one.
+	 */
+	private static final class OffsetBinding implements InvocationHandler {
+
+		private final PreparedStatement statement;
+		private final int offset;
+		private int bound;
+
+		OffsetBinding(PreparedStatement statement, int offset) {
+			this.statement = statement;
+			this.offset = offset;
+		}
+
+		@Override
+		public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+			if (method.getDeclaringClass() == PreparedStatement.class && method.getName().startsWith("set")) {
+				int index = (Integer) args[0];
+				bound = Math.max(bound, index);
+				args[0] = index + offset;
+			}
+			try {
+				return method.invoke(statement, args);
+			} catch (InvocationTargetException e) {
+				throw e.getCause();
+			}
+		}
+	}
+}
@@ -0,0 +1,19 @@
+package br.com.eaugusto.generic.jdbc;
+
+/**
+ * Work executed by {@link TransactionManager} inside a transaction.
+ *
+ * @param <R> Result type
+ *
+ * @author Eduardo Augusto (github.com/AsrielDreemurrGM/)
+ * @since October 17, 2026
+ */
+@FunctionalInterface
+public interface TransactionCallback<R> {
+
+	/**
+	 * @return The result of the work, returned by the transaction
+	 * @throws Exception If the work fails; the transaction is then rolled back
+	 */
+	public R doInTransaction() throws Exception;
+}
@@ -0,0 +1,205 @@
+package br.com.eaugusto.generic.jdbc;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import br.com.eaugusto.exceptions.TransactionException;
+
+/**
+ * Runs a unit of work in a single database transaction shared by every DAO.
+ *
+ * <p>
+ * While a transaction is active on the current thread,
+ * {@link ConnectionFactory#getConnection()} returns the transaction's
+ * connection instead of borrowing a new one, so every DAO call made inside
+ * {@link #execute(TransactionCallback)} runs on one connection and is
+ * committed once at the end:
+ * </p>
+ *
+ * <pre>
+ * TransactionManager.execute(() -&gt; {
+ * 	inventoryDAO.register(sale);
+ * 	productDAO.update(product);
+ * 	return null;
+ * });
+ * </pre>
+ *
+ * <p>
+ * Any exception thrown by the work rolls the transaction back and is rethrown;
+ * checked exceptions are wrapped in a {@link TransactionException}. A
+ * transaction started while another is active joins it, and a failure in the
+ * inner one makes the whole transaction roll back. DAOs that manage their own
+ * transactions, such as the batch methods, take part in the outer one: their
+ * commits are deferred to its end and their rollbacks mark it rollback-only.
+ * </p>
+ *
+ * @author Eduardo Augusto (github.com/AsrielDreemurrGM/)
+ * @since October 17, 2026
+ */
+public final class TransactionManager {
+
+	private static final Logger LOGGER = Logger.getLogger(TransactionManager.class.getName());
+
+	/**
+	 * Isolation level used when none is given.
+	 */
+	public static final int DEFAULT_ISOLATION = Connection.TRANSACTION_READ_COMMITTED;
+
+	private static final ThreadLocal<Transaction> CURRENT = new ThreadLocal<>();
+
+	private TransactionManager() {
+		// To prevent instantiation
+	}
+
+	/**
+	 * Runs the work in a transaction with the default isolation level.
+	 *
+	 * @param <R>      Result type
+	 * @param callback The work
+	 * @return The result of the work
+	 * @throws TransactionException If the work fails with a checked exception or
+	 *                              the transaction cannot be committed
+	 */
+	public static <R> R execute(TransactionCallback<R> callback) {
+		return execute(DEFAULT_ISOLATION, callback);
+	}
+
+	/**
+	 * Runs the work in a transaction with the given isolation level. When a
+	 * transaction is already active, the work joins it and keeps its isolation
+	 * level.
+	 *
+	 * @param <R>       Result type
+	 * @param isolation One of the {@code Connection.TRANSACTION_*} levels
+	 * @param callback  The work
+	 * @return The result of the work
+	 * @throws TransactionException If the work fails with a checked exception or
+	 *                              the transaction cannot be committed
+	 */
+	public static <R> R execute(int isolation, TransactionCallback<R> callback) {
+		Transaction current = CURRENT.get();
+		if (current != null) {
+			return join(current, callback);
+		}
+
+		try (Connection connection = ConnectionFactory.getConnection()) {
+			int previousIsolation = connection.getTransactionIsolation();
+			connection.setAutoCommit(false);
+			connection.setTransactionIsolation(isolation);
+			try {
+				return run(new Transaction(connection), callback);
+			} finally {
+				connection.setTransactionIsolation(previousIsolation);
+			}
+		} catch (SQLException e) {
+			throw new TransactionException("Error managing transaction", e);
+		}
+	}
+
+	/**
+	 * @return Whether a transaction is active on the current thread
+	 */
+	public static boolean isActive() {
+		return CURRENT.get() != null;
+	}
+
+	/**
+	 * Runs the action after the current transaction commits, or right away when
+	 * no transaction is active. Actions are dropped if the transaction rolls
+	 * back.
+	 *
+	 * @param action The action, for example a cache invalidation
+	 */
+	public static void afterCommit(Runnable action) {
+		Transaction current = CURRENT.get();
+		if (current == null) {
+			action.run();
+		} else {
+			current.afterCommit.add(action);
+		}
+	}
+
+	/**
+	 * @return The connection of the transaction active on the current thread, or
+	 *         {@code null}
+	 */
+	static Connection currentConnection() {
+		Transaction current = CURRENT.get();
+		return current == null ? null : current.scopedConnection;
+	}
+
+	private static <R> R run(Transaction transaction, TransactionCallback<R> callback) throws SQLException {
+		Connection connection = transaction.connection;
+		R result;
+		CURRENT.set(transaction);
+		try {
+			result = callback.doInTransaction();
+		} catch (Exception | Error e) {
+			rollback(connection, e);
+			throw propagate(e);
+		} finally {
+			CURRENT.remove();
+		}
+
+		if (transaction.rollbackOnly) {
+			connection.rollback();
+			throw new TransactionException("Transaction was marked rollback-only and has been rolled back");
+		}
+		connection.commit();
+		for (Runnable action : transaction.afterCommit) {
+			try {
+				action.run();
+			} catch (RuntimeException e) {
+				LOGGER.log(Level.WARNING, "After-commit action failed", e);
+			}
+		}
+		return result;
+	}
+
+	private static <R> R join(Transaction current, TransactionCallback<R> callback) {
+		try {
+			return callback.doInTransaction();
+		} catch (Exception | Error e) {
+			current.rollbackOnly = true;
+			throw propagate(e);
+		}
+	}
+
+	private static void rollback(Connection connection, Throwable failure) {
+		try {
+			connection.rollback();
+		} catch (SQLException e) {
+			failure.addSuppressed(e);
+		}
+	}
+
+	private static RuntimeException propagate(Throwable failure) {
+		if (failure instanceof RuntimeException runtimeException) {
+			return runtimeException;
+		}
+		if (failure instanceof Error error) {
+			throw error;
+		}
+		return new TransactionException("Transaction failed and has been rolled back", failure);
+	}
+
+	/**
+	 * State of the transaction bound to a thread.
+	 */
+	private static final class Transaction {
+
+		private final Connection connection;
+		private final Connection scopedConnection;
+		private final List<Runnable> afterCommit = new ArrayList<>();
+		private boolean rollbackOnly;
+
+		Transaction(Connection connection) {
+			this.connection = connection;
+			this.scopedConnection = TransactionalConnectionHandler.newProxy(connection, () -> rollbackOnly = true);
+		}
+	}
+}
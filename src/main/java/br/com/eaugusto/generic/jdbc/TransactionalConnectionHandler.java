@@ -0,0 +1,68 @@
+package br.com.eaugusto.generic.jdbc;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+
+/**
+ * Invocation handler behind the connection handed to DAOs while a
+ * {@link TransactionManager} transaction is active.
+ *
+ * <p>
+ * The transaction owns the connection, so the calls the DAOs make to manage
+ * their own work are neutralized: {@code close()}, {@code commit()},
+ * {@code setAutoCommit(..)} and {@code setTransactionIsolation(..)} do
+ * nothing, and {@code rollback()} marks the transaction as rollback-only.
+ * Everything else is delegated.
+ * </p>
+ *
+ * @author Eduardo Augusto (github.com/AsrielDreemurrGM/)
+ * @since October 17, 2026
+ */
+final class TransactionalConnectionHandler implements InvocationHandler {
+
+	private final Connection connection;
+	private final Runnable rollbackOnly;
+
+	private TransactionalConnectionHandler(Connection connection, Runnable rollbackOnly) {
+		this.connection = connection;
+		this.rollbackOnly = rollbackOnly;
+	}
+
+	static Connection newProxy(Connection connection, Runnable rollbackOnly) {
+		return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+				new Class<?>[] { Connection.class }, new TransactionalConnectionHandler(connection, rollbackOnly));
+	}
+
+	@Override
+	public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+		switch (method.getName()) {
+		case "close", "commit", "setAutoCommit", "setTransactionIsolation":
+			return null;
+		case "getAutoCommit":
+			return false;
+		case "rollback":
+			if (args == null) {
+				rollbackOnly.run();
+				return null;
+			}
+			break;
+		case "equals":
+			return proxy == args[0];
+		case "hashCode":
+			return System.identityHashCode(proxy);
+		case "toString":
+			return "Transactional" + connection;
+		default:
+			break;
+		}
+
+		try {
+			return method.invoke(connection, args);
+		} catch (InvocationTargetException e) {
+			throw e.getCause();
+		}
+	}
+}
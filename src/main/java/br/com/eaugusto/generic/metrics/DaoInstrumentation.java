@@ -0,0 +1,48 @@
+package br.com.eaugusto.generic.metrics;
+
+/**
+ * Service provider interface called around every DAO operation, for metrics
+ * and tracing.
+ *
+ * <p>
+ * Install an implementation with {@link Instrumentation#install}. Each
+ * operation of {@code GenericDAO} and {@code InventoryDAO} calls
+ * {@link #start(String, String)} with the simple name of its entity and the
+ * name of the DAO method, and reports to the returned {@link DaoObservation}
+ * the time spent waiting for a connection, preparing statements and the
+ * operation as a whole. {@link InMemoryInstrumentation} keeps these figures
+ * in memory; other implementations adapt them to a metrics or tracing
+ * library, for example a Micrometer {@code Timer} per entity and operation:
+ * </p>
+ *
+ * <pre>
+ * Instrumentation.install((entity, operation) -&gt; (nanos, rows, error) -&gt; Timer.builder("dao.operation")
+ * 		.tags("entity", entity, "operation", operation, "outcome", error == null ? "success" : "error")
+ * 		.register(registry).record(nanos, TimeUnit.NANOSECONDS));
+ * </pre>
+ *
+ * <p>
+ * A tracing adapter starts a span in {@code start} and ends it in
+ * {@link DaoObservation#stop(long, int, Throwable)}, which is called on the
+ * same thread. Implementations are called on every operation, from many
+ * threads, so they must be thread-safe and cheap; an exception they throw is
+ * logged and does not fail the operation.
+ * </p>
+ *
+ * @author Eduardo Augusto (github.com/AsrielDreemurrGM/)
+ * @since October 17, 2026
+ */
+@FunctionalInterface
+public interface DaoInstrumentation {
+
+	/**
+	 * Called when a DAO operation starts.
+	 *
+	 * @param entity    Simple name of the entity class, such as
+	 *                  {@code "Product"}
+	 * @param operation Name of the DAO method, such as {@code "search"}
+	 * @return The observation of this operation; may be shared between
+	 *         operations if it keeps no per-call state
+	 */
+	public DaoObservation start(String entity, String operation);
+}
@@ -0,0 +1,50 @@
+package br.com.eaugusto.generic.metrics;
+
+/**
+ * Observation of one DAO operation, returned by
+ * {@link DaoInstrumentation#start(String, String)}.
+ *
+ * <p>
+ * Times are measured by the DAOs and passed in nanoseconds, so
+ * implementations never read the clock themselves. Connection and statement
+ * times are reported as they happen, possibly several times per operation,
+ * and {@link #stop(long, int, Throwable)} is called once when it ends, on the
+ * thread that started it.
+ * </p>
+ *
+ * @author Eduardo Augusto (github.com/AsrielDreemurrGM/)
+ * @since October 17, 2026
+ */
+@FunctionalInterface
+public interface DaoObservation {
+
+	/**
+	 * Called after the operation borrowed a connection from the pool.
+	 * Connections of an active transaction are not borrowed and not reported.
+	 *
+	 * @param nanos Time spent waiting for the connection
+	 */
+	public default void connectionAcquired(long nanos) {
+		// Not observed by default
+	}
+
+	/**
+	 * Called after the operation prepared a statement, including statements
+	 * served by the statement cache.
+	 *
+	 * @param nanos Time spent preparing the statement
+	 */
+	public default void statementPrepared(long nanos) {
+		// Not observed by default
+	}
+
+	/**
+	 * Called when the operation ends.
+	 *
+	 * @param nanos Duration of the operation
+	 * @param rows  Rows returned or written, 0 if it failed
+	 * @param error The exception the operation threw, or {@code null} if it
+	 *              succeeded
+	 */
+	public void stop(long nanos, int rows, Throwable error);
+}
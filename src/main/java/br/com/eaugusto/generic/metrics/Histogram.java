@@ -0,0 +1,132 @@
+package br.com.eaugusto.generic.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free histogram of non-negative long values, such as latencies or batch
+ * sizes.
+ *
+ * <p>
+ * Values are counted in log-linear buckets: every power of two is split into
+ * 16 equal buckets, so percentiles are reported within about 6% of the
+ * recorded value, with a fixed footprint of under 8 KB per histogram.
+ * Recording never blocks, so it can be used on hot paths.
+ * </p>
+ *
+ * @author Eduardo Augusto (github.com/AsrielDreemurrGM/)
+ * @since October 17, 2026
+ */
+public class Histogram {
+
+	private static final int SUB_BUCKET_BITS = 4;
+	private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+	private static final int BUCKETS = (64 - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+	private final String name;
+	private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+	private final LongAdder count = new LongAdder();
+	private final LongAdder sum = new LongAdder();
+	private final AtomicLong max = new AtomicLong();
+
+	/**
+	 * @param name Name shown by {@link #toString()}, including the unit, for
+	 *             example {@code "search.latency.us"}
+	 */
+	public Histogram(String name) {
+		this.name = name;
+	}
+
+	/**
+	 * Records a value; negative values are recorded as zero.
+	 *
+	 * @param value The value
+	 */
+	public void record(long value) {
+		long recorded = Math.max(0, value);
+		counts.incrementAndGet(bucketOf(recorded));
+		count.increment();
+		sum.add(recorded);
+		max.accumulateAndGet(recorded, Math::max);
+	}
+
+	/**
+	 * Returns the value below or at which the given percentage of the recorded
+	 * values fall, within the bucket precision.
+	 *
+	 * @param percentile The percentile, from 0 to 100
+	 * @return The value at the percentile, or 0 if nothing was recorded
+	 */
+	public long getPercentile(double percentile) {
+		if (percentile < 0 || percentile > 100) {
+			throw new IllegalArgumentException("Percentile must be between 0 and 100");
+		}
+		long total = 0;
+		long[] snapshot = new long[BUCKETS];
+		for (int i = 0; i < BUCKETS; i++) {
+			snapshot[i] = counts.get(i);
+			total += snapshot[i];
+		}
+		if (total == 0) {
+			return 0;
+		}
+		long target = Math.max(1, (long) Math.ceil(percentile / 100 * total));
+		long seen = 0;
+		for (int i = 0; i < BUCKETS; i++) {
+			seen += snapshot[i];
+			if (seen >= target) {
+				return Math.min(upperBoundOf(i), getMax());
+			}
+		}
+		return getMax();
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public long getCount() {
+		return count.sum();
+	}
+
+	public long getMax() {
+		return max.get();
+	}
+
+	/**
+	 * @return The mean of the recorded values, or 0 if nothing was recorded
+	 */
+	public double getMean() {
+		long total = count.sum();
+		return total == 0 ? 0 : (double) sum.sum() / total;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("%s: count=%d, mean=%.1f, p50=%d, p90=%d, p99=%d, max=%d", name, getCount(), getMean(),
+				getPercentile(50), getPercentile(90), getPercentile(99), getMax());
+	}
+
+	static int bucketOf(long value) {
+		if (value < SUB_BUCKETS) {
+			return (int) value;
+		}
+		int exponent = 63 - Long.numberOfLeadingZeros(value);
+		int shift = exponent - SUB_BUCKET_BITS;
+		int subBucket = (int) ((value >>> shift) & (SUB_BUCKETS - 1));
+		return (shift + 1) * SUB_BUCKETS + subBucket;
+	}
+
+	static long lowerBoundOf(int bucket) {
+		if (bucket < SUB_BUCKETS) {
+			return bucket;
+		}
+		int shift = bucket / SUB_BUCKETS - 1;
+		return (long) (SUB_BUCKETS + bucket % SUB_BUCKETS) << shift;
+	}
+
+	static long upperBoundOf(int bucket) {
+		return bucket + 1 < BUCKETS ? lowerBoundOf(bucket + 1) - 1 : Long.MAX_VALUE;
+	}
+}
@@ -0,0 +1,219 @@
+package br.com.eaugusto.generic.metrics;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@link DaoInstrumentation} that keeps the figures of every entity and
+ * operation in memory, with no dependencies:
+ *
+ * <pre>
+ * InMemoryInstrumentation metrics = new InMemoryInstrumentation();
+ * Instrumentation.install(metrics);
+ * ...
+ * metrics.getOperation("Product", "search").getLatencyHistogram().getPercentile(99);
+ * </pre>
+ *
+ * <p>
+ * Latencies are recorded in {@link Histogram}s and counts in
+ * {@link LongAdder}s, so recording never blocks and concurrent operations
+ * update separate cells instead of contending on one counter. Each entity and
+ * operation has one {@link OperationMetrics}, which is its own observation, so
+ * observing an operation allocates nothing once it has been seen.
+ * </p>
+ *
+ * @author Eduardo Augusto (github.com/AsrielDreemurrGM/)
+ * @since October 17, 2026
+ */
+public class InMemoryInstrumentation implements DaoInstrumentation {
+
+	private final ConcurrentMap<String, ConcurrentMap<String, OperationMetrics>> entities = new ConcurrentHashMap<>();
+
+	@Override
+	public DaoObservation start(String entity, String operation) {
+		ConcurrentMap<String, OperationMetrics> operations = entities.get(entity);
+		if (operations == null) {
+			operations = entities.computeIfAbsent(entity, key -> new ConcurrentHashMap<>());
+		}
+		OperationMetrics metrics = operations.get(operation);
+		if (metrics == null) {
+			metrics = operations.computeIfAbsent(operation, key -> new OperationMetrics(entity, operation));
+		}
+		return metrics;
+	}
+
+	/**
+	 * @param entity    Simple name of the entity class
+	 * @param operation Name of the DAO method
+	 * @return The figures of the operation, or {@code null} if it was never
+	 *         called
+	 */
+	public OperationMetrics getOperation(String entity, String operation) {
+		Map<String, OperationMetrics> operations = entities.get(entity);
+		return operations == null ? null : operations.get(operation);
+	}
+
+	/**
+	 * @return The figures of every operation called so far, by entity and
+	 *         operation name
+	 */
+	public List<OperationMetrics> getOperations() {
+		List<OperationMetrics> operations = new ArrayList<>();
+		new TreeMap<>(entities).values().forEach(byName -> operations.addAll(new TreeMap<>(byName).values()));
+		return operations;
+	}
+
+	/**
+	 * Discards every figure recorded so far.
+	 */
+	public void reset() {
+		entities.clear();
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder builder = new StringBuilder("InMemoryInstrumentation[");
+		for (OperationMetrics operation : getOperations()) {
+			builder.append(System.lineSeparator()).append("  ").append(operation);
+		}
+		return builder.append(']').toString();
+	}
+
+	/**
+	 * Figures of one operation of one entity.
+	 */
+	public static final class OperationMetrics implements DaoObservation {
+
+		private final String entity;
+		private final String operation;
+		private final Histogram latency;
+		private final Histogram connectionAcquire;
+		private final Histogram statementPrepare;
+		private final LongAdder rows = new LongAdder();
+		private final LongAdder errors = new LongAdder();
+		private final ConcurrentMap<String, LongAdder> errorsByType = new ConcurrentHashMap<>();
+
+		OperationMetrics(String entity, String operation) {
+			this.entity = entity;
+			this.operation = operation;
+			String prefix = entity + "." + operation;
+			this.latency = new Histogram(prefix + ".latency.us");
+			this.connectionAcquire = new Histogram(prefix + ".connection.acquire.us");
+			this.statementPrepare = new Histogram(prefix + ".statement.prepare.us");
+		}
+
+		@Override
+		public void connectionAcquired(long nanos) {
+			connectionAcquire.record(TimeUnit.NANOSECONDS.toMicros(nanos));
+		}
+
+		@Override
+		public void statementPrepared(long nanos) {
+			statementPrepare.record(TimeUnit.NANOSECONDS.toMicros(nanos));
+		}
+
+		@Override
+		public void stop(long nanos, int rowCount, Throwable error) {
+			latency.record(TimeUnit.NANOSECONDS.toMicros(nanos));
+			rows.add(rowCount);
+			if (error != null) {
+				errors.increment();
+				errorsByType.computeIfAbsent(typeOf(error), key -> new LongAdder()).increment();
+			}
+		}
+
+		/**
+		 * DAOs wrap the exceptions of the driver, so errors are counted by their
+		 * root cause, with the SQL state of database errors, such as
+		 * {@code PSQLException[23505]} for a unique violation.
+		 */
+		private static String typeOf(Throwable error) {
+			Throwable root = error;
+			while (root.getCause() != null && root.getCause() != root) {
+				root = root.getCause();
+			}
+			String type = root.getClass().getSimpleName();
+			if (root instanceof SQLException sqlException && sqlException.getSQLState() != null) {
+				return type + "[" + sqlException.getSQLState() + "]";
+			}
+			return type;
+		}
+
+		public String getEntity() {
+			return entity;
+		}
+
+		public String getOperation() {
+			return operation;
+		}
+
+		/**
+		 * @return Durations of the operation in microseconds, failed ones
+		 *         included
+		 */
+		public Histogram getLatencyHistogram() {
+			return latency;
+		}
+
+		/**
+		 * @return Times spent waiting for pooled connections, in microseconds
+		 */
+		public Histogram getConnectionAcquireHistogram() {
+			return connectionAcquire;
+		}
+
+		/**
+		 * @return Times spent preparing statements, in microseconds
+		 */
+		public Histogram getStatementPrepareHistogram() {
+			return statementPrepare;
+		}
+
+		public long getCalls() {
+			return latency.getCount();
+		}
+
+		/**
+		 * @return Rows returned or written by all calls
+		 */
+		public long getRows() {
+			return rows.sum();
+		}
+
+		public long getErrors() {
+			return errors.sum();
+		}
+
+		/**
+		 * @return Failed calls over all calls, or 0 before the first call
+		 */
+		public double getErrorRate() {
+			long calls = getCalls();
+			return calls == 0 ? 0 : (double) getErrors() / calls;
+		}
+
+		/**
+		 * @return Failed calls by root cause, as described in {@link #stop}
+		 */
+		public Map<String, Long> getErrorsByType() {
+			Map<String, Long> counts = new TreeMap<>();
+			errorsByType.forEach((type, count) -> counts.put(type, count.sum()));
+			return counts;
+		}
+
+		@Override
+		public String toString() {
+			return String.format("%s.%s: calls=%d, rows=%d, errors=%d, p50=%dus, p99=%dus, acquire.p99=%dus, "
+					+ "prepare.p99=%dus%s", entity, operation, getCalls(), getRows(), getErrors(),
+					latency.getPercentile(50), latency.getPercentile(99), connectionAcquire.getPercentile(99),
+					statementPrepare.getPercentile(99), errorsByType.isEmpty() ? "" : ", " + getErrorsByType());
+		}
+	}
+}
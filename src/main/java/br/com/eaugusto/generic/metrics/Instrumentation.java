@@ -0,0 +1,159 @@
+package br.com.eaugusto.generic.metrics;
+
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Entry point of the DAO instrumentation: holds the installed
+ * {@link DaoInstrumentation} and reports to it the operations of the DAOs.
+ *
+ * <p>
+ * Instrumentation is disabled until one is installed. While disabled, an
+ * operation costs one volatile read more than before and the clock is never
+ * read. While enabled, the observation of the running operation is kept in a
+ * thread local, so the connection pool can report connection and statement
+ * times to it without the DAOs passing it around. Operations called by other
+ * operations, such as an {@code update} inside {@code updateWithRetry}, are
+ * observed on their own, and the times they report go to the innermost one.
+ * </p>
+ *
+ * @author Eduardo Augusto (github.com/AsrielDreemurrGM/)
+ * @since October 17, 2026
+ */
+public final class Instrumentation {
+
+	private static final Logger LOGGER = Logger.getLogger(Instrumentation.class.getName());
+
+	private static final ThreadLocal<Scope> CURRENT = new ThreadLocal<>();
+
+	private static volatile DaoInstrumentation installed;
+
+	private Instrumentation() {
+		// To prevent instantiation
+	}
+
+	/**
+	 * Installs the instrumentation called by every DAO from now on, replacing
+	 * the current one.
+	 *
+	 * @param instrumentation The instrumentation, or {@code null} to disable it
+	 */
+	public static void install(DaoInstrumentation instrumentation) {
+		installed = instrumentation;
+	}
+
+	/**
+	 * @return The installed instrumentation, or {@code null} if disabled
+	 */
+	public static DaoInstrumentation getInstalled() {
+		return installed;
+	}
+
+	/**
+	 * @return Whether an instrumentation is installed
+	 */
+	public static boolean isEnabled() {
+		return installed != null;
+	}
+
+	/**
+	 * Runs a DAO operation, observed by the installed instrumentation.
+	 *
+	 * @param <R>       Result type
+	 * @param entity    Entity class of the DAO
+	 * @param operation Name of the DAO method
+	 * @param rows      Counts the rows in the result of the operation
+	 * @param work      The operation
+	 * @return The result of the operation
+	 */
+	public static <R> R observe(Class<?> entity, String operation, ToIntFunction<? super R> rows, Supplier<R> work) {
+		DaoInstrumentation instrumentation = installed;
+		if (instrumentation == null) {
+			return work.get();
+		}
+		DaoObservation observation;
+		try {
+			observation = instrumentation.start(entity.getSimpleName(), operation);
+		} catch (RuntimeException e) {
+			LOGGER.log(Level.WARNING, "DAO instrumentation failed to start an observation", e);
+			return work.get();
+		}
+
+		Scope scope = new Scope(observation, CURRENT.get());
+		CURRENT.set(scope);
+		long start = System.nanoTime();
+		R result;
+		try {
+			result = work.get();
+		} catch (RuntimeException | Error e) {
+			scope.stop(System.nanoTime() - start, 0, e);
+			throw e;
+		}
+		scope.stop(System.nanoTime() - start, result == null ? 0 : rows.applyAsInt(result), null);
+		return result;
+	}
+
+	/**
+	 * Reports the time spent borrowing a connection to the operation running
+	 * on this thread, if any.
+	 *
+	 * @param nanos Time spent waiting for the connection
+	 */
+	public static void connectionAcquired(long nanos) {
+		Scope scope = CURRENT.get();
+		if (scope != null) {
+			try {
+				scope.observation.connectionAcquired(nanos);
+			} catch (RuntimeException e) {
+				LOGGER.log(Level.WARNING, "DAO instrumentation failed to record a connection", e);
+			}
+		}
+	}
+
+	/**
+	 * Reports the time spent preparing a statement to the operation running
+	 * on this thread, if any.
+	 *
+	 * @param nanos Time spent preparing the statement
+	 */
+	public static void statementPrepared(long nanos) {
+		Scope scope = CURRENT.get();
+		if (scope != null) {
+			try {
+				scope.observation.statementPrepared(nanos);
+			} catch (RuntimeException e) {
+				LOGGER.log(Level.WARNING, "DAO instrumentation failed to record a statement", e);
+			}
+		}
+	}
+
+	/**
+	 * Running operation of a thread, linked to the operation it was called
+	 * from.
+	 */
+	private static final class Scope {
+
+		private final DaoObservation observation;
+		private final Scope parent;
+
+		Scope(DaoObservation observation, Scope parent) {
+			this.observation = observation;
+			this.parent = parent;
+		}
+
+		void stop(long nanos, int rows, Throwable error) {
+			if (parent == null) {
+				CURRENT.remove();
+			} else {
+				CURRENT.set(parent);
+			}
+			try {
+				observation.stop(nanos, rows, error);
+			} catch (RuntimeException e) {
+				LOGGER.log(Level.WARNING, "DAO instrumentation failed to stop an observation", e);
+			}
+		}
+	}
+}
@@ -1,14 +1,22 @@
 package br.com.eaugusto.databasetest;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
 
 import org.junit.jupiter.api.Test;
 
 import br.com.eaugusto.generic.jdbc.ConnectionFactory;
+import br.com.eaugusto.generic.jdbc.ConnectionPool;
+import br.com.eaugusto.generic.jdbc.ConnectionPoolConfig;
 
 /**
  * Unit test for {@link ConnectionFactory}.
@@ -33,4 +41,65 @@ public class DatabaseConnectionTest {
 
 		connection.close();
 	}
+
+	@Test
+	void testConnectionIsReturnedToPool() throws SQLException {
+		ConnectionPool pool = ConnectionFactory.getPool();
+
+		Connection connection = ConnectionFactory.getConnection();
+		int borrowed = pool.getBorrowedConnections();
+		assertTrue(borrowed >= 1, "Borrowed connection should be tracked by the pool.");
+
+		connection.close();
+		assertTrue(connection.isClosed(), "Closed handle should report itself as closed.");
+		assertEquals(borrowed - 1, pool.getBorrowedConnections(), "Connection should be returned to the pool.");
+		assertTrue(pool.getIdleConnections() >= 1, "Returned connection should be kept idle for reuse.");
+	}
+
+	@Test
+	void testReturnedConnectionIsReset() throws SQLException {
+		ConnectionPoolConfig config = ConnectionPoolConfig.fromEnvironment();
+		config.setMinSize(0);
+		config.setMaxSize(1);
+		try (ConnectionPool pool = new ConnectionPool(config, ConnectionFactory::openDedicatedConnection)) {
+			String schema;
+			int isolation;
+			try (Connection connection = pool.borrow(); Statement statement = connection.createStatement()) {
+				assertSame(connection, statement.getConnection(),
+						"Statements should not expose the physical connection.");
+				schema = connection.getSchema();
+				isolation = connection.getTransactionIsolation();
+				connection.setReadOnly(true);
+				connection.setTransactionIsolation(Connection.TRANSACTION_SERIALIZABLE);
+				connection.setSchema("pg_catalog");
+			}
+
+			try (Connection connection = pool.borrow()) {
+				assertFalse(connection.isReadOnly(), "Read-only should be reset.");
+				assertEquals(isolation, connection.getTransactionIsolation(), "Isolation should be reset.");
+				assertEquals(schema, connection.getSchema(), "Schema should be reset.");
+			}
+			assertEquals(1, pool.getOpenConnections(), "The physical connection should be reused.");
+		}
+	}
+
+	@Test
+	void testCachedStatementClosesResults() throws SQLException {
+		ConnectionPoolConfig config = ConnectionPoolConfig.fromEnvironment();
+		config.setMinSize(0);
+		config.setMaxSize(1);
+		try (ConnectionPool pool = new ConnectionPool(config, ConnectionFactory::openDedicatedConnection);
+				Connection connection = pool.borrow()) {
+			PreparedStatement statement = connection.prepareStatement("SELECT 1");
+			ResultSet leftOpen = statement.executeQuery();
+			statement.close();
+			assertTrue(leftOpen.isClosed(), "Closing a cached statement should close its result set.");
+
+			try (PreparedStatement reused = connection.prepareStatement("SELECT 1");
+					ResultSet result = reused.executeQuery()) {
+				assertEquals(1, pool.getStatementCacheHits(), "The statement should be reused.");
+				assertTrue(result.next());
+			}
+		}
+	}
 }
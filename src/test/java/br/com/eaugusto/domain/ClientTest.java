@@ -1,8 +1,10 @@
 package br.com.eaugusto.domain;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -13,6 +15,10 @@ import br.com.eaugusto.dao.ClientDAO;
 import br.com.eaugusto.dao.IClientDAO;
 import br.com.eaugusto.exceptions.DAOException;
 import br.com.eaugusto.exceptions.DAOParameterException;
+import br.com.eaugusto.generic.jdbc.ConnectionFactory;
+import br.com.eaugusto.generic.jdbc.ConnectionPool;
+import br.com.eaugusto.generic.jdbc.SlowQuery;
+import br.com.eaugusto.generic.jdbc.SlowQueryLog;
 
 /**
  * Integration test suite for the {@link ClientDAO} operations.
@@ -154,4 +160,44 @@ public class ClientTest {
 		Integer deleted = dao.delete(client);
 		assertEquals(1, deleted, "client should be deleted");
 	}
+
+	@Test
+	public void slowQueryLogTest() throws DAOException, DAOParameterException {
+		ConnectionPool pool = ConnectionFactory.getPool();
+		SlowQueryLog previous = pool.getSlowQueryLog();
+		SlowQueryLog slowQueryLog = new SlowQueryLog(0);
+		pool.setSlowQueryLog(slowQueryLog);
+		Client client = new Client();
+		client.setCode("C1005");
+		client.setName("Ana");
+		client.setCpf("44444444444");
+		client.setPhone("(11) 91234-5678");
+		client.setAddress("Rua Lenta");
+		client.setAddressNumber("7");
+		client.setCity("Explain");
+		client.setState("Analyze");
+		client.setBirthDate(LocalDate.parse("1990-01-01"));
+		try {
+			dao.register(client);
+			dao.search(client.getEntityCode());
+		} finally {
+			pool.setSlowQueryLog(previous);
+			dao.delete(client);
+		}
+
+		List<SlowQuery> queries = slowQueryLog.getRecent();
+		SlowQuery insert = queries.stream().filter(query -> query.getSql().startsWith("INSERT INTO tb_client"))
+				.findFirst().orElseThrow();
+		assertEquals(1, insert.getRows(), "the insert should write one row");
+		assertTrue(insert.getParameters().contains("****"), "the cpf should be masked");
+		assertFalse(insert.getParameters().toString().contains("44444444444"), "the cpf should not be logged");
+		assertTrue(insert.getParameters().contains("'Ana'"), "other parameters should be logged");
+		assertTrue(insert.getCaller().contains("ClientTest.slowQueryLogTest"), "the caller should be captured");
+
+		SlowQuery select = queries.stream().filter(query -> query.getSql().contains("FROM tb_client WHERE"))
+				.findFirst().orElseThrow();
+		assertEquals(1, select.getRows(), "the search should read one row");
+		assertEquals(List.of("'C1005'"), select.getParameters());
+		assertEquals(queries.size(), slowQueryLog.getSlowQueryCount());
+	}
 }
@@ -1,10 +1,18 @@
 package br.com.eaugusto.domain;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
 
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -16,6 +24,9 @@ import br.com.eaugusto.dao.IInventoryDAO;
 import br.com.eaugusto.dao.IProductDAO;
 import br.com.eaugusto.dao.InventoryDAO;
 import br.com.eaugusto.dao.ProductDAO;
+import br.com.eaugusto.exceptions.DAOException;
+import br.com.eaugusto.generic.jdbc.StatementPipeline;
+import br.com.eaugusto.generic.jdbc.TransactionManager;
 
 /**
  * Integration test suite for the {@link InventoryDAO} operations.
@@ -100,6 +111,50 @@ public class InventoryTest {
 		assertNotNull(list.get(0).getSaleDate());
 	}
 
+	@Test
+	public void testStreamAll() {
+		try (Stream<Inventory> stream = inventoryDAO.streamAll()) {
+			List<Inventory> list = stream.toList();
+			assertEquals(1, list.size(), "Should stream one registered inventory record");
+			assertEquals(inventoryId, list.get(0).getId());
+		}
+	}
+
+	@Test
+	public void testPublishAll() throws InterruptedException {
+		List<Inventory> received = new CopyOnWriteArrayList<>();
+		CountDownLatch done = new CountDownLatch(1);
+		inventoryDAO.publishAll().subscribe(new Flow.Subscriber<Inventory>() {
+			private Flow.Subscription subscription;
+
+			@Override
+			public void onSubscribe(Flow.Subscription subscription) {
+				this.subscription = subscription;
+				subscription.request(1);
+			}
+
+			@Override
+			public void onNext(Inventory item) {
+				received.add(item);
+				subscription.request(1);
+			}
+
+			@Override
+			public void onError(Throwable throwable) {
+				done.countDown();
+			}
+
+			@Override
+			public void onComplete() {
+				done.countDown();
+			}
+		});
+
+		assertTrue(done.await(10, TimeUnit.SECONDS), "Publisher should complete");
+		assertEquals(1, received.size(), "Should publish one registered inventory record");
+		assertEquals(inventoryId, received.get(0).getId());
+	}
+
 	@Test
 	public void testSearchByClientId() {
 		List<Inventory> result = inventoryDAO.searchByClient(client.getId());
@@ -116,6 +171,98 @@ public class InventoryTest {
 		assertEquals(product.getId(), result.get(0).getProductId());
 	}
 
+	@Test
+	public void testRecordSale() {
+		assertTrue(inventoryDAO.recordSale(client.getId(), product.getId(), 20), "Sale within stock should succeed");
+		assertFalse(inventoryDAO.recordSale(client.getId(), product.getId(), 31), "Sale above stock should fail");
+		product = productDAO.search(product.getEntityCode());
+		assertEquals(30, product.getStockQuantity());
+
+		List<Inventory> sales = inventoryDAO.searchByProduct(product.getId());
+		assertEquals(2, sales.size(), "Only the successful sale should be registered");
+		for (Inventory sale : sales) {
+			if (!sale.getId().equals(inventoryId)) {
+				assertEquals(20, sale.getQuantitySold());
+				inventoryDAO.deleteById(sale.getId());
+			}
+		}
+	}
+
+	@Test
+	public void testPipelinedWrites() {
+		Inventory first = new Inventory();
+		first.setClientId(client.getId());
+		first.setProductId(product.getId());
+		first.setQuantitySold(1);
+		Inventory second = new Inventory();
+		second.setClientId(client.getId());
+		second.setProductId(product.getId());
+		second.setQuantitySold(2);
+
+		StatementPipeline pipeline = new StatementPipeline();
+		StatementPipeline.Result<Integer> firstResult = inventoryDAO.register(first, pipeline);
+		inventoryDAO.register(second, pipeline);
+		product.setStockQuantity(47);
+		StatementPipeline.Result<Integer> updateResult = productDAO.update(product, pipeline);
+		assertEquals(3, pipeline.execute().size());
+
+		assertEquals(1, firstResult.get());
+		assertEquals(1, updateResult.get());
+		assertEquals(3, inventoryDAO.searchByProduct(product.getId()).size());
+		assertEquals(47, productDAO.search(product.getEntityCode()).getStockQuantity());
+		inventoryDAO.deleteById(first.getId());
+		inventoryDAO.deleteById(second.getId());
+
+		Inventory orphan = new Inventory();
+		orphan.setClientId(-1L);
+		orphan.setProductId(product.getId());
+		orphan.setQuantitySold(1);
+		StatementPipeline.Result<Integer> validResult = inventoryDAO.register(first, pipeline);
+		StatementPipeline.Result<Integer> orphanResult = inventoryDAO.register(orphan, pipeline);
+		assertThrows(DAOException.class, pipeline::execute);
+		assertThrows(DAOException.class, validResult::get, "Statements before the failure should be rolled back");
+		assertNotNull(orphanResult.getError());
+		assertEquals(1, inventoryDAO.searchByProduct(product.getId()).size());
+	}
+
+	@Test
+	public void testTransactionCommitsSale() {
+		Inventory sale = new Inventory();
+		sale.setClientId(client.getId());
+		sale.setProductId(product.getId());
+		sale.setQuantitySold(2);
+
+		TransactionManager.execute(() -> {
+			inventoryDAO.register(sale);
+			product.setStockQuantity(product.getStockQuantity() - sale.getQuantitySold());
+			return productDAO.update(product);
+		});
+
+		List<Inventory> sales = inventoryDAO.searchByProduct(product.getId());
+		assertEquals(2, sales.size(), "Committed sale should be registered");
+		assertEquals(48, productDAO.search(product.getEntityCode()).getStockQuantity());
+		inventoryDAO.deleteById(sales.stream().filter(inv -> !inv.getId().equals(inventoryId)).findFirst()
+				.orElseThrow().getId());
+	}
+
+	@Test
+	public void testTransactionRollsBackSale() {
+		Inventory sale = new Inventory();
+		sale.setClientId(client.getId());
+		sale.setProductId(product.getId());
+		sale.setQuantitySold(2);
+
+		assertThrows(IllegalStateException.class, () -> TransactionManager.execute(() -> {
+			inventoryDAO.register(sale);
+			product.setStockQuantity(0);
+			productDAO.update(product);
+			throw new IllegalStateException("Payment declined");
+		}));
+
+		assertEquals(1, inventoryDAO.searchByProduct(product.getId()).size(), "Sale should be rolled back");
+		assertEquals(50, productDAO.search(product.getEntityCode()).getStockQuantity());
+	}
+
 	@Test
 	public void testDeleteInventoryById() {
 		Integer deleted = inventoryDAO.deleteById(inventoryId);
@@ -1,17 +1,50 @@
 package br.com.eaugusto.domain;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeFalse;
 
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import org.junit.jupiter.api.Test;
 
 import br.com.eaugusto.dao.IProductDAO;
 import br.com.eaugusto.dao.ProductDAO;
+import br.com.eaugusto.dao.generics.BulkLoadResult;
+import br.com.eaugusto.dao.generics.CacheInvalidationListener;
+import br.com.eaugusto.dao.generics.CoalescingLoader;
+import br.com.eaugusto.dao.generics.CopyBulkLoader;
+import br.com.eaugusto.dao.generics.EntityCache;
+import br.com.eaugusto.dao.generics.Page;
 import br.com.eaugusto.exceptions.DAOException;
 import br.com.eaugusto.exceptions.DAOParameterException;
+import br.com.eaugusto.exceptions.OptimisticLockException;
+import br.com.eaugusto.generic.jdbc.ConnectionFactory;
+import br.com.eaugusto.generic.jdbc.ConnectionPool;
+import br.com.eaugusto.generic.jdbc.SequenceIdAllocator;
+import br.com.eaugusto.generic.jdbc.TransactionManager;
+import br.com.eaugusto.generic.metrics.InMemoryInstrumentation;
+import br.com.eaugusto.generic.metrics.InMemoryInstrumentation.OperationMetrics;
+import br.com.eaugusto.generic.metrics.Instrumentation;
 
 /**
  * Integration test suite for the {@link ProductDAO} operations.
@@ -60,6 +93,7 @@ public class ProductTest {
 		Product databaseProduct = dao.search(product.getEntityCode());
 		assertNotNull(databaseProduct);
 		assertNotNull(databaseProduct.getId());
+		assertEquals(databaseProduct.getId(), product.getId(), "register should set the generated id");
 		assertEquals(product.getEntityCode(), databaseProduct.getEntityCode());
 		assertEquals(product.getEntityName(), databaseProduct.getEntityName());
 		assertEquals(product.getDescription(), databaseProduct.getDescription());
@@ -77,6 +111,44 @@ public class ProductTest {
 		assertNull(nullProduct);
 	}
 
+	@Test
+	public void statementCacheTest() throws DAOException {
+		ConnectionPool pool = ConnectionFactory.getPool();
+		dao.searchAll();
+		long hits = pool.getStatementCacheHits();
+		dao.searchAll();
+		assertTrue(pool.getStatementCacheHits() > hits, "repeated query should reuse its prepared statement");
+		assertTrue(pool.getStatementCacheHitRate() > 0);
+	}
+
+	@Test
+	public void instrumentationTest() throws DAOException {
+		InMemoryInstrumentation metrics = new InMemoryInstrumentation();
+		Instrumentation.install(metrics);
+		try {
+			Product product = newProduct("I001", 10.0);
+			dao.register(product);
+			dao.searchAll();
+			dao.delete(product);
+			assertThrows(DAOException.class, () -> dao.register(newProduct(null, 1.0)));
+		} finally {
+			Instrumentation.install(null);
+		}
+
+		OperationMetrics register = metrics.getOperation("Product", "register");
+		assertEquals(2, register.getCalls(), "both registrations should be timed");
+		assertEquals(1, register.getRows(), "only the first registration should write a row");
+		assertEquals(1, register.getErrors(), "the registration without a code should fail");
+		assertEquals(1, register.getErrorsByType().size());
+		assertTrue(register.getStatementPrepareHistogram().getCount() >= 2, "prepares should be reported");
+
+		OperationMetrics searchAll = metrics.getOperation("Product", "searchAll");
+		assertEquals(1, searchAll.getCalls());
+		assertTrue(searchAll.getRows() > 0, "searchAll should report the rows it returned");
+		assertEquals(1, searchAll.getConnectionAcquireHistogram().getCount(), "connection wait should be reported");
+		assertEquals(1, metrics.getOperation("Product", "delete").getRows());
+	}
+
 	@Test
 	public void searchAllTest() throws DAOException, DAOParameterException {
 		Product product1 = new Product();
@@ -133,4 +205,358 @@ public class ProductTest {
 		Integer deleted = dao.delete(product);
 		assertEquals(1, deleted, "product should be deleted");
 	}
+
+	@Test
+	public void partialUpdateTest() throws DAOException {
+		Product product = newProduct("U001", 10.0);
+		dao.register(product);
+
+		Product stale = newProduct("U001", 15.0);
+		stale.setName("Stale-Name");
+		assertEquals(1, dao.update(stale, Set.of("price")), "one row should be updated");
+
+		Product updated = dao.search("U001");
+		assertEquals(15.0, updated.getPrice());
+		assertEquals(product.getEntityName(), updated.getEntityName(), "unlisted columns should be kept");
+		assertThrows(DAOParameterException.class, () -> dao.update(stale, Set.of("code")));
+
+		assertEquals(1, dao.delete(updated), "updated product should be deleted");
+	}
+
+	@Test
+	public void optimisticLockTest() throws DAOException {
+		Product product = newProduct("V001", 10.0);
+		dao.register(product);
+		assertEquals(0L, product.getVersion(), "registered product should start at version 0");
+
+		Product first = dao.search("V001");
+		Product second = dao.search("V001");
+		first.setPrice(11.0);
+		assertEquals(1, dao.update(first), "first writer should win");
+		assertEquals(1L, first.getVersion(), "update should increment the version");
+
+		second.setPrice(12.0);
+		assertThrows(OptimisticLockException.class, () -> dao.update(second));
+		assertThrows(OptimisticLockException.class, () -> dao.delete(second));
+
+		Product retried = dao.updateWithRetry("V001", p -> p.setPrice(p.getPrice() + 1), 3);
+		assertEquals(12.0, retried.getPrice(), "retry should apply the change to the latest version");
+		assertEquals(2L, retried.getVersion());
+
+		assertEquals(1, dao.delete(retried), "versioned product should be deleted");
+	}
+
+	@Test
+	public void nullVersionTest() throws DAOException {
+		Product product = newProduct("V002", 10.0);
+		dao.register(product);
+
+		Product unread = newProduct("V002", 20.0);
+		assertNull(unread.getVersion());
+		assertThrows(DAOParameterException.class, () -> dao.update(unread));
+		assertThrows(DAOParameterException.class, () -> dao.update(unread, Set.of("price")));
+		assertThrows(DAOParameterException.class, () -> dao.updateAll(List.of(unread)));
+		assertThrows(DAOParameterException.class, () -> dao.delete(unread));
+		assertThrows(DAOParameterException.class, () -> dao.deleteAll(List.of(unread)));
+
+		Product stored = dao.search("V002");
+		assertEquals(10.0, stored.getPrice(), "a write without a version should not change the row");
+		assertEquals(1, dao.delete(stored), "read product should be deleted");
+	}
+
+	@Test
+	public void upsertTest() throws DAOException {
+		Product product = newProduct("H001", 10.0);
+		assertEquals(1, dao.upsert(product), "missing product should be inserted");
+		assertEquals(0L, product.getVersion());
+		Long id = dao.search("H001").getId();
+
+		Product changed = newProduct("H001", 15.0);
+		assertEquals(1, dao.upsert(changed), "existing product should be updated");
+		assertEquals(1L, changed.getVersion(), "upsert should return the updated version");
+
+		List<Product> products = List.of(newProduct("H001", 20.0), newProduct("H002", 30.0));
+		assertArrayEquals(new int[] { 1, 1 }, dao.upsertAll(products), "both products should be written");
+		Product upserted = dao.search("H001");
+		assertEquals(20.0, upserted.getPrice());
+		assertEquals(id, upserted.getId(), "upsert should keep the existing id");
+
+		assertArrayEquals(new int[] { 1, 1 }, dao.deleteAll(products), "upserted products should be deleted");
+	}
+
+	@Test
+	public void asyncTest() throws Exception {
+		List<Product> products = List.of(newProduct("Y001", 1.0), newProduct("Y002", 2.0));
+		CompletableFuture.allOf(dao.registerAsync(products.get(0)), dao.registerAsync(products.get(1))).get();
+
+		CompletableFuture<Product> first = dao.searchAsync("Y001");
+		CompletableFuture<Map<String, Product>> both = dao.searchByCodesAsync(List.of("Y001", "Y002"));
+		assertEquals(1.0, first.get().getPrice());
+		assertEquals(2, both.get().size(), "both products should be found concurrently");
+
+		CompletableFuture<Product> missing = dao.searchAsync("This-code-should-never-exist-98764321");
+		assertNull(missing.get());
+
+		assertArrayEquals(new int[] { 1, 1 }, dao.deleteAll(products), "async products should be deleted");
+	}
+
+	@Test
+	public void batchTest() throws DAOException, DAOParameterException {
+		List<Product> products = List.of(newProduct("B001", 10.00), newProduct("B002", 20.00),
+				newProduct("B003", 30.00));
+
+		ProductDAO batchDao = new ProductDAO();
+		batchDao.setBatchSize(2);
+
+		assertArrayEquals(new int[] { 1, 1, 1 }, batchDao.registerAll(products), "three products should be registered");
+		assertEquals(products.get(0).getId(), dao.search("B001").getId(), "allocated ids should be set");
+
+		for (Product product : products) {
+			product.setPrice(product.getPrice() + 1);
+		}
+		assertArrayEquals(new int[] { 1, 1, 1 }, batchDao.updateAll(products), "three products should be updated");
+		assertEquals(11.00, dao.search("B001").getPrice());
+
+		assertArrayEquals(new int[] { 1, 1, 1 }, batchDao.deleteAll(products), "three products should be deleted");
+		assertNull(dao.search("B003"));
+	}
+
+	@Test
+	public void copyLoadTest() throws DAOException {
+		List<Product> products = List.of(newProduct("L001", 5.25), newProduct("L002", 1234.50));
+
+		BulkLoadResult result = new CopyBulkLoader<>(Product.class).load(products);
+		assertEquals(2, result.getRows(), "two products should be loaded");
+		assertNotNull(products.get(0).getId(), "loaded products should receive an id");
+
+		Product loaded = dao.search("L002");
+		assertNotNull(loaded);
+		assertEquals(products.get(1).getId(), loaded.getId());
+		assertEquals(1234.50, loaded.getPrice());
+
+		assertArrayEquals(new int[] { 1, 1 }, dao.deleteAll(products), "loaded products should be deleted");
+	}
+
+	@Test
+	public void registerIdBlockTest() throws DAOException {
+		Product first = newProduct("B001", 1.0);
+		Product second = newProduct("B002", 2.0);
+		dao.register(first);
+		dao.register(second);
+		assertTrue(second.getId() - first.getId() < SequenceIdAllocator.DEFAULT_BLOCK_SIZE,
+				"single inserts should share the ids of a block instead of reserving one each");
+
+		assertEquals(1, dao.delete(first));
+		assertEquals(1, dao.delete(second));
+	}
+
+	@Test
+	public void copyLoadInTransactionTest() throws DAOException {
+		List<Product> products = List.of(newProduct("L003", 7.5), newProduct("L004", 8.5));
+
+		// Ids are allocated on the transaction's connection before it streams the COPY
+		BulkLoadResult result = TransactionManager.execute(() -> new CopyBulkLoader<>(Product.class).load(products));
+		assertEquals(2, result.getRows(), "two products should be loaded");
+		assertNotEquals(products.get(0).getId(), products.get(1).getId(), "loaded products should get distinct ids");
+		assertEquals(products.get(1).getId(), dao.search("L004").getId(), "the load should be committed");
+
+		assertArrayEquals(new int[] { 1, 1 }, dao.deleteAll(products), "loaded products should be deleted");
+	}
+
+	@Test
+	public void pageTest() throws DAOException {
+		List<Product> products = List.of(newProduct("PG003", 30.0), newProduct("PG001", 10.0),
+				newProduct("PG002", 20.0));
+		dao.registerAll(products);
+
+		Page<Product> first = dao.searchPage("code", null, 2);
+		assertEquals(2, first.getItems().size(), "first page should be full");
+		assertTrue(first.hasNext(), "a second page should exist");
+
+		List<String> codes = seededCodes(dao.searchPage("code", null, 2), "code", 2, "PG");
+		assertEquals(List.of("PG001", "PG002", "PG003"), codes, "paged products should be in code order");
+
+		assertArrayEquals(new int[] { 1, 1, 1 }, dao.deleteAll(products), "paged products should be deleted");
+	}
+
+	@Test
+	public void pageNullSortTest() throws DAOException {
+		List<Product> products = List.of(newProduct("PN001", 30.0), newProduct("PN002", null),
+				newProduct("PN003", 10.0), newProduct("PN004", null));
+		dao.registerAll(products);
+		assertNull(dao.search("PN002").getPrice(), "a missing price should be read as null, not 0");
+
+		// One row per page, so pages also end on the rows without a price
+		List<String> codes = seededCodes(dao.searchPage("price", null, 1), "price", 1, "PN");
+		assertEquals(List.of("PN003", "PN001", "PN002", "PN004"), codes,
+				"products without a price should come last, by id");
+
+		assertArrayEquals(new int[] { 1, 1, 1, 1 }, dao.deleteAll(products), "paged products should be deleted");
+	}
+
+	/**
+	 * Reads every page from the first one, keeping the codes the test seeded so
+	 * rows already in the table do not matter.
+	 */
+	private List<String> seededCodes(Page<Product> first, String sortColumn, int limit, String prefix)
+			throws DAOException {
+		List<String> codes = new ArrayList<>();
+		Set<Long> seenIds = new HashSet<>();
+		Page<Product> page = first;
+		while (true) {
+			for (Product product : page.getItems()) {
+				assertTrue(seenIds.add(product.getId()), "pages should never read a row twice");
+				if (product.getEntityCode().startsWith(prefix)) {
+					codes.add(product.getEntityCode());
+				}
+			}
+			if (!page.hasNext()) {
+				return codes;
+			}
+			page = dao.searchPage(sortColumn, page.getNextKey(), limit);
+			assertFalse(page.getItems().isEmpty(), "a page announced by the previous one should not be empty");
+		}
+	}
+
+	@Test
+	public void searchByCodesTest() throws DAOException {
+		List<Product> products = List.of(newProduct("S001", 1.0), newProduct("S002", 2.0));
+		dao.registerAll(products);
+
+		Map<String, Product> found = dao.searchByCodes(List.of("S002", "S001", "S999", "S002"));
+		assertEquals(List.of("S002", "S001"), List.copyOf(found.keySet()), "found codes should keep their order");
+		assertEquals(2.0, found.get("S002").getPrice());
+
+		assertArrayEquals(new int[] { 1, 1 }, dao.deleteAll(products), "searched products should be deleted");
+	}
+
+	@Test
+	public void coalescingTest() throws Exception {
+		ProductDAO coalescingDao = new ProductDAO();
+		// A wide window, so every search released below joins the first batch
+		coalescingDao.enableCoalescing(50_000, CoalescingLoader.DEFAULT_MAX_BATCH_SIZE);
+		Product product = newProduct("K001", 5.0);
+		coalescingDao.register(product);
+
+		int threads = 20;
+		CountDownLatch ready = new CountDownLatch(threads);
+		CountDownLatch start = new CountDownLatch(1);
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		try {
+			List<Future<Product>> searches = new ArrayList<>();
+			for (int i = 0; i < threads; i++) {
+				searches.add(executor.submit(() -> {
+					ready.countDown();
+					start.await();
+					return coalescingDao.search("K001");
+				}));
+			}
+			ready.await();
+			start.countDown();
+			for (Future<Product> search : searches) {
+				assertEquals("K001", search.get().getEntityCode());
+			}
+		} finally {
+			executor.shutdown();
+		}
+
+		CoalescingLoader<Product> loader = coalescingDao.getCoalescingLoader();
+		assertTrue(loader.getCoalescedRequests() > 0, "concurrent searches should join one query");
+		assertTrue(loader.getBatchSizeHistogram().getCount() < loader.getRequests(),
+				"searches should issue fewer queries than requests");
+		assertEquals(1, coalescingDao.delete(product), "coalesced product should be deleted");
+	}
+
+	@Test
+	public void coalescingWriteTest() throws Exception {
+		ProductDAO coalescingDao = new ProductDAO();
+		coalescingDao.enableCoalescing(500_000, CoalescingLoader.DEFAULT_MAX_BATCH_SIZE);
+		CoalescingLoader<Product> loader = coalescingDao.getCoalescingLoader();
+		Product product = newProduct("K002", 5.0);
+		coalescingDao.register(product);
+
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			Future<Product> parked = executor.submit(() -> coalescingDao.search("K002"));
+			while (loader.getRequests() == 0) {
+				Thread.sleep(1);
+			}
+			// Still well within the window the first search is parked in
+			Thread.sleep(50);
+			product.setPrice(6.0);
+			assertEquals(1, coalescingDao.update(product), "product should be updated while its load is parked");
+			Future<Product> afterWrite = executor.submit(() -> coalescingDao.search("K002"));
+
+			assertEquals("K002", parked.get(10, TimeUnit.SECONDS).getEntityCode());
+			assertEquals(6.0, afterWrite.get(10, TimeUnit.SECONDS).getPrice(),
+					"a search after the write should read the written price");
+		} finally {
+			executor.shutdownNow();
+		}
+		assertEquals(1, coalescingDao.delete(product), "coalesced product should be deleted");
+	}
+
+	@Test
+	public void cacheTest() throws DAOException {
+		ProductDAO cachedDao = new ProductDAO();
+		EntityCache<Product> cache = cachedDao.getCache();
+		assertNotNull(cache, "products should be cached");
+
+		Product product = newProduct("C001", 10.0);
+		cachedDao.register(product);
+
+		Product first = cachedDao.search("C001");
+		Product second = cachedDao.search("C001");
+		assertEquals(1, cache.getMisses(), "first search should miss");
+		assertEquals(1, cache.getHits(), "second search should hit");
+		assertNotSame(first, second, "cached products should be copies");
+
+		first.setPrice(20.0);
+		cachedDao.update(first);
+		assertEquals(20.0, cachedDao.search("C001").getPrice(), "update should invalidate the cached product");
+
+		cachedDao.delete(first);
+		assertNull(cachedDao.search("C001"), "delete should invalidate the cached product");
+	}
+
+	@Test
+	public void cacheInvalidationNotificationTest() throws Exception {
+		assumeFalse("off".equalsIgnoreCase(System.getenv("DB_CACHE_INVALIDATION")),
+				"the invalidation listener is disabled");
+		ProductDAO cachedDao = new ProductDAO();
+		EntityCache<Product> cache = cachedDao.getCache();
+		Product product = newProduct("N001", 10.0);
+		cachedDao.register(product);
+		try {
+			assertNotNull(cachedDao.search("N001"));
+			assertEquals(1, cache.size(), "searched product should be cached");
+
+			// Published as another node would, so only the listener can evict it
+			long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+			while (cache.size() > 0 && System.nanoTime() < deadline) {
+				try (Connection connection = ConnectionFactory.getConnection();
+						PreparedStatement statement = connection.prepareStatement("SELECT pg_notify(?, ?)")) {
+					statement.setString(1, CacheInvalidationListener.CHANNEL);
+					statement.setString(2, "tb_product:N001");
+					statement.execute();
+				}
+				// The listener may still be connecting, so the notification is repeated
+				Thread.sleep(200);
+			}
+			assertEquals(0, cache.size(), "notification should evict the cached product");
+		} finally {
+			cachedDao.delete(product);
+		}
+	}
+
+	private Product newProduct(String code, Double price) {
+		Product product = new Product();
+		product.setCode(code);
+		product.setName("Test-Batch-" + code);
+		product.setDescription("Batch-Product");
+		product.setCategory("Batch");
+		product.setPrice(price);
+		product.setStockQuantity(1);
+		return product;
+	}
 }
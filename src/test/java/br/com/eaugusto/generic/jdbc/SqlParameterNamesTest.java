@@ -0,0 +1,90 @@
+package br.com.eaugusto.generic.jdbc;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import br.com.eaugusto.dao.generics.EntityMetadata;
+import br.com.eaugusto.dao.generics.PageKey;
+import br.com.eaugusto.domain.Client;
+
+/**
+ * Test suite for {@link SqlParameterNames}, run against the SQL the DAOs
+ * generate for {@link Client}, whose {@code cpf} the slow query log masks by
+ * default.
+ *
+ * <p>
+ * Needs no database connection.
+ * </p>
+ *
+ * @author Eduardo Augusto (github.com/AsrielDreemurrGM/)
+ * @since October 17, 2026
+ */
+public class SqlParameterNamesTest {
+
+	private final EntityMetadata<Client> metadata = EntityMetadata.of(Client.class);
+
+	@Test
+	public void registerTest() {
+		List<String> names = namesOf(metadata.getRegisterSql());
+		assertEquals(List.of("id", "code", "name", "cpf", "phone", "address", "address_number", "city", "state",
+				"birth_date"), names, "insert values should match the column list");
+	}
+
+	@Test
+	public void upsertTest() {
+		assertEquals(namesOf(metadata.getRegisterSql()), namesOf(metadata.getUpsertSql()),
+				"the conflict clause should not change the inserted columns");
+	}
+
+	@Test
+	public void multiRowRegisterTest() {
+		List<String> row = namesOf(metadata.getRegisterSql());
+		assertEquals("id", row.get(0), "the id should be bound first");
+		assertTrue(row.contains("cpf"));
+
+		List<String> rows = new ArrayList<>(row);
+		rows.addAll(row);
+		rows.addAll(row);
+		assertEquals(rows, namesOf(metadata.getMultiRowRegisterSql(3)), "every row should match the column list");
+	}
+
+	@Test
+	public void pageTest() {
+		String afterValue = metadata.getPageSql(metadata.getColumn("cpf"), PageKey.after("12345678900", 1L));
+		assertArrayEquals(new String[] { "cpf", "id", SqlParameterNames.NO_COLUMN },
+				SqlParameterNames.of(afterValue), "row values should match the columns they are compared with");
+
+		String afterNull = metadata.getPageSql(metadata.getColumn("cpf"), PageKey.after(null, 1L));
+		assertArrayEquals(new String[] { "id", SqlParameterNames.NO_COLUMN }, SqlParameterNames.of(afterNull));
+	}
+
+	@Test
+	public void pipelineTest() {
+		String pipeline = "SAVEPOINT statement_pipeline;\n" + metadata.getRegisterSql() + ";\n"
+				+ metadata.getUpdateSql() + ";\nRELEASE SAVEPOINT statement_pipeline";
+
+		List<String> expected = new ArrayList<>(namesOf(metadata.getRegisterSql()));
+		expected.addAll(namesOf(metadata.getUpdateSql()));
+		assertEquals(expected, namesOf(pipeline), "each statement should be matched on its own");
+		assertEquals(2, expected.stream().filter("cpf"::equals).count(), "both statements should bind the cpf");
+	}
+
+	@Test
+	public void unknownColumnTest() {
+		assertArrayEquals(new String[] { null, null },
+				SqlParameterNames.of("SELECT nextval(?::regclass) FROM generate_series(1, ?)"));
+		assertArrayEquals(new String[] { "code", null }, SqlParameterNames.of("SELECT * FROM tb_client "
+				+ "WHERE code = ? AND name <> 'a = ?' AND position(? IN cpf) > 0"));
+	}
+
+	private List<String> namesOf(String sql) {
+		return Arrays.asList(SqlParameterNames.of(sql));
+	}
+}